@@ -0,0 +1,31 @@
+package com.yorku4413s25.leafwheels.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class CheckoutExecutorConfig {
+
+    /**
+     * Runs asynchronous checkouts. When the queue is full the submitting request thread runs the checkout itself,
+     * which slows down new submissions instead of dropping accepted ones. The checkout writes its outcome in a
+     * transaction of its own, so it does not matter that the caller is still inside its committed one.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor checkoutExecutor(@Value("${payment.checkout.async.pool-size:4}") int poolSize,
+                                                   @Value("${payment.checkout.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("checkout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,8 @@
+package com.yorku4413s25.leafwheels.constants;
+
+public enum CartOperationType {
+    ADD,
+    INCREMENT,
+    DECREMENT,
+    REMOVE
+}
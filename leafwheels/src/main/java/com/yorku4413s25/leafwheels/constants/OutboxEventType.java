@@ -0,0 +1,11 @@
+package com.yorku4413s25.leafwheels.constants;
+
+public enum OutboxEventType {
+    ORDER_PLACED,
+    ORDER_PAID,
+    ORDER_CANCELED,
+    PAYMENT_APPROVED,
+    PAYMENT_DENIED,
+    PAYMENT_FAILED,
+    PAYMENT_REFUNDED
+}
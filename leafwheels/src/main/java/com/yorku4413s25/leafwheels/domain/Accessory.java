@@ -2,6 +2,7 @@ package com.yorku4413s25.leafwheels.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
@@ -13,6 +14,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @Builder
+@EntityListeners(AccessoryEntityListener.class)
 public class Accessory extends BaseEntity{
 
     @Id
@@ -46,9 +48,26 @@ public class Accessory extends BaseEntity{
     @ElementCollection
     @CollectionTable(name = "accessory_image_urls", joinColumns = @JoinColumn(name = "accessory_id"))
     @Column(name = "image_url", length = 500)
+    @BatchSize(size = 50)
     private List<String> imageUrls;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean priceChanged;
+
+    /**
+     * Returns whether the effective price changed since the last call, and resets the flag. Carts holding this
+     * product are repriced when it did.
+     */
+    public boolean consumePriceChange() {
+        boolean changed = priceChanged;
+        priceChanged = false;
+        return changed;
+    }
+
     public void updateDiscountCalculations() {
+        BigDecimal previousPrice = this.discountPrice;
         if (this.price != null) {
             // Calculate based on discountAmount first
             if (this.discountAmount != null && this.discountAmount.compareTo(BigDecimal.ZERO) > 0) {
@@ -66,6 +85,9 @@ public class Accessory extends BaseEntity{
                 this.onDeal = false;
             }
         }
+        if (previousPrice != null && this.discountPrice != null && previousPrice.compareTo(this.discountPrice) != 0) {
+            this.priceChanged = true;
+        }
     }
 
     public void setDiscountPercentage(BigDecimal discountPercentage) {
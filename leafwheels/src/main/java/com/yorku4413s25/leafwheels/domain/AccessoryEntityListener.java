@@ -0,0 +1,23 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.events.ProductPriceChangedEvent;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AccessoryEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    public void onAccessoryUpdated(Accessory accessory) {
+        if (accessory.consumePriceChange()) {
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(ItemType.ACCESSORY, accessory.getId(),
+                    accessory.getDiscountPrice()));
+        }
+    }
+}
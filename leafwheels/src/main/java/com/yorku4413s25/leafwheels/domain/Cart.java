@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -32,5 +33,106 @@ public class Cart extends BaseEntity{
     @JsonIgnore
     private List<CartItem> items = new ArrayList<>();
 
-    //todo: add ttl?
+    /**
+     * {@link CartChecksum} of the items, kept up to date by the item methods below. Null for carts saved before the
+     * checksum existed; those compute it from their items on first use.
+     */
+    @Column(name = "checksum_high")
+    private Long checksumHigh;
+
+    @Column(name = "checksum_low")
+    private Long checksumLow;
+
+    /**
+     * Sum of unit price times quantity, and total quantity, of the items. Kept up to date by the item methods below
+     * and by the bulk repricing in {@code CartRepository}; null for carts saved before these columns existed.
+     */
+    @Column(precision = 12, scale = 2)
+    private BigDecimal subtotal;
+
+    private Integer itemCount;
+
+    /**
+     * Incremented whenever the unit price snapshots of the items are repriced in bulk.
+     */
+    private Long priceVersion;
+
+    public BigDecimal getSubtotal() {
+        ensureTotals();
+        return subtotal;
+    }
+
+    public int getItemCount() {
+        ensureTotals();
+        return itemCount;
+    }
+
+    public long getPriceVersion() {
+        return priceVersion != null ? priceVersion : 0L;
+    }
+
+    public CartChecksum getChecksum() {
+        if (checksumHigh == null || checksumLow == null) {
+            CartChecksum checksum = CartChecksum.ZERO;
+            for (CartItem item : items) {
+                checksum = checksum.plus(CartChecksum.of(item));
+            }
+            setChecksum(checksum);
+        }
+        return new CartChecksum(checksumHigh, checksumLow);
+    }
+
+    public void addItem(CartItem item) {
+        CartChecksum checksum = getChecksum();
+        ensureTotals();
+        items.add(item);
+        setChecksum(checksum.plus(CartChecksum.of(item)));
+        addToTotals(item, 1);
+    }
+
+    public void removeItem(CartItem item) {
+        CartChecksum checksum = getChecksum();
+        ensureTotals();
+        if (items.remove(item)) {
+            setChecksum(checksum.minus(CartChecksum.of(item)));
+            addToTotals(item, -1);
+        }
+    }
+
+    public void changeQuantity(CartItem item, int quantity) {
+        CartChecksum checksum = getChecksum().minus(CartChecksum.of(item));
+        ensureTotals();
+        addToTotals(item, -1);
+        item.setQuantity(quantity);
+        setChecksum(checksum.plus(CartChecksum.of(item)));
+        addToTotals(item, 1);
+    }
+
+    public void clearItems() {
+        items.clear();
+        setChecksum(CartChecksum.ZERO);
+        subtotal = BigDecimal.ZERO;
+        itemCount = 0;
+    }
+
+    private void ensureTotals() {
+        if (subtotal == null || itemCount == null) {
+            subtotal = BigDecimal.ZERO;
+            itemCount = 0;
+            for (CartItem item : items) {
+                addToTotals(item, 1);
+            }
+        }
+    }
+
+    private void addToTotals(CartItem item, int sign) {
+        BigDecimal lineTotal = item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+        subtotal = sign > 0 ? subtotal.add(lineTotal) : subtotal.subtract(lineTotal);
+        itemCount += sign * item.getQuantity();
+    }
+
+    private void setChecksum(CartChecksum checksum) {
+        this.checksumHigh = checksum.high();
+        this.checksumLow = checksum.low();
+    }
 }
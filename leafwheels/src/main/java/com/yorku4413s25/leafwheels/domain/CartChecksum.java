@@ -0,0 +1,59 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+
+import java.math.BigDecimal;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Order-independent 128-bit digest of a cart's contents: the sum, modulo 2^128, of a hash of each item's type,
+ * product, unit price and quantity. Adding, removing or re-quantifying one item only needs that item's hash, so
+ * the digest can be kept up to date on {@link Cart} without reading the other items.
+ */
+public record CartChecksum(long high, long low) {
+
+    public static final CartChecksum ZERO = new CartChecksum(0L, 0L);
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public static CartChecksum of(CartItem item) {
+        UUID productId = item.getVehicle() != null ? item.getVehicle().getId()
+                : item.getAccessory() != null ? item.getAccessory().getId() : null;
+        return of(item.getType(), productId, item.getUnitPrice(), item.getQuantity());
+    }
+
+    public static CartChecksum of(ItemType type, UUID productId, BigDecimal unitPrice, int quantity) {
+        long msb = productId != null ? productId.getMostSignificantBits() : 0L;
+        long lsb = productId != null ? productId.getLeastSignificantBits() : 0L;
+        long cents = unitPrice != null ? unitPrice.movePointRight(2).longValue() : 0L;
+        long kind = ((long) (type != null ? type.name().hashCode() : 0) << 32) | (quantity & 0xFFFFFFFFL);
+
+        long high = mix(msb ^ mix(kind + GOLDEN_GAMMA));
+        long low = mix(lsb ^ mix(cents + high * GOLDEN_GAMMA));
+        return new CartChecksum(high, low);
+    }
+
+    public CartChecksum plus(CartChecksum other) {
+        long sumLow = low + other.low;
+        long carry = Long.compareUnsigned(sumLow, low) < 0 ? 1L : 0L;
+        return new CartChecksum(high + other.high + carry, sumLow);
+    }
+
+    public CartChecksum minus(CartChecksum other) {
+        long borrow = Long.compareUnsigned(low, other.low) < 0 ? 1L : 0L;
+        return new CartChecksum(high - other.high - borrow, low - other.low);
+    }
+
+    public String toHex() {
+        HexFormat hex = HexFormat.of();
+        return hex.toHexDigits(high) + hex.toHexDigits(low);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
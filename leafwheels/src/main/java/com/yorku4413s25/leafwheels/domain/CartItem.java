@@ -5,10 +5,13 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+        @Index(name = "idx_cart_items_reserved_until", columnList = "reservedUntil")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -40,4 +43,9 @@ public class CartItem {
 
     @Column(nullable = false)
     private int quantity;
+
+    /**
+     * When the vehicle reservation held by this item lapses; null for accessories.
+     */
+    private Instant reservedUntil;
 }
@@ -0,0 +1,16 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import java.time.Instant;
+
+/**
+ * Fingerprint of a set of entities. Any insert or delete changes the count, and any update changes both the
+ * version sum and, through auditing, the latest modification time.
+ */
+public record CollectionVersion(Long count, Instant lastModified, Long versionSum) {
+
+    public String eTag() {
+        long modified = lastModified == null ? 0 : lastModified.toEpochMilli();
+        long versions = versionSum == null ? 0 : versionSum;
+        return count + "-" + versions + "-" + modified;
+    }
+}
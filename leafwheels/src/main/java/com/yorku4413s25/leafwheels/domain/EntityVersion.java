@@ -0,0 +1,13 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import java.time.Instant;
+
+/**
+ * Optimistic-lock version and last modification time of a single entity, read without loading the entity.
+ */
+public record EntityVersion(Long version, Instant lastModified) {
+
+    public String eTag() {
+        return String.valueOf(version);
+    }
+}
@@ -0,0 +1,9 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import java.util.UUID;
+
+/**
+ * A vehicle cart item whose reservation has lapsed, read without loading the item.
+ */
+public record ExpiredReservation(UUID itemId, UUID cartId, UUID userId, UUID vehicleId) {
+}
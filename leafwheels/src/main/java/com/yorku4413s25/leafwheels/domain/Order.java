@@ -10,7 +10,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id_created_at_id", columnList = "userId, createdAt, id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,6 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+
+public record OrderStatusCount(OrderStatus status, Long count) {
+}
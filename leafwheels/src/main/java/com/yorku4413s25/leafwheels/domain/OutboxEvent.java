@@ -0,0 +1,47 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A domain event written in the same transaction as the state change it describes and relayed to subscribers
+ * afterwards. The identity id gives the relay order: events of one aggregate are written by transactions that
+ * conflict on the aggregate's version, so they are numbered in the order they committed.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_published_at_id", columnList = "publishedAt, id")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType type;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+}
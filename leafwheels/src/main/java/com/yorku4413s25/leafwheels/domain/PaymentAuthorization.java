@@ -0,0 +1,15 @@
+package com.yorku4413s25.leafwheels.domain;
+
+/**
+ * Decision of the payment gateway for one payment; {@code declineReason} is only set when it was not approved.
+ */
+public record PaymentAuthorization(boolean approved, String declineReason) {
+
+    public static PaymentAuthorization approve() {
+        return new PaymentAuthorization(true, null);
+    }
+
+    public static PaymentAuthorization decline(String reason) {
+        return new PaymentAuthorization(false, reason);
+    }
+}
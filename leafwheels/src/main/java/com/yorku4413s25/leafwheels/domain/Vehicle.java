@@ -10,8 +10,10 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import com.yorku4413s25.leafwheels.validation.OneDiscountType;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,7 +24,15 @@ import java.util.UUID;
 @Setter
 @ToString
 @Builder
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicles_price_id", columnList = "price, id"),
+        @Index(name = "idx_vehicles_discount_price_id", columnList = "discountPrice, id"),
+        @Index(name = "idx_vehicles_mileage_id", columnList = "mileage, id"),
+        @Index(name = "idx_vehicles_battery_range_id", columnList = "batteryRange, id"),
+        @Index(name = "idx_vehicles_year_id", columnList = "`year`, id"),
+        @Index(name = "idx_vehicles_status", columnList = "status")
+})
+@EntityListeners(VehicleEntityListener.class)
 @OneDiscountType
 public class Vehicle extends BaseEntity{
 
@@ -98,13 +108,39 @@ public class Vehicle extends BaseEntity{
     @ElementCollection
     @CollectionTable(name = "vehicle_image_urls", joinColumns = @JoinColumn(name = "vehicle_id"))
     @Column(name = "image_url", length = 500)
+    @BatchSize(size = 50)
     private List<String> imageUrls;
 
     @OneToMany(mappedBy = "vehicle", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private List<VehicleHistory> vehicleHistories;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean priceChanged;
+
+    /**
+     * The image listings show. The table keeps no upload position, so it is the first URL in sort order, which
+     * does not change with the order rows come back in.
+     */
+    public String thumbnailUrl() {
+        return imageUrls == null ? null : imageUrls.stream().min(Comparator.naturalOrder()).orElse(null);
+    }
+
+    /**
+     * Returns whether the effective price changed since the last call, and resets the flag. Carts holding this
+     * product are repriced when it did.
+     */
+    public boolean consumePriceChange() {
+        boolean changed = priceChanged;
+        priceChanged = false;
+        return changed;
+    }
 
     public void updateDiscountCalculations() {
+        BigDecimal previousPrice = this.discountPrice;
         if (this.price != null) {
             if (this.discountAmount != null && this.discountAmount.compareTo(BigDecimal.ZERO) > 0) {
                 this.discountPrice = this.price.subtract(this.discountAmount);
@@ -119,6 +155,9 @@ public class Vehicle extends BaseEntity{
                 this.onDeal = false;
             }
         }
+        if (previousPrice != null && this.discountPrice != null && previousPrice.compareTo(this.discountPrice) != 0) {
+            this.priceChanged = true;
+        }
     }
 
     public void setDiscountPercentage(BigDecimal discountPercentage) {
@@ -0,0 +1,31 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.events.ProductPriceChangedEvent;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class VehicleEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onVehicleChanged(Vehicle vehicle) {
+        if (vehicle.getId() != null) {
+            eventPublisher.publishEvent(VehiclesChangedEvent.of(vehicle.getId()));
+        }
+        if (vehicle.consumePriceChange()) {
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(ItemType.VEHICLE, vehicle.getId(),
+                    vehicle.getDiscountPrice()));
+        }
+    }
+}
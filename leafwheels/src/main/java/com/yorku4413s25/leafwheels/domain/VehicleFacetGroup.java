@@ -0,0 +1,13 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+
+/**
+ * Number of vehicles sharing a make, body type, condition and price range, and whether their prices fall inside
+ * the requested price filter. Facet counts are sums over these groups.
+ */
+public record VehicleFacetGroup(Make make, BodyType bodyType, Condition condition, int priceRange,
+                                boolean priceMatches, long count) {
+}
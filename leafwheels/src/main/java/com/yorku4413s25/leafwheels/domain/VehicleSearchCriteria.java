@@ -0,0 +1,38 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleSearchCriteria {
+
+    private Integer year;
+    private Make make;
+    private String model;
+    private BodyType bodyType;
+    private String exteriorColor;
+    private Integer doors;
+    private Integer seats;
+    private Integer minMileage;
+    private Integer maxMileage;
+    private Integer minBatteryRange;
+    private Integer maxBatteryRange;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean onDeal;
+    private Condition condition;
+    private List<VehicleStatus> statuses;
+    private Boolean hasAccidentHistory;
+}
@@ -6,9 +6,13 @@ import com.yorku4413s25.leafwheels.constants.Make;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
 import org.springframework.data.jpa.domain.Specification;
 
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.UUID;
 
 public class VehicleSpecification {
 
@@ -89,12 +93,30 @@ public class VehicleSpecification {
             (statuses == null || statuses.isEmpty()) ? null : cb.not(root.get("status").in(statuses));
     }
 
+    public static <T extends Comparable<? super T>> Specification<Vehicle> isAfter(String property, T value, UUID id, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<T> path = root.get(property);
+            Predicate beyond = ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+            if ("id".equals(property)) {
+                return beyond;
+            }
+            Path<UUID> idPath = root.get("id");
+            Predicate tieBroken = cb.and(
+                    cb.equal(path, value),
+                    ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id));
+            return cb.or(beyond, tieBroken);
+        };
+    }
+
     public static Specification<Vehicle> hasAccidentHistory(Boolean hasAccidentHistory) {
-        return (root, query, cb) ->
-                hasAccidentHistory == null ? null :
-                        (hasAccidentHistory
-                                ? cb.isNotNull(root.join("vehicleHistories", JoinType.LEFT).get("id"))
-                                : cb.isNull(root.join("vehicleHistories", JoinType.LEFT).get("id"))
-                        );
+        return (root, query, cb) -> {
+            if (hasAccidentHistory == null) {
+                return null;
+            }
+            Subquery<Integer> accidents = query.subquery(Integer.class);
+            Root<VehicleHistory> history = accidents.from(VehicleHistory.class);
+            accidents.select(cb.literal(1)).where(cb.equal(history.get("vehicle"), root));
+            return hasAccidentHistory ? cb.exists(accidents) : cb.not(cb.exists(accidents));
+        };
     }
 }
@@ -0,0 +1,12 @@
+package com.yorku4413s25.leafwheels.events;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published synchronously right before the cart items holding lapsed vehicle reservations are deleted, keyed by
+ * the owner of the cart.
+ */
+public record CartReservationsExpiringEvent(Map<UUID, List<UUID>> itemIdsByUser) {
+}
@@ -0,0 +1,10 @@
+package com.yorku4413s25.leafwheels.events;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published when the item prices of the carts owned by these users were repriced in the database.
+ */
+public record CartsRepricedEvent(Set<UUID> userIds) {
+}
@@ -0,0 +1,12 @@
+package com.yorku4413s25.leafwheels.events;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Outbox payload of the ORDER_* events: the order's state right after the change.
+ */
+public record OrderChangedEvent(UUID orderId, UUID userId, OrderStatus status, BigDecimal totalPrice) {
+}
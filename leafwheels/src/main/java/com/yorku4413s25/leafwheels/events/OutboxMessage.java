@@ -0,0 +1,14 @@
+package com.yorku4413s25.leafwheels.events;
+
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An outbox event as delivered to in-process listeners when {@code outbox.publisher=local}. Delivery is
+ * at-least-once, so listeners should ignore ids they have already handled.
+ */
+public record OutboxMessage(Long id, String aggregateType, UUID aggregateId, OutboxEventType type, String payload,
+                            Instant createdAt) {
+}
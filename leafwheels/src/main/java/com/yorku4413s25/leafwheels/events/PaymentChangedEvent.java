@@ -0,0 +1,13 @@
+package com.yorku4413s25.leafwheels.events;
+
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Outbox payload of the PAYMENT_* events: the payment's state right after the change.
+ */
+public record PaymentChangedEvent(UUID paymentId, UUID orderId, UUID userId, PaymentStatus status, BigDecimal amount,
+                                  String failureReason) {
+}
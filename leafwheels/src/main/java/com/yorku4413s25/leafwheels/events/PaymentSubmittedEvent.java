@@ -0,0 +1,9 @@
+package com.yorku4413s25.leafwheels.events;
+
+import java.util.UUID;
+
+/**
+ * Published when a PENDING payment was saved for asynchronous checkout and still needs authorizing.
+ */
+public record PaymentSubmittedEvent(UUID paymentId) {
+}
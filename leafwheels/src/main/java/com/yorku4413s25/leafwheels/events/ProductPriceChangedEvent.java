@@ -0,0 +1,12 @@
+package com.yorku4413s25.leafwheels.events;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Published when an update changes the effective (discounted) price of a vehicle or accessory.
+ */
+public record ProductPriceChangedEvent(ItemType type, UUID productId, BigDecimal price) {
+}
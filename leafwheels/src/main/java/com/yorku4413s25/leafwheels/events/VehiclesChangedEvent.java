@@ -0,0 +1,15 @@
+package com.yorku4413s25.leafwheels.events;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published whenever one or more vehicles were inserted, updated or deleted.
+ * Listeners that keep derived copies of the catalog react to it after commit.
+ */
+public record VehiclesChangedEvent(Set<UUID> vehicleIds) {
+
+    public static VehiclesChangedEvent of(UUID vehicleId) {
+        return new VehiclesChangedEvent(Set.of(vehicleId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.yorku4413s25.leafwheels.exception;
+
+/**
+ * The payment gateway did not answer with an authorization decision: it failed, timed out or was saturated. Unlike
+ * a decline, the request may succeed when retried.
+ */
+public class PaymentGatewayException extends RuntimeException {
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,9 +1,51 @@
 package com.yorku4413s25.leafwheels.repositories;
 
 import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.EntityVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface AccessoryRepository extends JpaRepository<Accessory, UUID> {
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.domain.EntityVersion(a.version, a.updatedAt) FROM Accessory a WHERE a.id = :accessoryId")
+    Optional<EntityVersion> findVersionById(@Param("accessoryId") UUID accessoryId);
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.domain.CollectionVersion(COUNT(a), MAX(a.updatedAt), SUM(a.version)) FROM Accessory a")
+    CollectionVersion findCollectionVersion();
+
+    @Modifying
+    @Query("""
+            UPDATE Accessory a SET a.quantity = a.quantity - :amount, a.version = a.version + 1, a.updatedAt = :now
+            WHERE a.id = :accessoryId AND a.quantity >= :amount
+            """)
+    int decrementStock(@Param("accessoryId") UUID accessoryId, @Param("amount") int amount, @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            UPDATE Accessory a SET a.quantity = a.quantity + :amount, a.version = a.version + 1, a.updatedAt = :now
+            WHERE a.id = :accessoryId
+            """)
+    int incrementStock(@Param("accessoryId") UUID accessoryId, @Param("amount") int amount, @Param("now") Instant now);
+
+    /**
+     * Puts the accessory quantities of the given orders back in stock, one row update per accessory.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Accessory a SET
+                a.quantity = a.quantity + (SELECT SUM(oi.quantity) FROM OrderItem oi
+                                           WHERE oi.accessory = a AND oi.order.id IN :orderIds),
+                a.version = a.version + 1,
+                a.updatedAt = :now
+            WHERE a.id IN (SELECT oi.accessory.id FROM OrderItem oi WHERE oi.order.id IN :orderIds)
+            """)
+    int restockFromOrders(@Param("orderIds") Collection<UUID> orderIds, @Param("now") Instant now);
 }
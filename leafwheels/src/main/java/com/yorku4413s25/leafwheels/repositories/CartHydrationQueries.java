@@ -0,0 +1,15 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.domain.Cart;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CartHydrationQueries {
+
+    /**
+     * Loads the user's cart with its items, their vehicles and accessories, and the vehicles' image URLs in at most
+     * two queries, however many items the cart holds.
+     */
+    Optional<Cart> findHydratedByUserId(UUID userId);
+}
@@ -0,0 +1,58 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.domain.Cart;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+class CartHydrationQueriesImpl implements CartHydrationQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Cart> findHydratedByUserId(UUID userId) {
+        List<Cart> carts = entityManager.createQuery("""
+                        SELECT DISTINCT c FROM Cart c
+                        LEFT JOIN FETCH c.items i
+                        LEFT JOIN FETCH i.vehicle
+                        LEFT JOIN FETCH i.accessory
+                        WHERE c.userId = :userId
+                        """, Cart.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        if (carts.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Cart cart = carts.get(0);
+        loadImageUrls(cart);
+        return Optional.of(cart);
+    }
+
+    /**
+     * Fetching the image URLs in the first query would multiply its rows per image, so they come in a second one
+     * that initializes the collections of the vehicles already in the persistence context.
+     */
+    private void loadImageUrls(Cart cart) {
+        List<UUID> vehicleIds = cart.getItems().stream()
+                .map(CartItem::getVehicle)
+                .filter(Objects::nonNull)
+                .map(Vehicle::getId)
+                .distinct()
+                .toList();
+        if (vehicleIds.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("SELECT DISTINCT v FROM Vehicle v LEFT JOIN FETCH v.imageUrls WHERE v.id IN :ids",
+                        Vehicle.class)
+                .setParameter("ids", vehicleIds)
+                .getResultList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.ExpiredReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
+
+    /**
+     * Lapsed vehicle reservations, oldest first. A vehicle on a PLACED order stays reserved whatever the cart item
+     * says: its payment is still open, and the order's outcome decides whether it is sold or released.
+     */
+    @Query("""
+            SELECT new com.yorku4413s25.leafwheels.domain.ExpiredReservation(ci.id, c.id, c.userId, ci.vehicle.id)
+            FROM CartItem ci JOIN ci.cart c
+            WHERE ci.reservedUntil < :now
+              AND NOT EXISTS (
+                  SELECT oi FROM OrderItem oi
+                  WHERE oi.vehicle = ci.vehicle
+                    AND oi.order.status = com.yorku4413s25.leafwheels.constants.OrderStatus.PLACED)
+            ORDER BY ci.reservedUntil
+            """)
+    List<ExpiredReservation> findExpiredReservations(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.id IN :itemIds AND ci.reservedUntil < :now")
+    int deleteExpiredByIdIn(@Param("itemIds") Collection<UUID> itemIds, @Param("now") Instant now);
+}
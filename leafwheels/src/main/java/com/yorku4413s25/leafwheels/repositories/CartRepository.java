@@ -1,13 +1,81 @@
 package com.yorku4413s25.leafwheels.repositories;
 
 import com.yorku4413s25.leafwheels.domain.Cart;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CartRepository extends JpaRepository<Cart, UUID> {
+public interface CartRepository extends JpaRepository<Cart, UUID>, CartHydrationQueries {
     Optional<Cart> findByUserId(UUID userId);
+
+    /**
+     * Locks the user's cart row until the end of the transaction, so two checkouts of one cart run one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.userId = :userId")
+    Optional<Cart> lockByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT DISTINCT ci.cart.id FROM CartItem ci WHERE ci.vehicle.id = :vehicleId AND ci.unitPrice <> :price")
+    List<UUID> findCartIdsWithStaleVehiclePrice(@Param("vehicleId") UUID vehicleId, @Param("price") BigDecimal price);
+
+    @Query("SELECT DISTINCT ci.cart.id FROM CartItem ci WHERE ci.accessory.id = :accessoryId AND ci.unitPrice <> :price")
+    List<UUID> findCartIdsWithStaleAccessoryPrice(@Param("accessoryId") UUID accessoryId, @Param("price") BigDecimal price);
+
+    @Query("SELECT c.userId FROM Cart c WHERE c.id IN :cartIds")
+    List<UUID> findUserIdsByIdIn(@Param("cartIds") Collection<UUID> cartIds);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.unitPrice = :price WHERE ci.vehicle.id = :vehicleId AND ci.cart.id IN :cartIds")
+    int repriceVehicleItems(@Param("cartIds") Collection<UUID> cartIds,
+                            @Param("vehicleId") UUID vehicleId,
+                            @Param("price") BigDecimal price);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.unitPrice = :price WHERE ci.accessory.id = :accessoryId AND ci.cart.id IN :cartIds")
+    int repriceAccessoryItems(@Param("cartIds") Collection<UUID> cartIds,
+                              @Param("accessoryId") UUID accessoryId,
+                              @Param("price") BigDecimal price);
+
+    /**
+     * Recomputes the subtotal and item count of carts whose items were removed in bulk. The checksum is cleared and
+     * recomputed from the items on the next checkout.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Cart c SET
+                c.subtotal = (SELECT COALESCE(SUM(ci.unitPrice * ci.quantity), 0) FROM CartItem ci WHERE ci.cart = c),
+                c.itemCount = (SELECT COALESCE(SUM(ci.quantity), 0) FROM CartItem ci WHERE ci.cart = c),
+                c.checksumHigh = NULL,
+                c.checksumLow = NULL,
+                c.version = c.version + 1
+            WHERE c.id IN :cartIds
+            """)
+    int refreshTotals(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Recomputes the subtotal of repriced carts from their items and bumps their price version. The checksum
+     * covers unit prices, so it is cleared and recomputed on the next checkout.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Cart c SET
+                c.subtotal = (SELECT COALESCE(SUM(ci.unitPrice * ci.quantity), 0) FROM CartItem ci WHERE ci.cart = c),
+                c.priceVersion = COALESCE(c.priceVersion, 0) + 1,
+                c.checksumHigh = NULL,
+                c.checksumLow = NULL,
+                c.version = c.version + 1
+            WHERE c.id IN :cartIds
+            """)
+    int refreshRepricedTotals(@Param("cartIds") Collection<UUID> cartIds);
 }
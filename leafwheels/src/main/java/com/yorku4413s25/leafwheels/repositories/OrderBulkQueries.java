@@ -0,0 +1,17 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderBulkQueries {
+
+    /**
+     * Locks and returns the ids of up to {@code limit} orders in the given status created before {@code placedBefore},
+     * optionally only those of one user, oldest first. Orders another transaction holds a lock on, and orders with a
+     * PENDING payment, are skipped.
+     */
+    List<UUID> lockIdsForUpdate(OrderStatus status, Instant placedBefore, UUID userId, int limit);
+}
@@ -0,0 +1,55 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.SpecHints;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class OrderBulkQueriesImpl implements OrderBulkQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> lockIdsForUpdate(OrderStatus status, Instant placedBefore, UUID userId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(order.get("status"), status));
+        predicates.add(cb.lessThan(order.get("createdAt"), placedBefore));
+        if (userId != null) {
+            predicates.add(cb.equal(order.get("userId"), userId));
+        }
+        Subquery<UUID> pendingPayment = query.subquery(UUID.class);
+        Root<Payment> payment = pendingPayment.from(Payment.class);
+        pendingPayment.select(payment.get("id"))
+                .where(cb.equal(payment.get("order"), order), cb.equal(payment.get("status"), PaymentStatus.PENDING));
+        predicates.add(cb.not(cb.exists(pendingPayment)));
+        query.select(order.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(order.get("createdAt")), cb.asc(order.get("id")));
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,11 +1,60 @@
 package com.yorku4413s25.leafwheels.repositories;
 
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
 import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.OrderStatusCount;
+import com.yorku4413s25.leafwheels.events.OrderChangedEvent;
+import com.yorku4413s25.leafwheels.web.models.OrderSummaryDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderBulkQueries {
     List<Order> findAllByUserId(UUID userId);
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.domain.OrderStatusCount(o.status, COUNT(o)) FROM Order o GROUP BY o.status")
+    List<OrderStatusCount> countByStatus();
+
+    @EntityGraph(attributePaths = {"items", "items.vehicle", "items.accessory"})
+    Optional<Order> findWithItemsById(UUID id);
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.web.models.OrderSummaryDto(o.id, o.status, o.totalPrice, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o), o.createdAt) " +
+            "FROM Order o WHERE o.userId = :userId " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryDto> findSummariesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.web.models.OrderSummaryDto(o.id, o.status, o.totalPrice, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o), o.createdAt) " +
+            "FROM Order o WHERE o.userId = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryDto> findSummariesByUserIdBefore(@Param("userId") UUID userId,
+                                                      @Param("createdAt") Instant createdAt,
+                                                      @Param("id") UUID id,
+                                                      Pageable pageable);
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.events.OrderChangedEvent(o.id, o.userId, o.status, o.totalPrice) FROM Order o WHERE o.id IN :orderIds")
+    List<OrderChangedEvent> findChangedEventsByIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Query("SELECT DISTINCT oi.vehicle.id FROM OrderItem oi WHERE oi.order.id IN :orderIds AND oi.vehicle IS NOT NULL")
+    List<UUID> findVehicleIdsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Modifying
+    @Query("""
+            UPDATE Order o SET o.status = :status, o.version = o.version + 1, o.updatedAt = :now
+            WHERE o.id IN :orderIds
+            """)
+    int updateStatusByIdIn(@Param("orderIds") Collection<UUID> orderIds,
+                           @Param("now") Instant now,
+                           @Param("status") OrderStatus status);
 }
@@ -1,11 +1,14 @@
 package com.yorku4413s25.leafwheels.repositories;
 
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
 import com.yorku4413s25.leafwheels.domain.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +20,10 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     List<Payment> findByUserId(UUID userId);
 
-    @Query("SELECT COUNT(p) FROM Payment p")
-    long countAllPayments();
+    boolean existsByUserIdAndStatus(UUID userId, PaymentStatus status);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.status = :status AND p.updatedAt < :before ORDER BY p.updatedAt")
+    List<UUID> findIdsByStatusUpdatedBefore(@Param("status") PaymentStatus status,
+                                            @Param("before") Instant before,
+                                            Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleFacetGroup;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface VehicleCardQueries {
+
+    /**
+     * Selects only the listing card columns of the matching vehicles, so no entity or collection is hydrated.
+     */
+    Page<VehicleCardDto> findCards(Specification<Vehicle> specification, Pageable pageable);
+
+    /**
+     * Counts the matching vehicles grouped by make, body type, condition and price range, the latter being the
+     * index of the first bound in {@code priceBounds} above the price. Only one row per group is returned, however
+     * many vehicles match.
+     */
+    List<VehicleFacetGroup> countFacetGroups(Specification<Vehicle> specification, BigDecimal minPrice,
+                                             BigDecimal maxPrice, List<BigDecimal> priceBounds);
+}
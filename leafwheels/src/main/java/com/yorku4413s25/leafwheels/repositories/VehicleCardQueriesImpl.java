@@ -0,0 +1,147 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleFacetGroup;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class VehicleCardQueriesImpl implements VehicleCardQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<VehicleCardDto> findCards(Specification<Vehicle> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VehicleCardDto> query = cb.createQuery(VehicleCardDto.class);
+        Root<Vehicle> vehicle = query.from(Vehicle.class);
+        query.select(cb.construct(VehicleCardDto.class,
+                vehicle.get("id"),
+                vehicle.get("year"),
+                vehicle.get("make"),
+                vehicle.get("model"),
+                vehicle.get("trim"),
+                vehicle.get("bodyType"),
+                vehicle.get("exteriorColor"),
+                vehicle.get("mileage"),
+                vehicle.get("batteryRange"),
+                vehicle.get("price"),
+                vehicle.get("discountPrice"),
+                vehicle.get("onDeal"),
+                vehicle.get("condition"),
+                vehicle.get("status"),
+                cb.nullLiteral(String.class)));
+        Predicate predicate = specification.toPredicate(vehicle, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), vehicle, cb));
+        }
+
+        TypedQuery<VehicleCardDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<VehicleCardDto> cards = typedQuery.getResultList();
+        addThumbnails(cards);
+
+        return PageableExecutionUtils.getPage(cards, pageable, () -> count(specification));
+    }
+
+    private void addThumbnails(List<VehicleCardDto> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+        List<Object[]> images = entityManager.createQuery(
+                        "SELECT v.id, i FROM Vehicle v JOIN v.imageUrls i WHERE v.id IN :ids", Object[].class)
+                .setParameter("ids", cards.stream().map(VehicleCardDto::getId).toList())
+                .getResultList();
+        Map<UUID, String> thumbnails = new HashMap<>();
+        for (Object[] image : images) {
+            // same pick as Vehicle.thumbnailUrl(), in Java so the database collation cannot change it
+            thumbnails.merge((UUID) image[0], (String) image[1], (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+        cards.forEach(card -> card.setThumbnailUrl(thumbnails.get(card.getId())));
+    }
+
+    @Override
+    public List<VehicleFacetGroup> countFacetGroups(Specification<Vehicle> specification, BigDecimal minPrice,
+                                                    BigDecimal maxPrice, List<BigDecimal> priceBounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Vehicle> vehicle = query.from(Vehicle.class);
+        Expression<BigDecimal> price = vehicle.get("price");
+
+        CriteriaBuilder.Case<Integer> priceRangeCase = cb.selectCase();
+        for (int i = 0; i < priceBounds.size(); i++) {
+            priceRangeCase = priceRangeCase.when(cb.lessThan(price, priceBounds.get(i)), i);
+        }
+        Expression<Integer> priceRange = priceRangeCase.otherwise(priceBounds.size());
+
+        List<Predicate> inPriceFilter = new ArrayList<>();
+        if (minPrice != null) {
+            inPriceFilter.add(cb.greaterThanOrEqualTo(price, minPrice));
+        }
+        if (maxPrice != null) {
+            inPriceFilter.add(cb.lessThanOrEqualTo(price, maxPrice));
+        }
+        Expression<Integer> priceMatches = cb.<Integer>selectCase()
+                .when(cb.and(inPriceFilter.toArray(new Predicate[0])), 1)
+                .otherwise(0);
+
+        query.multiselect(vehicle.get("make"), vehicle.get("bodyType"), vehicle.get("condition"),
+                priceRange, priceMatches, cb.count(vehicle));
+        Predicate predicate = specification.toPredicate(vehicle, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(vehicle.get("make"), vehicle.get("bodyType"), vehicle.get("condition"), priceRange, priceMatches);
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new VehicleFacetGroup(
+                        row.get(0, Make.class),
+                        row.get(1, BodyType.class),
+                        row.get(2, Condition.class),
+                        row.get(3, Integer.class),
+                        row.get(4, Integer.class) == 1,
+                        row.get(5, Long.class)))
+                .toList();
+    }
+
+    private long count(Specification<Vehicle> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Vehicle> vehicle = query.from(Vehicle.class);
+        query.select(cb.count(vehicle));
+        Predicate predicate = specification.toPredicate(vehicle, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
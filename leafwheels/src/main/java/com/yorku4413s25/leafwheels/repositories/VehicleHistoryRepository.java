@@ -2,12 +2,22 @@ package com.yorku4413s25.leafwheels.repositories;
 
 import com.yorku4413s25.leafwheels.domain.VehicleHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface VehicleHistoryRepository extends JpaRepository<VehicleHistory, UUID> {
     List<VehicleHistory> findByVehicleId(UUID vehicleId);
+
+    @Query("SELECT DISTINCT h.vehicle.id FROM VehicleHistory h")
+    Set<UUID> findVehicleIdsWithHistory();
+
+    @Query("SELECT DISTINCT h.vehicle.id FROM VehicleHistory h WHERE h.vehicle.id IN :vehicleIds")
+    Set<UUID> findVehicleIdsWithHistoryIn(@Param("vehicleIds") Collection<UUID> vehicleIds);
 }
\ No newline at end of file
@@ -1,17 +1,27 @@
 package com.yorku4413s25.leafwheels.repositories;
 
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
 import com.yorku4413s25.leafwheels.domain.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, UUID>, JpaSpecificationExecutor<Vehicle> {
+public interface VehicleRepository extends JpaRepository<Vehicle, UUID>, JpaSpecificationExecutor<Vehicle>,
+        VehicleCardQueries {
 
     @Query("SELECT DISTINCT v.model FROM Vehicle v WHERE v.model IS NOT NULL")
     List<String> findDistinctModels();
@@ -21,6 +31,73 @@ public interface VehicleRepository extends JpaRepository<Vehicle, UUID>, JpaSpec
 
     List<Vehicle> findByStatusIn(List<VehicleStatus> statuses);
 
+    @Query("SELECT new com.yorku4413s25.leafwheels.domain.CollectionVersion(COUNT(v), MAX(v.updatedAt), SUM(v.version)) FROM Vehicle v")
+    CollectionVersion findCollectionVersion();
+
+    @Query("SELECT new com.yorku4413s25.leafwheels.domain.CollectionVersion(COUNT(v), MAX(v.updatedAt), SUM(v.version)) FROM Vehicle v WHERE v.status IN :statuses")
+    CollectionVersion findCollectionVersionByStatusIn(@Param("statuses") List<VehicleStatus> statuses);
+
     List<Vehicle> findByStatusNotIn(List<VehicleStatus> statuses);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Vehicle v")
+    Stream<Vehicle> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Vehicle> streamByStatusIn(List<VehicleStatus> statuses);
+
+    /**
+     * Atomically moves an AVAILABLE vehicle to PENDING. Returns false if the vehicle does not exist or another
+     * request reserved it first; concurrent callers never both succeed.
+     */
+    default boolean reserveIfAvailable(UUID vehicleId) {
+        return updateStatusIfAvailable(vehicleId, Instant.now(), VehicleStatus.AVAILABLE, VehicleStatus.PENDING) == 1;
+    }
+
+    /**
+     * Bypasses the persistence context: pending changes are flushed first, but a vehicle already loaded in the
+     * transaction keeps its old status and version until the caller refreshes it.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Vehicle v SET v.status = :status, v.version = v.version + 1, v.updatedAt = :now
+            WHERE v.id = :vehicleId AND (v.status = :available OR v.status IS NULL)
+            """)
+    int updateStatusIfAvailable(@Param("vehicleId") UUID vehicleId,
+                                @Param("now") Instant now,
+                                @Param("available") VehicleStatus available,
+                                @Param("status") VehicleStatus status);
+
+    /**
+     * Moves PENDING vehicles back to AVAILABLE, except those on a PLACED order, which stay held for its payment.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Vehicle v SET v.status = :available, v.version = v.version + 1, v.updatedAt = :now
+            WHERE v.id IN :vehicleIds AND v.status = :pending
+              AND NOT EXISTS (
+                  SELECT oi FROM OrderItem oi
+                  WHERE oi.vehicle = v
+                    AND oi.order.status = com.yorku4413s25.leafwheels.constants.OrderStatus.PLACED)
+            """)
+    int releaseReservations(@Param("vehicleIds") Collection<UUID> vehicleIds,
+                            @Param("now") Instant now,
+                            @Param("pending") VehicleStatus pending,
+                            @Param("available") VehicleStatus available);
+
+    @Modifying
+    @Query("""
+            UPDATE Vehicle v SET v.status = :status, v.version = v.version + 1, v.updatedAt = :now
+            WHERE v.id IN :vehicleIds
+            """)
+    int updateStatusByIdIn(@Param("vehicleIds") Collection<UUID> vehicleIds,
+                           @Param("now") Instant now,
+                           @Param("status") VehicleStatus status);
+
 }
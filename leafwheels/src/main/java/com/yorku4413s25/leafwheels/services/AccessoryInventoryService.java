@@ -0,0 +1,17 @@
+package com.yorku4413s25.leafwheels.services;
+
+import java.util.UUID;
+
+public interface AccessoryInventoryService {
+
+    /**
+     * Takes {@code quantity} units of the accessory out of stock, atomically, or throws {@link IllegalStateException}
+     * without taking any if fewer are left. Undone if the surrounding transaction rolls back.
+     */
+    void reserve(UUID accessoryId, int quantity);
+
+    /**
+     * Puts units taken by {@link #reserve} back into stock.
+     */
+    void release(UUID accessoryId, int quantity);
+}
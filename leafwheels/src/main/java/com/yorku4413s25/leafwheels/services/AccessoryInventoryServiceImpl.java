@@ -0,0 +1,46 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps accessory stock in the accessories row, changed only through conditional UPDATEs so two orders can never
+ * both take the last units.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccessoryInventoryServiceImpl implements AccessoryInventoryService {
+
+    private final AccessoryRepository accessoryRepository;
+
+    @Override
+    @Transactional
+    public void reserve(UUID accessoryId, int quantity) {
+        requirePositive(quantity);
+        if (accessoryRepository.decrementStock(accessoryId, quantity, Instant.now()) == 0) {
+            accessoryRepository.findById(accessoryId)
+                    .orElseThrow(() -> new EntityNotFoundException(accessoryId, Accessory.class));
+            throw new IllegalStateException("Not enough accessory stock available.");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID accessoryId, int quantity) {
+        requirePositive(quantity);
+        accessoryRepository.incrementStock(accessoryId, quantity, Instant.now());
+    }
+
+    static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero.");
+        }
+    }
+}
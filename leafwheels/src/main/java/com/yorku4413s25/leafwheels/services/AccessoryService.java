@@ -1,5 +1,7 @@
 package com.yorku4413s25.leafwheels.services;
 
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.EntityVersion;
 import com.yorku4413s25.leafwheels.web.models.AccessoryDto;
 
 import java.util.List;
@@ -8,6 +10,8 @@ import java.util.UUID;
 public interface AccessoryService {
     List<AccessoryDto> getAllAccessories();
     AccessoryDto getAccessoryById(UUID id);
+    EntityVersion getAccessoryVersion(UUID id);
+    CollectionVersion getCatalogVersion();
     AccessoryDto createAccessory(AccessoryDto dto);
     AccessoryDto updateById(UUID id, AccessoryDto dto);
     void deleteAccessory(UUID id);
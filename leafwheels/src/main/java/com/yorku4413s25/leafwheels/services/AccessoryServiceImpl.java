@@ -1,6 +1,8 @@
 package com.yorku4413s25.leafwheels.services;
 
 import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.EntityVersion;
 import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
 import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
 import com.yorku4413s25.leafwheels.web.mappers.AccessoryMapper;
@@ -38,6 +40,19 @@ public class AccessoryServiceImpl implements AccessoryService {
                 .orElseThrow(() -> new EntityNotFoundException(id, Accessory.class)));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EntityVersion getAccessoryVersion(UUID id) {
+        return accessoryRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException(id, Accessory.class));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getCatalogVersion() {
+        return accessoryRepository.findCollectionVersion();
+    }
+
     @Override
     @Transactional
     public AccessoryDto createAccessory(AccessoryDto dto) {
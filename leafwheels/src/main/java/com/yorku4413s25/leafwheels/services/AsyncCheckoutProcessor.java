@@ -0,0 +1,119 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.events.PaymentSubmittedEvent;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import com.yorku4413s25.leafwheels.repositories.PaymentRepository;
+import com.yorku4413s25.leafwheels.web.models.PaymentResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authorizes payments submitted for asynchronous checkout once their PENDING row is committed. Authorization runs
+ * outside any transaction and its result is applied in a short one, after which the payment is pushed to
+ * {@code /topic/payments/{orderId}}; clients without a socket poll the payment status endpoint instead. Payments
+ * left PENDING, e.g. by a restart while they were queued, are picked up again by a periodic re-drive.
+ */
+@Component
+@Slf4j
+public class AsyncCheckoutProcessor {
+
+    static final String TOPIC_PREFIX = "/topic/payments/";
+
+    private final PaymentOutcomeWriter paymentOutcomes;
+    private final PaymentGatewayClient paymentGatewayClient;
+    private final PaymentRepository paymentRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TaskExecutor checkoutExecutor;
+    private final Duration staleAfter;
+    private final int redriveBatchSize;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AsyncCheckoutProcessor(PaymentOutcomeWriter paymentOutcomes,
+                                  PaymentGatewayClient paymentGatewayClient,
+                                  PaymentRepository paymentRepository,
+                                  SimpMessagingTemplate messagingTemplate,
+                                  @Qualifier("checkoutExecutor") TaskExecutor checkoutExecutor,
+                                  @Value("${payment.checkout.async.stale-after:5m}") Duration staleAfter,
+                                  @Value("${payment.checkout.async.redrive-batch-size:100}") int redriveBatchSize) {
+        this.paymentOutcomes = paymentOutcomes;
+        this.paymentGatewayClient = paymentGatewayClient;
+        this.paymentRepository = paymentRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.checkoutExecutor = checkoutExecutor;
+        this.staleAfter = staleAfter;
+        this.redriveBatchSize = redriveBatchSize;
+    }
+
+    @TransactionalEventListener
+    public void onPaymentSubmitted(PaymentSubmittedEvent event) {
+        submit(event.paymentId());
+    }
+
+    /**
+     * Resubmits payments that have been PENDING for longer than any checkout should take. Payments still queued or
+     * running on this instance are skipped; one completed elsewhere in the meantime is left alone by
+     * {@link PaymentOutcomeWriter}, and the payment version stops two outcomes from both being written.
+     */
+    @Scheduled(fixedDelayString = "${payment.checkout.async.redrive-interval:1m}")
+    public void redriveStalePayments() {
+        List<UUID> stale = paymentRepository.findIdsByStatusUpdatedBefore(PaymentStatus.PENDING,
+                Instant.now().minus(staleAfter), PageRequest.of(0, redriveBatchSize));
+        if (!stale.isEmpty()) {
+            log.warn("Re-driving {} payments left PENDING for more than {}", stale.size(), staleAfter);
+            stale.forEach(this::submit);
+        }
+    }
+
+    private void submit(UUID paymentId) {
+        if (!inFlight.add(paymentId)) {
+            return;
+        }
+        try {
+            checkoutExecutor.execute(() -> {
+                try {
+                    process(paymentId);
+                } finally {
+                    inFlight.remove(paymentId);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(paymentId);
+            throw e;
+        }
+    }
+
+    void process(UUID paymentId) {
+        PaymentResponseDto result;
+        try {
+            Payment pending = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new IllegalStateException("Payment " + paymentId + " not found"));
+            PaymentAuthorization authorization = paymentGatewayClient.authorize(pending.getTransactionId(),
+                    pending.getAmount(), pending.getPaymentMethod());
+            result = paymentOutcomes.complete(paymentId, authorization);
+        } catch (PaymentGatewayException e) {
+            log.warn("Payment gateway unavailable for payment {}: {}", paymentId, e.getMessage());
+            result = paymentOutcomes.fail(paymentId, "Payment gateway unavailable");
+        } catch (RuntimeException e) {
+            log.error("Asynchronous checkout failed for payment {}", paymentId, e);
+            result = paymentOutcomes.fail(paymentId, "Payment processing failed");
+        }
+        messagingTemplate.convertAndSend(TOPIC_PREFIX + result.getOrderId(), result);
+    }
+}
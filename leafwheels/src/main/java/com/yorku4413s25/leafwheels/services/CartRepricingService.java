@@ -0,0 +1,56 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.events.CartsRepricedEvent;
+import com.yorku4413s25.leafwheels.events.ProductPriceChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves the unit price snapshots, subtotals and price versions of every cart holding a product to the product's
+ * new price, with a few bulk statements instead of touching each cart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CartRepricingService {
+
+    private final CartRepository cartRepository;
+    private final CartService cartService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onProductPriceChanged(ProductPriceChangedEvent event) {
+        boolean vehicle = event.type() == ItemType.VEHICLE;
+        List<UUID> cartIds = vehicle
+                ? cartRepository.findCartIdsWithStaleVehiclePrice(event.productId(), event.price())
+                : cartRepository.findCartIdsWithStaleAccessoryPrice(event.productId(), event.price());
+        if (cartIds.isEmpty()) {
+            return;
+        }
+
+        List<UUID> userIds = cartRepository.findUserIdsByIdIn(cartIds);
+        userIds.forEach(cartService::flushCart);
+
+        if (vehicle) {
+            cartRepository.repriceVehicleItems(cartIds, event.productId(), event.price());
+        } else {
+            cartRepository.repriceAccessoryItems(cartIds, event.productId(), event.price());
+        }
+        cartRepository.refreshRepricedTotals(cartIds);
+        log.info("Repriced {} {} {} in {} carts", event.type(), event.productId(), event.price(), cartIds.size());
+
+        eventPublisher.publishEvent(new CartsRepricedEvent(new HashSet<>(userIds)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.ExpiredReservation;
+import com.yorku4413s25.leafwheels.events.CartReservationsExpiringEvent;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.CartItemRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Releases vehicles whose cart reservation lapsed. Expired items are found through the index on
+ * {@code cart_items.reserved_until}, a batch at a time, and each batch is handled with a few bulk statements:
+ * the items are deleted, PENDING vehicles go back to AVAILABLE and the affected carts get their totals recomputed.
+ * Vehicles on a PLACED order are left alone until the order is paid or cancelled, however long the payment takes.
+ */
+@Component
+@Slf4j
+public class CartReservationSweeper {
+
+    private final CartItemRepository cartItemRepository;
+    private final CartRepository cartRepository;
+    private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter expiredReservations;
+
+    public CartReservationSweeper(CartItemRepository cartItemRepository,
+                                  CartRepository cartRepository,
+                                  VehicleRepository vehicleRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${cart.reservation.sweep-batch-size:500}") int batchSize) {
+        this.cartItemRepository = cartItemRepository;
+        this.cartRepository = cartRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.expiredReservations = Counter.builder("leafwheels.cart.reservations.expired")
+                .description("Vehicle cart reservations released because they lapsed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.reservation.sweep-interval:1m}")
+    public void sweep() {
+        Instant now = Instant.now();
+        int total = 0;
+        int swept;
+        do {
+            swept = sweepBatch(now);
+            total += swept;
+        } while (swept == batchSize);
+
+        if (total > 0) {
+            log.info("Released {} expired vehicle reservations", total);
+        }
+    }
+
+    int sweepBatch(Instant now) {
+        List<ExpiredReservation> expired = cartItemRepository.findExpiredReservations(now, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        eventPublisher.publishEvent(new CartReservationsExpiringEvent(expired.stream()
+                .collect(Collectors.groupingBy(ExpiredReservation::userId,
+                        Collectors.mapping(ExpiredReservation::itemId, Collectors.toList())))));
+
+        List<UUID> itemIds = expired.stream().map(ExpiredReservation::itemId).toList();
+        Set<UUID> cartIds = expired.stream().map(ExpiredReservation::cartId).collect(Collectors.toSet());
+        Set<UUID> vehicleIds = expired.stream().map(ExpiredReservation::vehicleId).collect(Collectors.toSet());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cartItemRepository.deleteExpiredByIdIn(itemIds, now);
+            vehicleRepository.releaseReservations(vehicleIds, now, VehicleStatus.PENDING, VehicleStatus.AVAILABLE);
+            cartRepository.refreshTotals(cartIds);
+            eventPublisher.publishEvent(new VehiclesChangedEvent(vehicleIds));
+        });
+        expiredReservations.increment(expired.size());
+        return expired.size();
+    }
+}
@@ -1,8 +1,10 @@
 package com.yorku4413s25.leafwheels.services;
 
 import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
 import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface CartService {
@@ -12,4 +14,15 @@ public interface CartService {
     CartDto clearCart(UUID userId);
     CartDto incrementAccessoryInCart(UUID userId, UUID accessoryId);
     CartDto decrementAccessoryInCart(UUID userId, UUID accessoryId);
+
+    /**
+     * Applies the operations in order to the user's cart, all or none of them, and returns the resulting cart.
+     */
+    CartDto applyOperations(UUID userId, List<CartOperationDto> operations);
+
+    /**
+     * Makes sure the cart tables hold the latest state of the user's cart before they are read directly,
+     * e.g. at checkout.
+     */
+    void flushCart(UUID userId);
 }
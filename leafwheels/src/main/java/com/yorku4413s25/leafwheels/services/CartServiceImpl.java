@@ -6,6 +6,7 @@ import com.yorku4413s25.leafwheels.domain.Accessory;
 import com.yorku4413s25.leafwheels.domain.Cart;
 import com.yorku4413s25.leafwheels.domain.CartItem;
 import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
 import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
 import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
 import com.yorku4413s25.leafwheels.repositories.CartRepository;
@@ -13,12 +14,20 @@ import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
 import com.yorku4413s25.leafwheels.web.mappers.CartItemMapper;
 import com.yorku4413s25.leafwheels.web.mappers.CartMapper;
 import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
 import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,17 +36,24 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
 
+    static final int MAX_OPERATIONS = 100;
+
     private final CartRepository cartRepository;
     private final VehicleRepository vehicleRepository;
     private final AccessoryRepository accessoryRepository;
     private final CartMapper cartMapper;
     private final CartItemMapper cartItemMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${cart.reservation.ttl:30m}")
+    private Duration reservationTtl;
 
     @Override
     @Transactional
     public CartDto getCartByUserId(UUID userId) {
         return cartMapper.cartToCartDto(
-                cartRepository.findByUserId(userId)
+                cartRepository.findHydratedByUserId(userId)
                         .orElseGet(() -> createEmptyCart(userId))
         );
     }
@@ -46,21 +62,101 @@ public class CartServiceImpl implements CartService {
     @Transactional
     public CartDto addItemToCart(UUID userId, CreateCartItemDto dto) {
         validateCartItemDto(dto);
-        
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    Cart newCart = Cart.builder().userId(userId).items(new ArrayList<>()).build();
-                    return cartRepository.save(newCart);
-                });
+        Cart cart = cartRepository.findHydratedByUserId(userId)
+                .orElseGet(() -> createEmptyCart(userId));
+        addItem(cart, dto);
+        cartRepository.save(cart);
+        return cartMapper.cartToCartDto(cart);
+    }
 
-        if (dto.getType() == ItemType.VEHICLE) {
-            Vehicle vehicle = vehicleRepository.findById(dto.getVehicleId())
-                    .orElseThrow(() -> new EntityNotFoundException(dto.getVehicleId(), Vehicle.class));
+    @Override
+    @Transactional
+    public CartDto incrementAccessoryInCart(UUID userId, UUID accessoryId) {
+        Cart cart = cartRepository.findHydratedByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+        incrementAccessory(cart, accessoryId);
+        cartRepository.save(cart);
+        return cartMapper.cartToCartDto(cart);
+    }
+
+    @Override
+    @Transactional
+    public CartDto decrementAccessoryInCart(UUID userId, UUID accessoryId) {
+        Cart cart = cartRepository.findHydratedByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+        decrementAccessory(cart, accessoryId);
+        cartRepository.save(cart);
+        return cartMapper.cartToCartDto(cart);
+    }
+
+    @Override
+    @Transactional
+    public CartDto removeItemFromCart(UUID userId, UUID itemId) {
+        Cart cart = cartRepository.findHydratedByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+        removeItem(cart, itemId);
+        cartRepository.save(cart);
+        return cartMapper.cartToCartDto(cart);
+    }
+
+    @Override
+    @Transactional
+    public CartDto applyOperations(UUID userId, List<CartOperationDto> operations) {
+        validateOperations(operations);
+        Cart cart = cartRepository.findHydratedByUserId(userId)
+                .orElseGet(() -> createEmptyCart(userId));
 
-            if (vehicle.getStatus() != null && vehicle.getStatus() != VehicleStatus.AVAILABLE) {
-                throw new RuntimeException("Vehicle is not available.");
+        for (CartOperationDto operation : operations) {
+            switch (operation.getOp()) {
+                case ADD -> addItem(cart, operation.getItem());
+                case INCREMENT -> incrementAccessory(cart, operation.getAccessoryId());
+                case DECREMENT -> decrementAccessory(cart, operation.getAccessoryId());
+                case REMOVE -> removeItem(cart, operation.getItemId());
             }
+        }
+
+        cartRepository.save(cart);
+        return cartMapper.cartToCartDto(cart);
+    }
+
+    @Override
+    @Transactional
+    public CartDto clearCart(UUID userId) {
+        Cart cart = cartRepository.findHydratedByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+
+        for (CartItem item : cart.getItems()) {
+            if (item.getType() == ItemType.VEHICLE && item.getVehicle() != null) {
+                Vehicle vehicle = item.getVehicle();
+                vehicle.setStatus(VehicleStatus.AVAILABLE);
+                vehicleRepository.save(vehicle);
+            }
+        }
+        
+        cart.clearItems();
+
+        cartRepository.save(cart);
+        return cartMapper.cartToCartDto(cart);
+    }
+
+    @Override
+    public void flushCart(UUID userId) {
+        // carts are written through, nothing to flush
+    }
 
+    private Cart createEmptyCart(UUID userId) {
+        Cart cart = Cart.builder()
+                .userId(userId)
+                .items(new ArrayList<>())
+                .subtotal(BigDecimal.ZERO)
+                .itemCount(0)
+                .priceVersion(0L)
+                .build();
+        return cartRepository.save(cart);
+    }
+
+    private void addItem(Cart cart, CreateCartItemDto dto) {
+        if (dto.getType() == ItemType.VEHICLE) {
             boolean alreadyInCart = cart.getItems().stream()
                     .anyMatch(i -> i.getType() == ItemType.VEHICLE &&
                             i.getVehicle() != null &&
@@ -69,8 +165,7 @@ public class CartServiceImpl implements CartService {
                 throw new RuntimeException("This vehicle is already in your cart.");
             }
 
-            vehicle.setStatus(VehicleStatus.PENDING);
-            vehicleRepository.save(vehicle);
+            Vehicle vehicle = reserveVehicle(dto.getVehicleId());
 
             CartItem cartItem = CartItem.builder()
                     .cart(cart)
@@ -78,9 +173,10 @@ public class CartServiceImpl implements CartService {
                     .vehicle(vehicle)
                     .unitPrice(vehicle.getDiscountPrice() != null ? vehicle.getDiscountPrice() : vehicle.getPrice())
                     .quantity(1) // always 1 for vehicles
+                    .reservedUntil(Instant.now().plus(reservationTtl))
                     .build();
 
-            cart.getItems().add(cartItem);
+            cart.addItem(cartItem);
         } else if (dto.getType() == ItemType.ACCESSORY) {
             Accessory accessory = accessoryRepository.findById(dto.getAccessoryId())
                     .orElseThrow(() -> new RuntimeException("Accessory not found"));
@@ -104,7 +200,7 @@ public class CartServiceImpl implements CartService {
                 if (newQuantity > accessory.getQuantity()) {
                     throw new RuntimeException("Not enough accessory stock available for the new quantity.");
                 }
-                item.setQuantity(newQuantity);
+                cart.changeQuantity(item, newQuantity);
             } else {
                 CartItem cartItem = CartItem.builder()
                         .cart(cart)
@@ -113,62 +209,36 @@ public class CartServiceImpl implements CartService {
                         .unitPrice(accessory.getDiscountPrice() != null ? accessory.getDiscountPrice() : accessory.getPrice())
                         .quantity(dto.getQuantity())
                         .build();
-                cart.getItems().add(cartItem);
+                cart.addItem(cartItem);
             }
         } else {
             throw new RuntimeException("Invalid cart item type.");
         }
-
-        cartRepository.save(cart);
-
-        return cartMapper.cartToCartDto(cart);
     }
 
-    @Override
-    @Transactional
-    public CartDto incrementAccessoryInCart(UUID userId, UUID accessoryId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
-        CartItem cartItem = cart.getItems().stream()
-                .filter(i -> i.getType() == ItemType.ACCESSORY && i.getAccessory().getId().equals(accessoryId))
-                .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException(accessoryId, CartItem.class));
+    private void incrementAccessory(Cart cart, UUID accessoryId) {
+        CartItem cartItem = findAccessoryItem(cart, accessoryId);
         Accessory accessory = cartItem.getAccessory();
 
         if (cartItem.getQuantity() + 1 > accessory.getQuantity()) {
             throw new RuntimeException("Not enough accessory stock available.");
         }
-        cartItem.setQuantity(cartItem.getQuantity() + 1);
-        cartRepository.save(cart);
-        return cartMapper.cartToCartDto(cart);
+        cart.changeQuantity(cartItem, cartItem.getQuantity() + 1);
     }
 
-    @Override
-    @Transactional
-    public CartDto decrementAccessoryInCart(UUID userId, UUID accessoryId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
-        CartItem cartItem = cart.getItems().stream()
-                .filter(i -> i.getType() == ItemType.ACCESSORY && i.getAccessory().getId().equals(accessoryId))
-                .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException(accessoryId, CartItem.class));
+    private void decrementAccessory(Cart cart, UUID accessoryId) {
+        CartItem cartItem = findAccessoryItem(cart, accessoryId);
 
         if (cartItem.getQuantity() == 1) {
-            cart.getItems().remove(cartItem);
+            cart.removeItem(cartItem);
         } else {
-            cartItem.setQuantity(cartItem.getQuantity() - 1);
+            cart.changeQuantity(cartItem, cartItem.getQuantity() - 1);
         }
-        cartRepository.save(cart);
-        return cartMapper.cartToCartDto(cart);
     }
 
-    @Override
-    @Transactional
-    public CartDto removeItemFromCart(UUID userId, UUID itemId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+    private void removeItem(Cart cart, UUID itemId) {
         CartItem toRemove = cart.getItems().stream()
-                .filter(i -> i.getId().equals(itemId))
+                .filter(i -> itemId.equals(i.getId()))
                 .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException(itemId, CartItem.class));
 
@@ -178,40 +248,67 @@ public class CartServiceImpl implements CartService {
             vehicleRepository.save(vehicle);
         }
 
-        cart.getItems().remove(toRemove);
-        cartRepository.save(cart);
-        return cartMapper.cartToCartDto(cart);
+        cart.removeItem(toRemove);
     }
 
-    @Override
-    @Transactional
-    public CartDto clearCart(UUID userId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+    private CartItem findAccessoryItem(Cart cart, UUID accessoryId) {
+        return cart.getItems().stream()
+                .filter(i -> i.getType() == ItemType.ACCESSORY && i.getAccessory().getId().equals(accessoryId))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(accessoryId, CartItem.class));
+    }
 
-        for (CartItem item : cart.getItems()) {
-            if (item.getType() == ItemType.VEHICLE && item.getVehicle() != null) {
-                Vehicle vehicle = item.getVehicle();
-                vehicle.setStatus(VehicleStatus.AVAILABLE);
-                vehicleRepository.save(vehicle);
-            }
+    /**
+     * Reserves the vehicle with a single conditional update, so concurrent carts cannot both take it, and returns
+     * it in its PENDING state. The vehicle is refreshed because a copy loaded earlier in the transaction, e.g.
+     * through another cart line, would otherwise still read AVAILABLE with the version the update replaced.
+     */
+    private Vehicle reserveVehicle(UUID vehicleId) {
+        if (!vehicleRepository.reserveIfAvailable(vehicleId)) {
+            vehicleRepository.findById(vehicleId)
+                    .orElseThrow(() -> new EntityNotFoundException(vehicleId, Vehicle.class));
+            throw new RuntimeException("Vehicle is not available.");
         }
-        
-        cart.getItems().clear();
-
-        cartRepository.save(cart);
-        return cartMapper.cartToCartDto(cart);
+        eventPublisher.publishEvent(VehiclesChangedEvent.of(vehicleId));
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new EntityNotFoundException(vehicleId, Vehicle.class));
+        entityManager.refresh(vehicle);
+        return vehicle;
     }
 
-    private Cart createEmptyCart(UUID userId) {
-        Cart cart = Cart.builder()
-                .userId(userId)
-                .items(new ArrayList<>())
-                .build();
-        return cartRepository.save(cart);
+    static void validateOperations(List<CartOperationDto> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one cart operation is required");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_OPERATIONS + " cart operations are allowed per request");
+        }
+        for (CartOperationDto operation : operations) {
+            if (operation.getOp() == null) {
+                throw new IllegalArgumentException("op is required for every cart operation");
+            }
+            switch (operation.getOp()) {
+                case ADD -> {
+                    if (operation.getItem() == null) {
+                        throw new IllegalArgumentException("item is required for ADD cart operation");
+                    }
+                    validateCartItemDto(operation.getItem());
+                }
+                case INCREMENT, DECREMENT -> {
+                    if (operation.getAccessoryId() == null) {
+                        throw new IllegalArgumentException("accessoryId is required for " + operation.getOp() + " cart operation");
+                    }
+                }
+                case REMOVE -> {
+                    if (operation.getItemId() == null) {
+                        throw new IllegalArgumentException("itemId is required for REMOVE cart operation");
+                    }
+                }
+            }
+        }
     }
 
-    private void validateCartItemDto(CreateCartItemDto dto) {
+    static void validateCartItemDto(CreateCartItemDto dto) {
         if (dto.getType() == ItemType.VEHICLE) {
             if (dto.getVehicleId() == null) {
                 throw new IllegalArgumentException("vehicleId is required for VEHICLE type cart item");
@@ -0,0 +1,185 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.domain.CartChecksum;
+import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartItemDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Write-behind for {@link HotCartStore}: periodically takes dirty carts off the dirty set and writes their items to
+ * the carts and cart_items tables, a batch of carts per transaction. Carts that fail to write are put back on the
+ * dirty set and retried on the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.hot-store.enabled", havingValue = "true")
+@Slf4j
+public class HotCartFlusher {
+
+    private static final String DELETE_REMOVED_ITEMS = "DELETE FROM cart_items WHERE cart_id = ? AND NOT (id = ANY (?))";
+    /**
+     * The hot copy only adds items and changes quantities. Unit prices of existing items belong to the database,
+     * where repricing may have moved them since the cart was loaded.
+     */
+    private static final String UPSERT_ITEM = """
+            INSERT INTO cart_items (id, cart_id, type, vehicle_id, accessory_id, unit_price, quantity, reserved_until)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET quantity = EXCLUDED.quantity
+            """;
+    /**
+     * The subtotal comes from the stored prices, and the checksum of the hot copy is only kept if it was loaded at
+     * the current price version; otherwise it is cleared and recomputed on the next checkout.
+     */
+    private static final String TOUCH_CART = """
+            UPDATE carts SET updated_at = ?,
+                checksum_high = CASE WHEN COALESCE(price_version, 0) = ? THEN ? END,
+                checksum_low = CASE WHEN COALESCE(price_version, 0) = ? THEN ? END,
+                subtotal = (SELECT COALESCE(SUM(ci.unit_price * ci.quantity), 0) FROM cart_items ci WHERE ci.cart_id = carts.id),
+                item_count = ?, version = version + 1
+            WHERE id = ?
+            """;
+
+    private final HotCartStore hotCartStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final int batchSize;
+    private final Counter flushedCarts;
+    private final Counter failedFlushes;
+    private final Counter missingCarts;
+
+    public HotCartFlusher(HotCartStore hotCartStore,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${cart.hot-store.flush-batch-size:200}") int batchSize) {
+        this.hotCartStore = hotCartStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.flushedCarts = Counter.builder("leafwheels.cart.hot.flushed")
+                .description("Hot carts written back to the database")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("leafwheels.cart.hot.flush.failures")
+                .description("Hot cart write-backs that failed and were requeued")
+                .register(meterRegistry);
+        this.missingCarts = Counter.builder("leafwheels.cart.hot.flush.missing")
+                .description("Dirty hot carts whose hash was missing from Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes back every dirty cart. A batch that fails, and any dirty cart whose hash is gone, goes back on the
+     * dirty set once the pass is over, so one bad cart neither stops the pass nor gets popped again within it.
+     */
+    @Scheduled(fixedDelayString = "${cart.hot-store.flush-interval:2s}")
+    public void flushDirty() {
+        Set<UUID> requeue = new HashSet<>();
+        Set<UUID> userIds;
+        while (!(userIds = hotCartStore.popDirty(batchSize)).isEmpty()) {
+            try {
+                requeue.addAll(write(userIds));
+            } catch (RuntimeException e) {
+                failedFlushes.increment(userIds.size());
+                requeue.addAll(userIds);
+                log.warn("Failed to write back {} hot carts, will retry: {}", userIds.size(), e.getMessage());
+            }
+        }
+        hotCartStore.markDirty(requeue);
+    }
+
+    /**
+     * Writes one cart back right away so that code reading the cart tables sees its latest state. Does nothing if
+     * the cart has no unwritten changes.
+     */
+    public void flush(UUID userId) {
+        if (!hotCartStore.popDirty(userId)) {
+            return;
+        }
+        Set<UUID> missing;
+        try {
+            missing = write(Set.of(userId));
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            hotCartStore.markDirty(Set.of(userId));
+            throw e;
+        }
+        hotCartStore.markDirty(missing);
+    }
+
+    /**
+     * Writes the carts in one transaction and returns the users whose cart hash was missing from Redis.
+     */
+    private Set<UUID> write(Set<UUID> userIds) {
+        Map<UUID, CartDto> carts = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        for (UUID userId : userIds) {
+            hotCartStore.find(userId).ifPresentOrElse(cart -> carts.put(userId, cart), () -> missing.add(userId));
+        }
+        if (!missing.isEmpty()) {
+            missingCarts.increment(missing.size());
+            log.warn("Dirty hot carts of users {} have no hash in Redis, keeping them dirty", missing);
+        }
+        if (!carts.isEmpty()) {
+            flushTransaction.executeWithoutResult(status -> writeCarts(carts.values()));
+        }
+        flushedCarts.increment(carts.size());
+        carts.keySet().forEach(hotCartStore::markFlushed);
+        return missing;
+    }
+
+    private void writeCarts(Collection<CartDto> carts) {
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> touches = new ArrayList<>();
+        Timestamp now = Timestamp.from(Instant.now());
+
+        for (CartDto cart : carts) {
+            deletes.add(new Object[]{cart.getId(), cart.getItems().stream().map(CartItemDto::getId).toArray(UUID[]::new)});
+            CartChecksum checksum = CartChecksum.ZERO;
+            for (CartItemDto item : cart.getItems()) {
+                UUID productId = item.getType() == ItemType.VEHICLE ? item.getVehicle().getId() : item.getAccessory().getId();
+                checksum = checksum.plus(CartChecksum.of(item.getType(), productId, item.getUnitPrice(), item.getQuantity()));
+                upserts.add(new Object[]{
+                        item.getId(),
+                        cart.getId(),
+                        item.getType().name(),
+                        item.getType() == ItemType.VEHICLE ? productId : null,
+                        item.getType() == ItemType.ACCESSORY ? productId : null,
+                        item.getUnitPrice(),
+                        item.getQuantity(),
+                        item.getReservedUntil() != null ? Timestamp.from(item.getReservedUntil()) : null
+                });
+            }
+            touches.add(new Object[]{now, cart.getPriceVersion(), checksum.high(), cart.getPriceVersion(), checksum.low(),
+                    cart.getItemCount(), cart.getId()});
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_REMOVED_ITEMS, deletes);
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ITEM, upserts);
+        }
+        jdbcTemplate.batchUpdate(TOUCH_CART, touches);
+    }
+}
@@ -0,0 +1,255 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.events.CartReservationsExpiringEvent;
+import com.yorku4413s25.leafwheels.events.CartsRepricedEvent;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.AccessoryMapper;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleMapper;
+import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartItemDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
+import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cart service used when {@code cart.hot-store.enabled=true}. Carts are read and changed in {@link HotCartStore}
+ * and written back by {@link HotCartFlusher}; the database-backed {@link CartServiceImpl} only loads carts that are
+ * not hot yet. Vehicle reservations still change the vehicle row synchronously, and a rolled back reservation
+ * takes the vehicle back out of the hot cart.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "cart.hot-store.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class HotCartServiceImpl implements CartService {
+
+    private static final int EVICT_ATTEMPTS = 3;
+
+    private final CartServiceImpl databaseCarts;
+    private final HotCartStore hotCartStore;
+    private final HotCartFlusher hotCartFlusher;
+    private final VehicleRepository vehicleRepository;
+    private final AccessoryRepository accessoryRepository;
+    private final VehicleMapper vehicleMapper;
+    private final AccessoryMapper accessoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${cart.reservation.ttl:30m}")
+    private Duration reservationTtl;
+
+    @Override
+    public CartDto getCartByUserId(UUID userId) {
+        return hotCartStore.get(userId, loader(userId));
+    }
+
+    @Override
+    @Transactional
+    public CartDto addItemToCart(UUID userId, CreateCartItemDto dto) {
+        CartServiceImpl.validateCartItemDto(dto);
+
+        if (dto.getType() == ItemType.VEHICLE) {
+            boolean inCart = hotCartStore.get(userId, loader(userId)).getItems().stream()
+                    .anyMatch(item -> item.getType() == ItemType.VEHICLE
+                            && item.getVehicle() != null
+                            && dto.getVehicleId().equals(item.getVehicle().getId()));
+            if (inCart) {
+                throw new RuntimeException("This vehicle is already in your cart.");
+            }
+            if (!vehicleRepository.reserveIfAvailable(dto.getVehicleId())) {
+                vehicleRepository.findById(dto.getVehicleId())
+                        .orElseThrow(() -> new EntityNotFoundException(dto.getVehicleId(), Vehicle.class));
+                throw new RuntimeException("Vehicle is not available.");
+            }
+            eventPublisher.publishEvent(VehiclesChangedEvent.of(dto.getVehicleId()));
+            Vehicle vehicle = vehicleRepository.findById(dto.getVehicleId())
+                    .orElseThrow(() -> new EntityNotFoundException(dto.getVehicleId(), Vehicle.class));
+            // the cart loader may have put a pre-reservation copy of the vehicle in the persistence context
+            entityManager.refresh(vehicle);
+
+            CartItemDto item = CartItemDto.builder()
+                    .id(UUID.randomUUID())
+                    .type(ItemType.VEHICLE)
+                    .vehicle(vehicleMapper.vehicleToVehicleDto(vehicle))
+                    .unitPrice(vehicle.getDiscountPrice() != null ? vehicle.getDiscountPrice() : vehicle.getPrice())
+                    .quantity(1)
+                    .reservedUntil(Instant.now().plus(reservationTtl))
+                    .build();
+            HotCartStore.Mutation mutation;
+            try {
+                mutation = hotCartStore.adjust(userId, ItemType.VEHICLE, vehicle.getId(), item, 1, 1, loader(userId));
+            } catch (IllegalStateException e) {
+                throw new RuntimeException("This vehicle is already in your cart.");
+            }
+
+            TransactionCallbacks.afterRollback(() ->
+                    hotCartStore.adjust(userId, ItemType.VEHICLE, vehicle.getId(), null, -1, 1, loader(userId)));
+            return mutation.cart();
+        }
+
+        Accessory accessory = accessoryRepository.findById(dto.getAccessoryId())
+                .orElseThrow(() -> new RuntimeException("Accessory not found"));
+        if (dto.getQuantity() <= 0) {
+            throw new RuntimeException("Quantity must be greater than zero.");
+        }
+        if (dto.getQuantity() > accessory.getQuantity()) {
+            throw new RuntimeException("Not enough accessory stock available.");
+        }
+
+        CartItemDto item = CartItemDto.builder()
+                .id(UUID.randomUUID())
+                .type(ItemType.ACCESSORY)
+                .accessory(accessoryMapper.accessoryToAccessoryDto(accessory))
+                .unitPrice(accessory.getDiscountPrice() != null ? accessory.getDiscountPrice() : accessory.getPrice())
+                .quantity(dto.getQuantity())
+                .build();
+        try {
+            return hotCartStore.adjust(userId, ItemType.ACCESSORY, accessory.getId(), item, dto.getQuantity(),
+                    accessory.getQuantity(), loader(userId)).cart();
+        } catch (IllegalStateException e) {
+            throw new RuntimeException("Not enough accessory stock available for the new quantity.");
+        }
+    }
+
+    @Override
+    public CartDto incrementAccessoryInCart(UUID userId, UUID accessoryId) {
+        Accessory accessory = accessoryRepository.findById(accessoryId)
+                .orElseThrow(() -> new EntityNotFoundException(accessoryId, CartItem.class));
+        try {
+            return hotCartStore.adjust(userId, ItemType.ACCESSORY, accessoryId, null, 1, accessory.getQuantity(),
+                    loader(userId)).cart();
+        } catch (NoSuchElementException e) {
+            throw new EntityNotFoundException(accessoryId, CartItem.class);
+        } catch (IllegalStateException e) {
+            throw new RuntimeException("Not enough accessory stock available.");
+        }
+    }
+
+    @Override
+    public CartDto decrementAccessoryInCart(UUID userId, UUID accessoryId) {
+        try {
+            return hotCartStore.adjust(userId, ItemType.ACCESSORY, accessoryId, null, -1, Integer.MAX_VALUE,
+                    loader(userId)).cart();
+        } catch (NoSuchElementException e) {
+            throw new EntityNotFoundException(accessoryId, CartItem.class);
+        }
+    }
+
+    @Override
+    @Transactional
+    public CartDto removeItemFromCart(UUID userId, UUID cartItemId) {
+        HotCartStore.Mutation mutation;
+        try {
+            mutation = hotCartStore.remove(userId, cartItemId, loader(userId));
+        } catch (NoSuchElementException e) {
+            throw new EntityNotFoundException(cartItemId, CartItem.class);
+        }
+        releaseVehicles(List.of(mutation.removed()));
+        return mutation.cart();
+    }
+
+    @Override
+    @Transactional
+    public CartDto clearCart(UUID userId) {
+        releaseVehicles(hotCartStore.clear(userId, loader(userId)));
+        return hotCartStore.get(userId, loader(userId));
+    }
+
+    /**
+     * Batches run against the database in one transaction, so a failing operation undoes the ones before it. The
+     * hot copy is written back and dropped first, and dropped again once the batch completes in case a concurrent
+     * read reloaded it in between. A hot change that lands between the write-back and the drop keeps the hot copy,
+     * so the write-back is repeated until the cart is clean.
+     */
+    @Override
+    @Transactional
+    public CartDto applyOperations(UUID userId, List<CartOperationDto> operations) {
+        CartServiceImpl.validateOperations(operations);
+        flushAndEvict(userId);
+        CartDto cart = databaseCarts.applyOperations(userId, operations);
+        TransactionCallbacks.afterCompletion(() -> hotCartStore.evict(userId));
+        return cart;
+    }
+
+    @Override
+    public void flushCart(UUID userId) {
+        hotCartFlusher.flush(userId);
+    }
+
+    /**
+     * Repriced carts are reloaded on their next access. A cart changed since the repricing flushed it keeps its hot
+     * copy until those changes are written, then drops it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartsRepriced(CartsRepricedEvent event) {
+        event.userIds().forEach(hotCartStore::evict);
+    }
+
+    @EventListener
+    public void onReservationsExpiring(CartReservationsExpiringEvent event) {
+        event.itemIdsByUser().forEach((userId, itemIds) -> {
+            if (hotCartStore.find(userId).isEmpty()) {
+                return;
+            }
+            for (UUID itemId : itemIds) {
+                try {
+                    hotCartStore.remove(userId, itemId, loader(userId));
+                } catch (NoSuchElementException e) {
+                    // already removed by the user
+                }
+            }
+            hotCartFlusher.flush(userId);
+        });
+    }
+
+    private void flushAndEvict(UUID userId) {
+        for (int attempt = 0; attempt < EVICT_ATTEMPTS; attempt++) {
+            hotCartFlusher.flush(userId);
+            if (hotCartStore.evict(userId)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Cart is being changed by another request, please try again.");
+    }
+
+    private Supplier<CartDto> loader(UUID userId) {
+        return () -> databaseCarts.getCartByUserId(userId);
+    }
+
+    private void releaseVehicles(List<CartItemDto> items) {
+        List<UUID> vehicleIds = items.stream()
+                .filter(item -> item.getType() == ItemType.VEHICLE && item.getVehicle() != null)
+                .map(item -> item.getVehicle().getId())
+                .toList();
+        if (vehicleIds.isEmpty()) {
+            return;
+        }
+        vehicleRepository.releaseReservations(vehicleIds, Instant.now(), VehicleStatus.PENDING, VehicleStatus.AVAILABLE);
+        eventPublisher.publishEvent(new VehiclesChangedEvent(Set.copyOf(vehicleIds)));
+    }
+}
@@ -0,0 +1,368 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartItemDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps active carts in Redis so that cart reads and quantity changes never touch Postgres. Each cart is one hash
+ * keyed by userId:
+ * <pre>
+ *   id              cart id
+ *   ref:{v|a}:{pid} item id of the vehicle or accessory with that id
+ *   item:{itemId}   the CartItemDto as JSON, including the product snapshot
+ *   qty:{itemId}    quantity
+ *   own:{itemId}    the ref field pointing back at the item
+ *   stale           present once the database copy changed under a dirty cart; the hash is dropped after its flush
+ * </pre>
+ * Every mutation runs as one Lua script that changes the hash, adds the user to the dirty set and returns the
+ * resulting hash, so concurrent requests for the same cart cannot interleave. {@link HotCartFlusher} writes
+ * dirty carts back to the database; clean carts expire after the idle TTL and are reloaded on the next access.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.hot-store.enabled", havingValue = "true")
+public class HotCartStore {
+
+    static final String DIRTY_KEY = "leafwheels:cart:dirty";
+    private static final String KEY_PREFIX = "leafwheels:cart:";
+
+    private static final String NOT_HOT = "NOT_HOT";
+    private static final String NOT_IN_CART = "NOT_IN_CART";
+    private static final String LIMIT_EXCEEDED = "LIMIT_EXCEEDED";
+    private static final String OK = "OK";
+
+    private static final String MARK_DIRTY_AND_RETURN = """
+            redis.call('SADD', KEYS[2], ARGV[1])
+            redis.call('PERSIST', KEYS[1])
+            local result = redis.call('HGETALL', KEYS[1])
+            table.insert(result, 1, removed)
+            table.insert(result, 1, 'OK')
+            return result
+            """;
+
+    /**
+     * ARGV: userId, product ref, delta, limit, new item id, new item JSON (empty when the item must already exist).
+     */
+    private static final RedisScript<List> ADJUST = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'id') == 0 then return {'NOT_HOT'} end
+            local ref = 'ref:' .. ARGV[2]
+            local itemId = redis.call('HGET', KEYS[1], ref)
+            local current = 0
+            if itemId then
+              current = tonumber(redis.call('HGET', KEYS[1], 'qty:' .. itemId))
+            elseif ARGV[6] == '' then
+              return {'NOT_IN_CART'}
+            end
+            local updated = current + tonumber(ARGV[3])
+            if updated > tonumber(ARGV[4]) then return {'LIMIT_EXCEEDED'} end
+            local removed = ''
+            if not itemId then
+              itemId = ARGV[5]
+              redis.call('HSET', KEYS[1], ref, itemId, 'item:' .. itemId, ARGV[6], 'qty:' .. itemId, updated,
+                'own:' .. itemId, ref)
+            elseif updated <= 0 then
+              removed = redis.call('HGET', KEYS[1], 'item:' .. itemId)
+              redis.call('HDEL', KEYS[1], ref, 'item:' .. itemId, 'qty:' .. itemId, 'own:' .. itemId)
+            else
+              redis.call('HSET', KEYS[1], 'qty:' .. itemId, updated)
+            end
+            """ + MARK_DIRTY_AND_RETURN, List.class);
+
+    /**
+     * ARGV: userId, item id.
+     */
+    private static final RedisScript<List> REMOVE = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'id') == 0 then return {'NOT_HOT'} end
+            local ref = redis.call('HGET', KEYS[1], 'own:' .. ARGV[2])
+            if not ref then return {'NOT_IN_CART'} end
+            local removed = redis.call('HGET', KEYS[1], 'item:' .. ARGV[2])
+            redis.call('HDEL', KEYS[1], ref, 'item:' .. ARGV[2], 'qty:' .. ARGV[2], 'own:' .. ARGV[2])
+            """ + MARK_DIRTY_AND_RETURN, List.class);
+
+    /**
+     * ARGV: userId. Returns the items that were removed as JSON.
+     */
+    private static final RedisScript<List> CLEAR = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'id') == 0 then return {'NOT_HOT'} end
+            local fields = redis.call('HGETALL', KEYS[1])
+            local removed = {'OK'}
+            for i = 1, #fields, 2 do
+              if fields[i] ~= 'id' and fields[i] ~= 'pv' and fields[i] ~= 'stale' then
+                redis.call('HDEL', KEYS[1], fields[i])
+                if string.sub(fields[i], 1, 5) == 'item:' then table.insert(removed, fields[i + 1]) end
+              end
+            end
+            redis.call('SADD', KEYS[2], ARGV[1])
+            redis.call('PERSIST', KEYS[1])
+            return removed
+            """, List.class);
+
+    /**
+     * ARGV: idle TTL in seconds, then field/value pairs. Does nothing if another request loaded the cart first.
+     */
+    private static final RedisScript<Long> HYDRATE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * ARGV: userId, idle TTL in seconds. Only starts the idle timer if nothing changed since the flush began, and
+     * drops a stale hash instead.
+     */
+    private static final RedisScript<Long> FLUSHED = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then return 0 end
+            if redis.call('HEXISTS', KEYS[1], 'stale') == 1 then return redis.call('DEL', KEYS[1]) end
+            return redis.call('EXPIRE', KEYS[1], ARGV[2])
+            """, Long.class);
+
+    /**
+     * ARGV: userId. Drops the hash unless it holds unwritten changes, in which case it is marked stale so the flush
+     * of those changes drops it. Returns 1 if the cart was clean.
+     */
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then
+              redis.call('HSET', KEYS[1], 'stale', '1')
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration idleTtl;
+
+    public HotCartStore(RedisTemplate<String, Object> redisTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${cart.hot-store.idle-ttl:2h}") Duration idleTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.idleTtl = idleTtl;
+    }
+
+    /**
+     * Returns the cart if it is currently held in Redis.
+     */
+    public Optional<CartDto> find(UUID userId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(userId));
+        if (!fields.containsKey("id")) {
+            return Optional.empty();
+        }
+        Map<String, String> hash = new LinkedHashMap<>();
+        fields.forEach((field, value) -> hash.put(field.toString(), value.toString()));
+        return Optional.of(toCart(userId, hash));
+    }
+
+    /**
+     * Returns the hot cart, copying it in from the database with the loader first if needed.
+     */
+    public CartDto get(UUID userId, Supplier<CartDto> loader) {
+        return find(userId).orElseGet(() -> {
+            hydrate(loader.get());
+            return find(userId).orElseThrow(() -> new IllegalStateException("Cart for user " + userId + " could not be loaded"));
+        });
+    }
+
+    /**
+     * Adds delta to the quantity of the product, creating the item from newItem if the cart does not hold it yet
+     * and removing it when the quantity drops to zero.
+     *
+     * @throws IllegalStateException if the new quantity would exceed the limit
+     * @throws NoSuchElementException if newItem is null and the product is not in the cart
+     */
+    public Mutation adjust(UUID userId, ItemType type, UUID productId, CartItemDto newItem, int delta, int limit,
+                           Supplier<CartDto> loader) {
+        String newItemId = newItem != null ? newItem.getId().toString() : "";
+        String newItemJson = newItem != null ? write(newItem) : "";
+        return run(ADJUST, userId, loader, ref(type, productId), String.valueOf(delta), String.valueOf(limit),
+                newItemId, newItemJson);
+    }
+
+    /**
+     * @throws NoSuchElementException if the cart has no item with that id
+     */
+    public Mutation remove(UUID userId, UUID itemId, Supplier<CartDto> loader) {
+        return run(REMOVE, userId, loader, itemId.toString());
+    }
+
+    /**
+     * Empties the cart and returns the items it held.
+     */
+    public List<CartItemDto> clear(UUID userId, Supplier<CartDto> loader) {
+        List<?> result = execute(CLEAR, userId);
+        if (NOT_HOT.equals(result.get(0))) {
+            hydrate(loader.get());
+            result = execute(CLEAR, userId);
+        }
+        return result.stream().skip(1).map(json -> read(json.toString())).toList();
+    }
+
+    /**
+     * Takes up to max dirty carts off the dirty set. Callers own writing them back and must return them with
+     * {@link #markDirty} if that fails.
+     */
+    public Set<UUID> popDirty(int max) {
+        List<Object> popped = redisTemplate.opsForSet().pop(DIRTY_KEY, max);
+        if (popped == null) {
+            return Set.of();
+        }
+        return popped.stream().map(id -> UUID.fromString(id.toString())).collect(Collectors.toSet());
+    }
+
+    /**
+     * Takes one cart off the dirty set, returning whether it was dirty.
+     */
+    public boolean popDirty(UUID userId) {
+        Long removed = redisTemplate.opsForSet().remove(DIRTY_KEY, userId.toString());
+        return removed != null && removed > 0;
+    }
+
+    public void markDirty(Collection<UUID> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().add(DIRTY_KEY, userIds.stream().map(UUID::toString).toArray());
+        }
+    }
+
+    public void markFlushed(UUID userId) {
+        redisTemplate.execute(FLUSHED, List.of(key(userId), DIRTY_KEY), userId.toString(),
+                String.valueOf(idleTtl.toSeconds()));
+    }
+
+    /**
+     * Drops the hot copy so the next access reloads the cart from the database. A cart with unwritten changes is
+     * kept until {@link HotCartFlusher} has written them, since dropping it would lose them.
+     *
+     * @return whether the cart was clean and is gone now
+     */
+    public boolean evict(UUID userId) {
+        Long clean = redisTemplate.execute(EVICT, List.of(key(userId), DIRTY_KEY), userId.toString());
+        return clean != null && clean == 1;
+    }
+
+    private void hydrate(CartDto cart) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(idleTtl.toSeconds()));
+        args.add("id");
+        args.add(cart.getId().toString());
+        args.add("pv");
+        args.add(String.valueOf(cart.getPriceVersion()));
+        for (CartItemDto item : cart.getItems() != null ? cart.getItems() : List.<CartItemDto>of()) {
+            String itemId = item.getId().toString();
+            String ref = item.getType() == ItemType.VEHICLE
+                    ? ref(ItemType.VEHICLE, item.getVehicle().getId())
+                    : ref(ItemType.ACCESSORY, item.getAccessory().getId());
+            args.addAll(List.of("ref:" + ref, itemId, "item:" + itemId, write(item),
+                    "qty:" + itemId, String.valueOf(item.getQuantity()), "own:" + itemId, "ref:" + ref));
+        }
+        redisTemplate.execute(HYDRATE, List.of(key(cart.getUserId())), args.toArray());
+    }
+
+    private Mutation run(RedisScript<List> script, UUID userId, Supplier<CartDto> loader, String... args) {
+        List<?> result = execute(script, userId, args);
+        if (NOT_HOT.equals(result.get(0))) {
+            hydrate(loader.get());
+            result = execute(script, userId, args);
+        }
+
+        String status = result.get(0).toString();
+        if (NOT_IN_CART.equals(status)) {
+            throw new NoSuchElementException("Item is not in the cart");
+        }
+        if (LIMIT_EXCEEDED.equals(status)) {
+            throw new IllegalStateException("Quantity limit exceeded");
+        }
+        if (!OK.equals(status)) {
+            throw new IllegalStateException("Unexpected cart script result " + status);
+        }
+
+        String removedJson = result.get(1).toString();
+        Map<String, String> hash = new LinkedHashMap<>();
+        for (int i = 2; i + 1 < result.size(); i += 2) {
+            hash.put(result.get(i).toString(), result.get(i + 1).toString());
+        }
+        return new Mutation(toCart(userId, hash), removedJson.isEmpty() ? null : read(removedJson));
+    }
+
+    private List<?> execute(RedisScript<List> script, UUID userId, String... args) {
+        Object[] argv = new Object[args.length + 1];
+        argv[0] = userId.toString();
+        System.arraycopy(args, 0, argv, 1, args.length);
+        return redisTemplate.execute(script, List.of(key(userId), DIRTY_KEY), argv);
+    }
+
+    private CartDto toCart(UUID userId, Map<String, String> hash) {
+        List<CartItemDto> items = new ArrayList<>();
+        hash.forEach((field, value) -> {
+            if (field.startsWith("item:")) {
+                CartItemDto item = read(value);
+                item.setQuantity(Integer.parseInt(hash.get("qty:" + item.getId())));
+                items.add(item);
+            }
+        });
+        BigDecimal total = items.stream()
+                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return CartDto.builder()
+                .id(UUID.fromString(hash.get("id")))
+                .userId(userId)
+                .items(items)
+                .totalPrice(total)
+                .itemCount(items.stream().mapToInt(CartItemDto::getQuantity).sum())
+                .priceVersion(Long.parseLong(hash.getOrDefault("pv", "0")))
+                .build();
+    }
+
+    private String write(CartItemDto item) {
+        try {
+            return objectMapper.writeValueAsString(item);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize cart item " + item.getId(), e);
+        }
+    }
+
+    private CartItemDto read(String json) {
+        try {
+            return objectMapper.readValue(json, CartItemDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt cart item in Redis", e);
+        }
+    }
+
+    private static String ref(ItemType type, UUID productId) {
+        return (type == ItemType.VEHICLE ? "v:" : "a:") + productId;
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    /**
+     * The cart after a mutation, and the item the mutation removed, if any.
+     */
+    public record Mutation(CartDto cart, CartItemDto removed) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import com.yorku4413s25.leafwheels.events.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers outbox events to {@code @EventListener}s of {@link OutboxMessage} in this JVM, for running without
+ * Redis. Listeners run on the relay thread, one event at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalOutboxPublisher implements OutboxPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            eventPublisher.publishEvent(new OutboxMessage(event.getId(), event.getAggregateType(),
+                    event.getAggregateId(), event.getType(), event.getPayload(), event.getCreatedAt()));
+        }
+    }
+}
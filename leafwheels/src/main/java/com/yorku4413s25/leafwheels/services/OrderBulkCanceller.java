@@ -0,0 +1,120 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersRequestDto;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersResultDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cancels every order matching a filter, a chunk at a time. Each chunk locks its orders and is handled with a few
+ * bulk statements in its own transaction: the vehicles go back to AVAILABLE with one update, the accessory
+ * quantities are summed per accessory and put back in stock with another, and the orders are marked CANCELED and
+ * get their ORDER_CANCELED outbox events.
+ * <p>
+ * Only unpaid orders qualify: PLACED orders whose payment is not PENDING. Paid orders need a refund and are
+ * cancelled one at a time through the payment service, and an order with a payment in flight is left to it.
+ */
+@Component
+@Slf4j
+public class OrderBulkCanceller {
+
+    private final OrderRepository orderRepository;
+    private final VehicleRepository vehicleRepository;
+    private final AccessoryRepository accessoryRepository;
+    private final OrderStatistics orderStatistics;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter orderCancellationsCounter;
+
+    public OrderBulkCanceller(OrderRepository orderRepository,
+                              VehicleRepository vehicleRepository,
+                              AccessoryRepository accessoryRepository,
+                              OrderStatistics orderStatistics,
+                              OutboxWriter outboxWriter,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.bulk-cancel.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.accessoryRepository = accessoryRepository;
+        this.orderStatistics = orderStatistics;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.orderCancellationsCounter = Counter.builder("leafwheels.orders.cancelled")
+                .description("Number of orders cancelled")
+                .register(meterRegistry);
+    }
+
+    public BulkCancelOrdersResultDto cancel(BulkCancelOrdersRequestDto filter) {
+        OrderStatus status = filter.getStatus() != null ? filter.getStatus() : OrderStatus.PLACED;
+        if (status != OrderStatus.PLACED) {
+            throw new IllegalArgumentException("Only PLACED orders can be cancelled in bulk, not " + status);
+        }
+        Instant placedBefore = filter.getPlacedBefore() != null ? filter.getPlacedBefore() : Instant.now();
+
+        BulkCancelOrdersResultDto result = new BulkCancelOrdersResultDto();
+        // A chunk can come back short while more orders match, because locked orders are skipped, so only an
+        // empty chunk ends the run.
+        Chunk chunk;
+        while ((chunk = cancelChunk(status, placedBefore, filter.getUserId())).canceled() > 0) {
+            result.setCanceled(result.getCanceled() + chunk.canceled());
+            result.setVehiclesReleased(result.getVehiclesReleased() + chunk.vehiclesReleased());
+            result.setAccessoriesRestocked(result.getAccessoriesRestocked() + chunk.accessoriesRestocked());
+            result.setChunks(result.getChunks() + 1);
+            orderCancellationsCounter.increment(chunk.canceled());
+            log.info("Bulk cancel of {} orders placed before {}: {} cancelled in {} chunks",
+                    status, placedBefore, result.getCanceled(), result.getChunks());
+        }
+
+        return result;
+    }
+
+    Chunk cancelChunk(OrderStatus status, Instant placedBefore, UUID userId) {
+        return transactionTemplate.execute(tx -> {
+            List<UUID> orderIds = orderRepository.lockIdsForUpdate(status, placedBefore, userId, chunkSize);
+            if (orderIds.isEmpty()) {
+                return new Chunk(0, 0, 0);
+            }
+            Instant now = Instant.now();
+
+            int vehiclesReleased = 0;
+            List<UUID> vehicleIds = orderRepository.findVehicleIdsByOrderIdIn(orderIds);
+            if (!vehicleIds.isEmpty()) {
+                vehiclesReleased = vehicleRepository.updateStatusByIdIn(vehicleIds, now, VehicleStatus.AVAILABLE);
+                eventPublisher.publishEvent(new VehiclesChangedEvent(new HashSet<>(vehicleIds)));
+            }
+            int accessoriesRestocked = accessoryRepository.restockFromOrders(orderIds, now);
+
+            orderRepository.updateStatusByIdIn(orderIds, now, OrderStatus.CANCELED);
+            orderStatistics.recordTransition(status, OrderStatus.CANCELED, orderIds.size());
+            outboxWriter.ordersChanged(orderRepository.findChangedEventsByIdIn(orderIds), OutboxEventType.ORDER_CANCELED);
+            return new Chunk(orderIds.size(), vehiclesReleased, accessoriesRestocked);
+        });
+    }
+
+    record Chunk(int canceled, int vehiclesReleased, int accessoriesRestocked) {
+    }
+}
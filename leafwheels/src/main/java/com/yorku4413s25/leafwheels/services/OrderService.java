@@ -1,7 +1,9 @@
 package com.yorku4413s25.leafwheels.services;
 
 import com.yorku4413s25.leafwheels.web.models.CreateOrderRequestDto;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
 import com.yorku4413s25.leafwheels.web.models.OrderDto;
+import com.yorku4413s25.leafwheels.web.models.OrderSummaryDto;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,6 +12,7 @@ public interface OrderService {
     OrderDto createOrder(UUID userId, CreateOrderRequestDto dto);
     OrderDto getOrderById(UUID orderId);
     List<OrderDto> getOrdersByUserId(UUID userId);
+    CursorPageDto<OrderSummaryDto> getOrderSummariesByUserId(UUID userId, String cursor, int size);
     OrderDto createOrderFromCart(UUID userId);
     void cancelOrder(UUID orderId);
 }
@@ -2,6 +2,7 @@ package com.yorku4413s25.leafwheels.services;
 
 import com.yorku4413s25.leafwheels.constants.ItemType;
 import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
 import com.yorku4413s25.leafwheels.domain.*;
 import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
@@ -13,33 +14,46 @@ import com.yorku4413s25.leafwheels.web.mappers.OrderItemMapper;
 import com.yorku4413s25.leafwheels.web.mappers.OrderMapper;
 import com.yorku4413s25.leafwheels.web.models.CreateOrderItemDto;
 import com.yorku4413s25.leafwheels.web.models.CreateOrderRequestDto;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
 import com.yorku4413s25.leafwheels.web.models.OrderDto;
+import com.yorku4413s25.leafwheels.web.models.OrderSummaryDto;
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    static final int MAX_SUMMARY_PAGE_SIZE = 100;
+    private static final String SUMMARY_CURSOR_PROPERTY = "createdAt";
+
     private final OrderRepository orderRepository;
     private final VehicleRepository vehicleRepository;
     private final AccessoryRepository accessoryRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
     private final CartRepository cartRepository;
+    private final CartService cartService;
+    private final AccessoryInventoryService accessoryInventory;
+    private final OrderStatistics orderStatistics;
+    private final OutboxWriter outboxWriter;
     private final MeterRegistry meterRegistry;
     
     private final Counter orderCreationsCounter;
     private final Counter orderCancellationsCounter;
-    private final Gauge totalOrdersGauge;
     
     public OrderServiceImpl(OrderRepository orderRepository,
                            VehicleRepository vehicleRepository,
@@ -47,6 +61,10 @@ public class OrderServiceImpl implements OrderService {
                            OrderMapper orderMapper,
                            OrderItemMapper orderItemMapper,
                            CartRepository cartRepository,
+                           CartService cartService,
+                           AccessoryInventoryService accessoryInventory,
+                           OrderStatistics orderStatistics,
+                           OutboxWriter outboxWriter,
                            MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.vehicleRepository = vehicleRepository;
@@ -54,6 +72,10 @@ public class OrderServiceImpl implements OrderService {
         this.orderMapper = orderMapper;
         this.orderItemMapper = orderItemMapper;
         this.cartRepository = cartRepository;
+        this.cartService = cartService;
+        this.accessoryInventory = accessoryInventory;
+        this.orderStatistics = orderStatistics;
+        this.outboxWriter = outboxWriter;
         this.meterRegistry = meterRegistry;
         
         this.orderCreationsCounter = Counter.builder("leafwheels.orders.created")
@@ -62,9 +84,6 @@ public class OrderServiceImpl implements OrderService {
         this.orderCancellationsCounter = Counter.builder("leafwheels.orders.cancelled")
                 .description("Number of orders cancelled")
                 .register(meterRegistry);
-        this.totalOrdersGauge = Gauge.builder("leafwheels.orders.total", this, service -> service.orderRepository.count())
-                .description("Total number of orders")
-                .register(meterRegistry);
     }
 
     @Override
@@ -73,7 +92,12 @@ public class OrderServiceImpl implements OrderService {
         if (dto.getItems() == null || dto.getItems().isEmpty())
             throw new IllegalArgumentException("Order must have at least one item");
 
+        Map<UUID, Vehicle> vehicles = new HashMap<>();
+        Map<UUID, Accessory> accessories = new HashMap<>();
+        resolveProducts(dto.getItems(), vehicles, accessories);
+
         List<OrderItem> orderItems = new ArrayList<>();
+        Map<UUID, Integer> accessoryQuantities = new TreeMap<>();
         BigDecimal total = BigDecimal.ZERO;
 
         for (CreateOrderItemDto itemDto : dto.getItems()) {
@@ -82,31 +106,31 @@ public class OrderServiceImpl implements OrderService {
                     .quantity(itemDto.getQuantity());
 
             if (itemDto.getType() == ItemType.VEHICLE) {
-                if (itemDto.getVehicleId() == null)
-                    throw new IllegalArgumentException("vehicleId required");
-                Vehicle vehicle = vehicleRepository.findById(itemDto.getVehicleId())
-                        .orElseThrow(() -> new EntityNotFoundException(itemDto.getVehicleId(), Vehicle.class));
+                Vehicle vehicle = vehicles.get(itemDto.getVehicleId());
+                if (vehicle == null)
+                    throw new EntityNotFoundException(itemDto.getVehicleId(), Vehicle.class);
                 itemBuilder.vehicle(vehicle).accessory(null);
                 itemBuilder.unitPrice(vehicle.getPrice());
                 itemBuilder.quantity(1);
                 total = total.add(vehicle.getPrice());
-            } else if (itemDto.getType() == ItemType.ACCESSORY) {
-                if (itemDto.getAccessoryId() == null)
-                    throw new IllegalArgumentException("accessoryId required");
-                Accessory accessory = accessoryRepository.findById(itemDto.getAccessoryId())
-                        .orElseThrow(() -> new EntityNotFoundException(itemDto.getAccessoryId(), Accessory.class));
+            } else {
+                Accessory accessory = accessories.get(itemDto.getAccessoryId());
+                if (accessory == null)
+                    throw new EntityNotFoundException(itemDto.getAccessoryId(), Accessory.class);
+                accessoryQuantities.merge(accessory.getId(), itemDto.getQuantity(), Integer::sum);
                 itemBuilder.accessory(accessory).vehicle(null);
                 BigDecimal price = accessory.getPrice();
                 itemBuilder.unitPrice(price);
                 total = total.add(price.multiply(BigDecimal.valueOf(itemDto.getQuantity())));
-            } else {
-                throw new IllegalArgumentException("Unsupported order item type: " + itemDto.getType());
             }
 
             OrderItem item = itemBuilder.build();
             orderItems.add(item);
         }
 
+        // one decrement per accessory, in id order so concurrent orders lock the rows in the same order
+        accessoryQuantities.forEach(accessoryInventory::reserve);
+
         Order order = Order.builder()
                 .userId(userId)
                 .status(OrderStatus.PLACED)
@@ -121,15 +145,46 @@ public class OrderServiceImpl implements OrderService {
 
         Order savedOrder = orderRepository.save(order);
         orderCreationsCounter.increment();
+        orderStatistics.recordCreated(savedOrder.getStatus());
+        outboxWriter.orderChanged(savedOrder, OutboxEventType.ORDER_PLACED);
 
         return orderMapper.orderToOrderDto(savedOrder);
     }
 
+    /**
+     * Loads every vehicle and accessory the order lines refer to with one query per type, instead of one per line.
+     */
+    private void resolveProducts(List<CreateOrderItemDto> items, Map<UUID, Vehicle> vehicles,
+                                 Map<UUID, Accessory> accessories) {
+        Set<UUID> vehicleIds = new HashSet<>();
+        Set<UUID> accessoryIds = new HashSet<>();
+        for (CreateOrderItemDto itemDto : items) {
+            if (itemDto.getType() == ItemType.VEHICLE) {
+                if (itemDto.getVehicleId() == null)
+                    throw new IllegalArgumentException("vehicleId required");
+                vehicleIds.add(itemDto.getVehicleId());
+            } else if (itemDto.getType() == ItemType.ACCESSORY) {
+                if (itemDto.getAccessoryId() == null)
+                    throw new IllegalArgumentException("accessoryId required");
+                accessoryIds.add(itemDto.getAccessoryId());
+            } else {
+                throw new IllegalArgumentException("Unsupported order item type: " + itemDto.getType());
+            }
+        }
+
+        if (!vehicleIds.isEmpty()) {
+            vehicleRepository.findAllById(vehicleIds).forEach(vehicle -> vehicles.put(vehicle.getId(), vehicle));
+        }
+        if (!accessoryIds.isEmpty()) {
+            accessoryRepository.findAllById(accessoryIds).forEach(accessory -> accessories.put(accessory.getId(), accessory));
+        }
+    }
+
     @Override
     @Transactional
     public OrderDto getOrderById(UUID orderId) {
         return orderMapper.orderToOrderDto(
-                orderRepository.findById(orderId)
+                orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException(orderId, Order.class)));
     }
 
@@ -141,9 +196,43 @@ public class OrderServiceImpl implements OrderService {
                 .map(orderMapper::orderToOrderDto).toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderSummaryDto> getOrderSummariesByUserId(UUID userId, String cursor, int size) {
+        if (size < 1 || size > MAX_SUMMARY_PAGE_SIZE)
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SUMMARY_PAGE_SIZE);
+
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<OrderSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderRepository.findSummariesByUserId(userId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (!SUMMARY_CURSOR_PROPERTY.equals(position.property()) || position.direction() != Sort.Direction.DESC) {
+                throw new IllegalArgumentException("Cursor was issued for a different listing");
+            }
+            rows = orderRepository.findSummariesByUserIdBefore(userId, position.instantValue(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<OrderSummaryDto> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummaryDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(SUMMARY_CURSOR_PROPERTY, Sort.Direction.DESC,
+                    last.getCreatedAt().toString(), last.getId()).encode();
+        }
+
+        return CursorPageDto.<OrderSummaryDto>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Override
     @Transactional
     public OrderDto createOrderFromCart(UUID userId) {
+        cartService.flushCart(userId);
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Cart not found for user"));
 
@@ -152,9 +241,13 @@ public class OrderServiceImpl implements OrderService {
         }
 
         List<OrderItem> orderItems = new ArrayList<>();
+        Map<UUID, Integer> accessoryQuantities = new TreeMap<>();
         BigDecimal totalPrice = BigDecimal.ZERO;
 
         for (CartItem cartItem : cart.getItems()) {
+            if (cartItem.getType() == ItemType.ACCESSORY && cartItem.getAccessory() != null) {
+                accessoryQuantities.merge(cartItem.getAccessory().getId(), cartItem.getQuantity(), Integer::sum);
+            }
             OrderItem orderItem = OrderItem.builder()
                     .type(cartItem.getType())
                     .vehicle(cartItem.getVehicle())
@@ -167,6 +260,8 @@ public class OrderServiceImpl implements OrderService {
             totalPrice = totalPrice.add(cartItem.getUnitPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
         }
 
+        accessoryQuantities.forEach(accessoryInventory::reserve);
+
         Order order = Order.builder()
                 .userId(userId)
                 .status(OrderStatus.PLACED)
@@ -178,6 +273,8 @@ public class OrderServiceImpl implements OrderService {
 
         Order savedOrder = orderRepository.save(order);
         orderCreationsCounter.increment();
+        orderStatistics.recordCreated(savedOrder.getStatus());
+        outboxWriter.orderChanged(savedOrder, OutboxEventType.ORDER_PLACED);
 
         return orderMapper.orderToOrderDto(savedOrder);
     }
@@ -198,14 +295,14 @@ public class OrderServiceImpl implements OrderService {
                 vehicle.setStatus(VehicleStatus.AVAILABLE);
                 vehicleRepository.save(vehicle);
             } else if (item.getType() == ItemType.ACCESSORY && item.getAccessory() != null) {
-                Accessory accessory = item.getAccessory();
-                accessory.setQuantity(accessory.getQuantity() + item.getQuantity());
-                accessoryRepository.save(accessory);
+                accessoryInventory.release(item.getAccessory().getId(), item.getQuantity());
             }
         }
 
+        orderStatistics.recordTransition(order.getStatus(), OrderStatus.CANCELED);
         order.setStatus(OrderStatus.CANCELED);
         orderRepository.save(order);
+        outboxWriter.orderChanged(order, OutboxEventType.ORDER_CANCELED);
         orderCancellationsCounter.increment();
     }
 }
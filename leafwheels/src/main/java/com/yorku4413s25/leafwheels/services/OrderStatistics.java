@@ -0,0 +1,115 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.domain.OrderStatusCount;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of orders per status, kept in memory so metric scrapes never touch the database. The counts are seeded
+ * with one GROUP BY once the application is up, moved by the order and payment services as orders are created and
+ * change status, and periodically reconciled with the database to pick up changes made by other nodes.
+ */
+@Component
+@Slf4j
+public class OrderStatistics {
+
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, AtomicLong> counts = new EnumMap<>(OrderStatus.class);
+
+    public OrderStatistics(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            counts.put(status, count);
+            Gauge.builder("leafwheels.orders.by_status", count, AtomicLong::get)
+                    .description("Number of orders per status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("leafwheels.orders.total", this, OrderStatistics::total)
+                .description("Total number of orders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts an order created with the given status once the surrounding transaction commits.
+     */
+    public void recordCreated(OrderStatus status) {
+        TransactionCallbacks.afterCommit(() -> counts.get(status).incrementAndGet());
+    }
+
+    /**
+     * Moves an order from one status to another once the surrounding transaction commits.
+     */
+    public void recordTransition(OrderStatus from, OrderStatus to) {
+        recordTransition(from, to, 1);
+    }
+
+    /**
+     * Moves {@code orders} orders from one status to another once the surrounding transaction commits.
+     */
+    public void recordTransition(OrderStatus from, OrderStatus to, long orders) {
+        if (from == to || orders == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            counts.get(from).addAndGet(-orders);
+            counts.get(to).addAndGet(orders);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Replaces the in-memory counts with the database's. Orders committed while the query runs may be off by one
+     * until the next run.
+     */
+    @Scheduled(initialDelayString = "${orders.statistics.reconcile-interval:5m}",
+            fixedDelayString = "${orders.statistics.reconcile-interval:5m}")
+    public void reconcile() {
+        List<OrderStatusCount> rows;
+        try {
+            rows = orderRepository.countByStatus();
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile order statistics: {}", e.getMessage());
+            return;
+        }
+        Map<OrderStatus, Long> actual = new EnumMap<>(OrderStatus.class);
+        rows.forEach(row -> actual.put(row.status(), row.count()));
+        counts.forEach((status, count) -> {
+            long expected = actual.getOrDefault(status, 0L);
+            long previous = count.getAndSet(expected);
+            if (previous != expected) {
+                log.debug("Order statistics for {} corrected from {} to {}", status, previous, expected);
+            }
+        });
+    }
+
+    public long count(OrderStatus status) {
+        return counts.get(status).get();
+    }
+
+    public long total() {
+        long total = 0;
+        for (AtomicLong count : counts.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+}
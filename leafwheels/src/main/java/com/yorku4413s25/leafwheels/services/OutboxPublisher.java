@@ -0,0 +1,14 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Delivers outbox events to subscribers. Events must be delivered in the given order; if delivery fails part way
+ * the whole batch is offered again, so subscribers may see an event more than once.
+ */
+public interface OutboxPublisher {
+
+    void publish(List<OutboxEvent> events);
+}
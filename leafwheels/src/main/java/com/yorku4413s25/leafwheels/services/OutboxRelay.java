@@ -0,0 +1,93 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import com.yorku4413s25.leafwheels.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves outbox events to the {@link OutboxPublisher} in id order, a batch at a time. Each batch holds the relay
+ * advisory lock, so one node relays while the others skip the round; events are only marked published once the
+ * publisher accepted the whole batch, so a failure or crash leads to redelivery, never to a lost or reordered event.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter relayedEvents;
+    private final Counter relayFailures;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPublisher outboxPublisher,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.relayedEvents = Counter.builder("leafwheels.outbox.relayed")
+                .description("Outbox events handed to the publisher")
+                .register(meterRegistry);
+        this.relayFailures = Counter.builder("leafwheels.outbox.relay.failures")
+                .description("Outbox batches that could not be published and will be retried")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    int relayBatch() {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (!outboxEventRepository.tryRelayLock()) {
+                    return 0;
+                }
+                List<OutboxEvent> events = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                outboxPublisher.publish(events);
+                outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), Instant.now());
+                relayedEvents.increment(events.size());
+                return events.size();
+            });
+        } catch (RuntimeException e) {
+            relayFailures.increment();
+            log.warn("Could not relay outbox events, retrying next round: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval:1h}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(Instant.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} published outbox events", purged);
+        }
+    }
+}
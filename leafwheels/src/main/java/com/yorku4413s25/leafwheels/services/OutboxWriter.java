@@ -0,0 +1,68 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import com.yorku4413s25.leafwheels.events.OrderChangedEvent;
+import com.yorku4413s25.leafwheels.events.PaymentChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Records order and payment events in the outbox. Must be called inside the transaction that makes the change, so
+ * the event is stored if and only if the change commits; {@link OutboxRelay} delivers it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    static final String ORDER_AGGREGATE = "order";
+    static final String PAYMENT_AGGREGATE = "payment";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderChanged(Order order, OutboxEventType type) {
+        outboxEventRepository.save(event(ORDER_AGGREGATE, order.getId(), type,
+                new OrderChangedEvent(order.getId(), order.getUserId(), order.getStatus(), order.getTotalPrice())));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersChanged(Collection<OrderChangedEvent> orders, OutboxEventType type) {
+        outboxEventRepository.saveAll(orders.stream()
+                .map(order -> event(ORDER_AGGREGATE, order.orderId(), type, order))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentChanged(Payment payment, OutboxEventType type) {
+        outboxEventRepository.save(event(PAYMENT_AGGREGATE, payment.getId(), type,
+                new PaymentChangedEvent(payment.getId(), payment.getOrder().getId(), payment.getUserId(),
+                        payment.getStatus(), payment.getAmount(), payment.getFailureReason())));
+    }
+
+    private OutboxEvent event(String aggregateType, UUID aggregateId, OutboxEventType type, Object payload) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateType(aggregateType)
+                    .aggregateId(aggregateId)
+                    .type(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(Instant.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event for " + aggregateId, e);
+        }
+    }
+}
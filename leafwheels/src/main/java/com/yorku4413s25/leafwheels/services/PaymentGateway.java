@@ -0,0 +1,15 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+
+import java.math.BigDecimal;
+
+public interface PaymentGateway {
+
+    /**
+     * Asks the gateway to authorize the amount. {@code transactionId} identifies the payment, so retrying the same
+     * request never charges twice. Throws {@link com.yorku4413s25.leafwheels.exception.PaymentGatewayException}
+     * when the gateway gives no decision.
+     */
+    PaymentAuthorization authorize(String transactionId, BigDecimal amount, String paymentMethod);
+}
@@ -0,0 +1,181 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the {@link PaymentGateway} with at most {@code max-concurrent} requests in flight, a timeout per attempt
+ * and retries with jittered exponential backoff. Declines are final; only gateway errors and timeouts are retried,
+ * with the same transaction id. A call that outlives its timeout keeps its slot until the gateway thread is free
+ * again, so hung calls cannot pile up behind the limit.
+ */
+@Component
+@Slf4j
+public class PaymentGatewayClient {
+
+    private final PaymentGateway gateway;
+    private final Duration timeout;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final ExecutorService callers;
+
+    private final Timer authorizationTimer;
+    private final Counter retriesCounter;
+    private final Counter unavailableCounter;
+
+    public PaymentGatewayClient(PaymentGateway gateway,
+                                MeterRegistry meterRegistry,
+                                @Value("${payment.gateway.client.timeout:2s}") Duration timeout,
+                                @Value("${payment.gateway.client.max-attempts:3}") int maxAttempts,
+                                @Value("${payment.gateway.client.backoff:100ms}") Duration backoff,
+                                @Value("${payment.gateway.client.max-concurrent:32}") int maxConcurrent,
+                                @Value("${payment.gateway.client.acquire-timeout:1s}") Duration acquireTimeout) {
+        this.gateway = gateway;
+        this.timeout = timeout;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.backoff = backoff;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent);
+        AtomicInteger threads = new AtomicInteger();
+        // Every queued or running call holds a permit, so the queue never holds more than max-concurrent calls.
+        this.callers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrent), runnable -> {
+                    Thread thread = new Thread(runnable, "payment-gateway-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.authorizationTimer = Timer.builder("leafwheels.payments.gateway.authorization")
+                .description("Time to get an authorization decision, including retries")
+                .register(meterRegistry);
+        this.retriesCounter = Counter.builder("leafwheels.payments.gateway.retries")
+                .description("Gateway calls retried after an error or timeout")
+                .register(meterRegistry);
+        this.unavailableCounter = Counter.builder("leafwheels.payments.gateway.unavailable")
+                .description("Authorizations given up after all attempts failed")
+                .register(meterRegistry);
+    }
+
+    public PaymentAuthorization authorize(String transactionId, BigDecimal amount, String paymentMethod) {
+        return authorizationTimer.record(() -> {
+            PaymentGatewayException last = null;
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                if (attempt > 1) {
+                    retriesCounter.increment();
+                    pause(attempt);
+                }
+                try {
+                    return attempt(transactionId, amount, paymentMethod);
+                } catch (PaymentGatewayException e) {
+                    last = e;
+                    log.warn("Gateway attempt {}/{} failed for transaction {}: {}", attempt, maxAttempts,
+                            transactionId, e.getMessage());
+                }
+            }
+            unavailableCounter.increment();
+            throw last;
+        });
+    }
+
+    /**
+     * The permit is handed back by the gateway thread when the call returns, not when this caller stops waiting,
+     * and by the caller only for a call cancelled before it started.
+     */
+    private PaymentAuthorization attempt(String transactionId, BigDecimal amount, String paymentMethod) {
+        acquire();
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        Future<PaymentAuthorization> call;
+        try {
+            call = callers.submit(() -> {
+                started.set(true);
+                try {
+                    return gateway.authorize(transactionId, amount, paymentMethod);
+                } finally {
+                    release.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release.run();
+            throw new PaymentGatewayException("Too many gateway calls in flight", e);
+        }
+        try {
+            return call.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(call, started, release);
+            throw new PaymentGatewayException("Gateway did not answer within " + timeout.toMillis() + "ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            throw new PaymentGatewayException("Gateway call failed", e.getCause());
+        } catch (InterruptedException e) {
+            abandon(call, started, release);
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for the gateway", e);
+        }
+    }
+
+    private static void abandon(Future<PaymentAuthorization> call, AtomicBoolean started, Runnable release) {
+        call.cancel(true);
+        if (!started.get()) {
+            release.run();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new PaymentGatewayException("Too many gateway calls in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for a gateway slot", e);
+        }
+    }
+
+    private void pause(int attempt) {
+        long ceiling = backoff.toMillis() << Math.min(attempt - 2, 10);
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while backing off", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callers.shutdownNow();
+    }
+}
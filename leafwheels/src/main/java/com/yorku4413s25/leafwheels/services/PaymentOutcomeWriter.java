@@ -0,0 +1,181 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.OrderItem;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.PaymentRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.PaymentMapper;
+import com.yorku4413s25.leafwheels.web.models.PaymentResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Writes the outcome of a payment authorization, for synchronous checkout in {@link PaymentServiceImpl} and
+ * asynchronous checkout in {@link AsyncCheckoutProcessor}. Each outcome runs in a new transaction and only applies
+ * to a payment that is still PENDING, so a payment completed by an earlier attempt is left alone.
+ */
+@Component
+@Slf4j
+public class PaymentOutcomeWriter {
+
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final VehicleRepository vehicleRepository;
+    private final PaymentMapper paymentMapper;
+    private final CartService cartService;
+    private final AccessoryInventoryService accessoryInventory;
+    private final OrderStatistics orderStatistics;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate outcomeTransaction;
+
+    private final Counter paymentSuccessCounter;
+    private final Counter paymentFailuresCounter;
+
+    public PaymentOutcomeWriter(PaymentRepository paymentRepository,
+                                OrderRepository orderRepository,
+                                VehicleRepository vehicleRepository,
+                                PaymentMapper paymentMapper,
+                                CartService cartService,
+                                AccessoryInventoryService accessoryInventory,
+                                OrderStatistics orderStatistics,
+                                OutboxWriter outboxWriter,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.orderRepository = orderRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.paymentMapper = paymentMapper;
+        this.cartService = cartService;
+        this.accessoryInventory = accessoryInventory;
+        this.orderStatistics = orderStatistics;
+        this.outboxWriter = outboxWriter;
+        // Outcomes may be applied from afterCommit of the transaction that saved the payment, which is still bound
+        // to the thread but can no longer write.
+        this.outcomeTransaction = new TransactionTemplate(transactionManager);
+        this.outcomeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.paymentSuccessCounter = Counter.builder("leafwheels.payments.success")
+                .description("Successful payments")
+                .register(meterRegistry);
+        this.paymentFailuresCounter = Counter.builder("leafwheels.payments.failures")
+                .description("Failed payments")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the authorization result: an approved payment marks the order paid, sells its vehicles and clears the
+     * cart, a denied one cancels the order and gives its accessory stock back. If the order is no longer PLACED,
+     * e.g. because it was cancelled meanwhile, the payment fails and the order is left alone.
+     */
+    public PaymentResponseDto complete(UUID paymentId, PaymentAuthorization authorization) {
+        return apply(paymentId, payment -> completePayment(payment, authorization));
+    }
+
+    /**
+     * Marks a payment that could not be processed as FAILED and cancels its order like a denial, unless the order
+     * is no longer PLACED.
+     */
+    public PaymentResponseDto fail(UUID paymentId, String failureReason) {
+        return apply(paymentId, payment -> failPayment(payment, failureReason));
+    }
+
+    private PaymentResponseDto apply(UUID paymentId, Consumer<Payment> outcome) {
+        return outcomeTransaction.execute(status -> {
+            Payment payment = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new EntityNotFoundException(paymentId, Payment.class));
+            if (payment.getStatus() == PaymentStatus.PENDING) {
+                outcome.accept(payment);
+            }
+            return paymentMapper.toDto(payment);
+        });
+    }
+
+    private void completePayment(Payment payment, PaymentAuthorization authorization) {
+        Order order = payment.getOrder();
+        if (order.getStatus() != OrderStatus.PLACED) {
+            log.warn("Order {} is {} when its payment completed, failing the payment", order.getId(), order.getStatus());
+            failPayment(payment, "Order was " + order.getStatus() + " before the payment completed");
+            return;
+        }
+
+        if (authorization.approved()) {
+            payment.setStatus(PaymentStatus.APPROVED);
+
+            orderStatistics.recordTransition(order.getStatus(), OrderStatus.PAID);
+            order.setStatus(OrderStatus.PAID);
+            orderRepository.save(order);
+            outboxWriter.orderChanged(order, OutboxEventType.ORDER_PAID);
+
+            markVehiclesSold(order);
+
+            cartService.clearCart(payment.getUserId());
+
+            paymentSuccessCounter.increment();
+            log.info("Payment approved for order: {}", order.getId());
+        } else {
+            payment.setStatus(PaymentStatus.DENIED);
+            payment.setFailureReason(authorization.declineReason());
+            cancelUnpaidOrder(order);
+
+            paymentFailuresCounter.increment();
+            log.info("Payment denied for order: {}", order.getId());
+        }
+
+        paymentRepository.save(payment);
+        outboxWriter.paymentChanged(payment, authorization.approved()
+                ? OutboxEventType.PAYMENT_APPROVED : OutboxEventType.PAYMENT_DENIED);
+    }
+
+    private void failPayment(Payment payment, String failureReason) {
+        payment.setStatus(PaymentStatus.FAILED);
+        payment.setFailureReason(failureReason);
+        if (payment.getOrder().getStatus() == OrderStatus.PLACED) {
+            cancelUnpaidOrder(payment.getOrder());
+        }
+        paymentRepository.save(payment);
+        outboxWriter.paymentChanged(payment, OutboxEventType.PAYMENT_FAILED);
+
+        paymentFailuresCounter.increment();
+        log.info("Payment failed for order: {}", payment.getOrder().getId());
+    }
+
+    private void cancelUnpaidOrder(Order order) {
+        orderStatistics.recordTransition(order.getStatus(), OrderStatus.CANCELED);
+        order.setStatus(OrderStatus.CANCELED);
+        orderRepository.save(order);
+        outboxWriter.orderChanged(order, OutboxEventType.ORDER_CANCELED);
+
+        for (OrderItem item : order.getItems()) {
+            if (item.getAccessory() != null) {
+                accessoryInventory.release(item.getAccessory().getId(), item.getQuantity());
+            }
+        }
+    }
+
+    private void markVehiclesSold(Order order) {
+        for (OrderItem item : order.getItems()) {
+            if (item.getVehicle() != null) {
+                Vehicle vehicle = item.getVehicle();
+                vehicle.setStatus(VehicleStatus.SOLD);
+                vehicleRepository.save(vehicle);
+            }
+        }
+    }
+}
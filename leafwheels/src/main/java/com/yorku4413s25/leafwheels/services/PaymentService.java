@@ -10,6 +10,13 @@ import java.util.UUID;
 public interface PaymentService {
     void createPaymentSession(UUID userId, HttpSession httpSession);
     PaymentResponseDto processPayment(UUID userId, PaymentRequestDto paymentRequest, HttpSession httpSession);
+
+    /**
+     * Places the order and saves a PENDING payment for it, leaving authorization to a background worker. The
+     * outcome is available from {@link #getPaymentStatus(UUID)} and on {@code /topic/payments/{orderId}}.
+     */
+    PaymentResponseDto submitPayment(UUID userId, PaymentRequestDto paymentRequest, HttpSession httpSession);
+
     PaymentResponseDto getPaymentStatus(UUID orderId);
     List<PaymentResponseDto> getPaymentsByUserId(UUID userId);
     void cancelPayment(UUID orderId);
@@ -1,10 +1,13 @@
 package com.yorku4413s25.leafwheels.services;
 
 import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
 import com.yorku4413s25.leafwheels.constants.PaymentStatus;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
 import com.yorku4413s25.leafwheels.domain.*;
+import com.yorku4413s25.leafwheels.events.PaymentSubmittedEvent;
 import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
 import com.yorku4413s25.leafwheels.repositories.*;
 import com.yorku4413s25.leafwheels.web.mappers.PaymentMapper;
 import com.yorku4413s25.leafwheels.web.models.OrderDto;
@@ -14,8 +17,11 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.servlet.http.HttpSession;
 
 import java.math.BigDecimal;
@@ -35,11 +41,16 @@ public class PaymentServiceImpl implements PaymentService {
     private final OrderService orderService;
     private final CartService cartService;
     private final CartChecksumService cartChecksumService;
+    private final AccessoryInventoryService accessoryInventory;
+    private final OrderStatistics orderStatistics;
+    private final OutboxWriter outboxWriter;
+    private final PaymentGatewayClient paymentGatewayClient;
+    private final PaymentOutcomeWriter paymentOutcomes;
+    private final ApplicationEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
     
     private final Counter paymentAttemptsCounter;
-    private final Counter paymentSuccessCounter;
-    private final Counter paymentFailuresCounter;
     
     public PaymentServiceImpl(PaymentRepository paymentRepository,
                              OrderRepository orderRepository,
@@ -49,7 +60,14 @@ public class PaymentServiceImpl implements PaymentService {
                              OrderService orderService,
                              CartService cartService,
                              CartChecksumService cartChecksumService,
-                             MeterRegistry meterRegistry) {
+                             AccessoryInventoryService accessoryInventory,
+                             OrderStatistics orderStatistics,
+                             OutboxWriter outboxWriter,
+                             PaymentGatewayClient paymentGatewayClient,
+                             PaymentOutcomeWriter paymentOutcomes,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             PlatformTransactionManager transactionManager) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
         this.cartRepository = cartRepository;
@@ -58,26 +76,28 @@ public class PaymentServiceImpl implements PaymentService {
         this.orderService = orderService;
         this.cartService = cartService;
         this.cartChecksumService = cartChecksumService;
+        this.accessoryInventory = accessoryInventory;
+        this.orderStatistics = orderStatistics;
+        this.outboxWriter = outboxWriter;
+        this.paymentGatewayClient = paymentGatewayClient;
+        this.paymentOutcomes = paymentOutcomes;
+        this.eventPublisher = eventPublisher;
         this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         
         this.paymentAttemptsCounter = Counter.builder("leafwheels.payments.attempts")
                 .description("Total payment attempts")
                 .register(meterRegistry);
-        this.paymentSuccessCounter = Counter.builder("leafwheels.payments.success")
-                .description("Successful payments")
-                .register(meterRegistry);
-        this.paymentFailuresCounter = Counter.builder("leafwheels.payments.failures")
-                .description("Failed payments")
-                .register(meterRegistry);
     }
 
     @Override
     @Transactional
     public void createPaymentSession(UUID userId, HttpSession httpSession) {
+        cartService.flushCart(userId);
         Cart cart = cartRepository.findByUserId(userId)
             .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
 
-        if (cart.getItems().isEmpty()) {
+        if (cart.getItemCount() == 0) {
             throw new IllegalStateException("Cannot create payment session for empty cart");
         }
 
@@ -86,10 +106,40 @@ public class PaymentServiceImpl implements PaymentService {
         httpSession.setAttribute("cartChecksum", cartChecksum);
     }
 
+    /**
+     * Commits the order and its PENDING payment before calling the gateway, so no row locks are held while waiting
+     * for it, then applies the outcome in a second transaction. A payment left PENDING by an unexpected error is
+     * finished by the stale payment re-drive of {@link AsyncCheckoutProcessor}.
+     */
     @Override
-    @Transactional
     public PaymentResponseDto processPayment(UUID userId, PaymentRequestDto paymentRequest, HttpSession httpSession) {
+        Payment pending = transactionTemplate.execute(status -> startPayment(userId, paymentRequest, httpSession));
+        PaymentAuthorization authorization;
+        try {
+            authorization = paymentGatewayClient.authorize(pending.getTransactionId(), pending.getAmount(),
+                    pending.getPaymentMethod());
+        } catch (PaymentGatewayException e) {
+            log.warn("Payment gateway unavailable for payment {}: {}", pending.getId(), e.getMessage());
+            return paymentOutcomes.fail(pending.getId(), "Payment gateway unavailable");
+        }
+        return paymentOutcomes.complete(pending.getId(), authorization);
+    }
 
+    @Override
+    @Transactional
+    public PaymentResponseDto submitPayment(UUID userId, PaymentRequestDto paymentRequest, HttpSession httpSession) {
+        Payment payment = startPayment(userId, paymentRequest, httpSession);
+        eventPublisher.publishEvent(new PaymentSubmittedEvent(payment.getId()));
+        log.info("Payment submitted for order: {}", payment.getOrder().getId());
+        return paymentMapper.toDto(payment);
+    }
+
+    /**
+     * Validates the payment session against the cart, places the order and saves a PENDING payment for it. The cart
+     * row is locked first, so a second checkout of the same cart waits for this one and is then turned away while
+     * its payment is still PENDING.
+     */
+    private Payment startPayment(UUID userId, PaymentRequestDto paymentRequest, HttpSession httpSession) {
         UUID cartId = (UUID) httpSession.getAttribute("cartId");
         String sessionCartChecksum = (String) httpSession.getAttribute("cartChecksum");
 
@@ -97,10 +147,16 @@ public class PaymentServiceImpl implements PaymentService {
             throw new IllegalArgumentException("No payment session found in current session");
         }
 
-        Cart cart = cartRepository.findByUserId(userId)
+        cartService.flushCart(userId);
+        cartRepository.lockByUserId(userId)
+            .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
+        if (paymentRepository.existsByUserIdAndStatus(userId, PaymentStatus.PENDING)) {
+            throw new IllegalStateException("A payment for this cart is still being processed");
+        }
+        Cart cart = cartRepository.findHydratedByUserId(userId)
             .orElseThrow(() -> new EntityNotFoundException(userId, Cart.class));
 
-        if (cart.getItems().isEmpty()) {
+        if (cart.getItemCount() == 0) {
             throw new IllegalStateException("Cannot process payment for empty cart");
         }
 
@@ -117,44 +173,17 @@ public class PaymentServiceImpl implements PaymentService {
             .orElseThrow(() -> new EntityNotFoundException(orderDto.getId(), Order.class));
 
         paymentAttemptsCounter.increment();
-        long totalPaymentAttempts = paymentRepository.countAllPayments();
-        boolean isApproved = (totalPaymentAttempts % 3) != 2;
 
         Payment payment = Payment.builder()
             .userId(userId)
             .order(order)
             .amount(order.getTotalPrice())
+            .status(PaymentStatus.PENDING)
             .paymentMethod(paymentRequest.getPaymentMethod())
             .address(paymentRequest.getAddress())
             .transactionId(UUID.randomUUID().toString())
             .build();
-
-        if (isApproved) {
-            payment.setStatus(PaymentStatus.APPROVED);
-
-            order.setStatus(OrderStatus.PAID);
-            orderRepository.save(order);
-
-            updateVehicleStatuses(order);
-
-            cartService.clearCart(userId);
-            
-            paymentSuccessCounter.increment();
-            log.info("Payment approved for order: {}", order.getId());
-        } else {
-            payment.setStatus(PaymentStatus.DENIED);
-            payment.setFailureReason("Credit Card Authorization Failed");
-
-            order.setStatus(OrderStatus.CANCELED);
-            orderRepository.save(order);
-
-            paymentFailuresCounter.increment();
-            log.info("Payment denied for order: {}", order.getId());
-        }
-
-        payment = paymentRepository.save(payment);
-
-        return paymentMapper.toDto(payment);
+        return paymentRepository.save(payment);
     }
 
     @Override
@@ -182,23 +211,25 @@ public class PaymentServiceImpl implements PaymentService {
         if (payment.getStatus() == PaymentStatus.APPROVED) {
             payment.setStatus(PaymentStatus.REFUNDED);
             paymentRepository.save(payment);
+            outboxWriter.paymentChanged(payment, OutboxEventType.PAYMENT_REFUNDED);
 
             Order order = payment.getOrder();
+            orderStatistics.recordTransition(order.getStatus(), OrderStatus.CANCELED);
             order.setStatus(OrderStatus.CANCELED);
             orderRepository.save(order);
+            outboxWriter.orderChanged(order, OutboxEventType.ORDER_CANCELED);
 
             revertVehicleStatuses(order);
+            releaseAccessoryStock(order);
 
             log.info("Payment refunded for order: {}", orderId);
         }
     }
 
-    private void updateVehicleStatuses(Order order) {
+    private void releaseAccessoryStock(Order order) {
         for (OrderItem item : order.getItems()) {
-            if (item.getVehicle() != null) {
-                Vehicle vehicle = item.getVehicle();
-                vehicle.setStatus(VehicleStatus.SOLD);
-                vehicleRepository.save(vehicle);
+            if (item.getAccessory() != null) {
+                accessoryInventory.release(item.getAccessory().getId(), item.getQuantity());
             }
         }
     }
@@ -0,0 +1,109 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroups;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Appends outbox events to one Redis stream per aggregate type, e.g. {@code leafwheels:outbox:order}. Consumers
+ * read them with consumer groups; the outbox id travels in the {@code id} field for deduplication.
+ * <p>
+ * Streams are trimmed by minimum id, never past the oldest entry a consumer group still needs: its oldest pending
+ * entry, or else the last entry delivered to it. A lagging group therefore holds the stream back instead
+ * of losing events, and a warning is logged once the stream grows beyond {@code outbox.redis.max-length}. A stream
+ * nobody has subscribed to yet is trimmed to roughly that length.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "redis", matchIfMissing = true)
+public class RedisStreamOutboxPublisher implements OutboxPublisher {
+
+    private static final Comparator<RecordId> STREAM_ORDER =
+            Comparator.comparingLong(RecordId::getTimestamp).thenComparingLong(RecordId::getSequence);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String streamPrefix;
+    private final long maxLength;
+
+    public RedisStreamOutboxPublisher(StringRedisTemplate redisTemplate,
+                                      @Value("${outbox.redis.stream-prefix:leafwheels:outbox:}") String streamPrefix,
+                                      @Value("${outbox.redis.max-length:100000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.streamPrefix = streamPrefix;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        Set<String> streams = new HashSet<>();
+        for (OutboxEvent event : events) {
+            String stream = streamPrefix + event.getAggregateType();
+            redisTemplate.opsForStream().add(StreamRecords.mapBacked(fields(event)).withStreamKey(stream));
+            streams.add(stream);
+        }
+        streams.forEach(this::trim);
+    }
+
+    private void trim(String stream) {
+        XInfoGroups groups = redisTemplate.opsForStream().groups(stream);
+        if (groups.isEmpty()) {
+            redisTemplate.opsForStream().trim(stream, maxLength, true);
+            return;
+        }
+        RecordId oldestNeeded = groups.stream()
+                .map(group -> oldestNeeded(stream, group))
+                .min(STREAM_ORDER)
+                .orElseThrow();
+        // XTRIM MINID has no typed counterpart in StreamOperations. Approximate trimming only ever keeps more.
+        redisTemplate.execute((RedisCallback<Object>) connection -> trimBefore(connection, stream, oldestNeeded));
+
+        Long length = redisTemplate.opsForStream().size(stream);
+        if (length != null && length > maxLength) {
+            log.warn("Outbox stream {} holds {} entries, more than {}: a consumer group is still at {}", stream,
+                    length, maxLength, oldestNeeded.getValue());
+        }
+    }
+
+    private RecordId oldestNeeded(String stream, XInfoGroup group) {
+        if (group.pendingCount() > 0) {
+            return RecordId.of(redisTemplate.opsForStream().pending(stream, group.groupName()).minMessageId());
+        }
+        return RecordId.of(group.lastDeliveredId());
+    }
+
+    private static Object trimBefore(RedisConnection connection, String stream, RecordId oldestNeeded) {
+        return connection.execute("XTRIM", bytes(stream), bytes("MINID"), bytes("~"), bytes(oldestNeeded.getValue()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Map<String, String> fields(OutboxEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", event.getId().toString());
+        fields.put("aggregateType", event.getAggregateType());
+        fields.put("aggregateId", event.getAggregateId().toString());
+        fields.put("type", event.getType().name());
+        fields.put("payload", event.getPayload());
+        fields.put("createdAt", event.getCreatedAt().toString());
+        return fields;
+    }
+}
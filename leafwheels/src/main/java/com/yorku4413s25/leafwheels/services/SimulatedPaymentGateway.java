@@ -0,0 +1,83 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for a card gateway, for development and load tests. Latency is log-normal around the
+ * configured median and 99th percentile; a share of the calls fails or hangs, and the rest are approved at the
+ * configured ratio. It touches no database or network.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final double Z_99 = 2.326;
+
+    private final double mu;
+    private final double sigma;
+    private final double approvalRatio;
+    private final double errorRatio;
+    private final double hangRatio;
+    private final Duration hangDuration;
+
+    public SimulatedPaymentGateway(@Value("${payment.gateway.simulator.latency-median:120ms}") Duration latencyMedian,
+                                   @Value("${payment.gateway.simulator.latency-p99:600ms}") Duration latencyP99,
+                                   @Value("${payment.gateway.simulator.approval-ratio:0.67}") double approvalRatio,
+                                   @Value("${payment.gateway.simulator.error-ratio:0.0}") double errorRatio,
+                                   @Value("${payment.gateway.simulator.hang-ratio:0.0}") double hangRatio,
+                                   @Value("${payment.gateway.simulator.hang-duration:30s}") Duration hangDuration) {
+        long median = Math.max(latencyMedian.toMillis(), 0);
+        long p99 = Math.max(latencyP99.toMillis(), median);
+        this.mu = median > 0 ? Math.log(median) : Double.NEGATIVE_INFINITY;
+        this.sigma = median > 0 ? Math.log((double) p99 / median) / Z_99 : 0;
+        this.approvalRatio = approvalRatio;
+        this.errorRatio = errorRatio;
+        this.hangRatio = hangRatio;
+        this.hangDuration = hangDuration;
+    }
+
+    @Override
+    public PaymentAuthorization authorize(String transactionId, BigDecimal amount, String paymentMethod) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double outcome = random.nextDouble();
+        if (outcome < hangRatio) {
+            sleep(hangDuration.toMillis());
+        } else {
+            sleep(sampleLatencyMillis(random));
+        }
+
+        if (outcome >= hangRatio && outcome < hangRatio + errorRatio) {
+            throw new PaymentGatewayException("Simulated gateway error for transaction " + transactionId);
+        }
+        return random.nextDouble() < approvalRatio
+                ? PaymentAuthorization.approve()
+                : PaymentAuthorization.decline("Credit Card Authorization Failed");
+    }
+
+    long sampleLatencyMillis(ThreadLocalRandom random) {
+        if (mu == Double.NEGATIVE_INFINITY) {
+            return 0;
+        }
+        return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for the gateway", e);
+        }
+    }
+}
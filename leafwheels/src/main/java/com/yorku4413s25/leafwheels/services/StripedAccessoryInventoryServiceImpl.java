@@ -0,0 +1,180 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Accessory inventory for flash sales, used when {@code inventory.accessory.striped.enabled=true}. Each node leases
+ * stock from the accessories row in chunks, with the same conditional UPDATE as {@link AccessoryInventoryServiceImpl},
+ * and hands it out from a few striped in-memory counters. Orders for a hot accessory then compete on a CAS instead
+ * of the row lock. Leased units are never sold twice, but they do not show in the row until the node returns them,
+ * which it does periodically and on shutdown.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "inventory.accessory.striped.enabled", havingValue = "true")
+@Slf4j
+public class StripedAccessoryInventoryServiceImpl implements AccessoryInventoryService {
+
+    private final AccessoryRepository accessoryRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int stripeCount;
+    private final int leaseSize;
+    private final Map<UUID, Stripes> leases = new ConcurrentHashMap<>();
+
+    public StripedAccessoryInventoryServiceImpl(AccessoryRepository accessoryRepository,
+                                                PlatformTransactionManager transactionManager,
+                                                @Value("${inventory.accessory.striped.stripes:8}") int stripeCount,
+                                                @Value("${inventory.accessory.striped.lease-size:20}") int leaseSize) {
+        this.accessoryRepository = accessoryRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stripeCount = stripeCount;
+        this.leaseSize = leaseSize;
+    }
+
+    @Override
+    public void reserve(UUID accessoryId, int quantity) {
+        AccessoryInventoryServiceImpl.requirePositive(quantity);
+        Stripes stripes = leases.computeIfAbsent(accessoryId, id -> new Stripes(stripeCount));
+        if (!stripes.tryTake(quantity)) {
+            synchronized (stripes) {
+                if (!stripes.tryTake(quantity)) {
+                    lease(accessoryId, stripes, quantity);
+                }
+            }
+        }
+        TransactionCallbacks.afterRollback(() -> stripes.give(quantity));
+    }
+
+    @Override
+    public void release(UUID accessoryId, int quantity) {
+        AccessoryInventoryServiceImpl.requirePositive(quantity);
+        TransactionCallbacks.afterCommit(() ->
+                leases.computeIfAbsent(accessoryId, id -> new Stripes(stripeCount)).give(quantity));
+    }
+
+    /**
+     * Returns every unit this node holds to the accessories rows.
+     */
+    @Scheduled(fixedDelayString = "${inventory.accessory.striped.lease-return-interval:30s}")
+    @PreDestroy
+    public void returnLeases() {
+        leases.forEach((accessoryId, stripes) -> {
+            int held = stripes.drain();
+            if (held > 0) {
+                try {
+                    leaseTransaction.executeWithoutResult(status ->
+                            accessoryRepository.incrementStock(accessoryId, held, Instant.now()));
+                } catch (DataAccessException e) {
+                    stripes.give(held);
+                    log.warn("Could not return {} leased units of accessory {}: {}", held, accessoryId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes {@code quantity} for the caller plus a lease for later callers from the row. If the row cannot cover a
+     * full lease, the units this node holds are returned first and only {@code quantity} is taken.
+     */
+    private void lease(UUID accessoryId, Stripes stripes, int quantity) {
+        int chunk = Math.max(quantity, leaseSize);
+        if (decrement(accessoryId, chunk)) {
+            if (chunk > quantity) {
+                stripes.give(chunk - quantity);
+            }
+            return;
+        }
+
+        int held = stripes.drain();
+        boolean taken = leaseTransaction.execute(status -> {
+            Instant now = Instant.now();
+            if (held > 0) {
+                accessoryRepository.incrementStock(accessoryId, held, now);
+            }
+            return accessoryRepository.decrementStock(accessoryId, quantity, now) == 1;
+        });
+        if (!taken) {
+            accessoryRepository.findById(accessoryId)
+                    .orElseThrow(() -> new EntityNotFoundException(accessoryId, Accessory.class));
+            throw new IllegalStateException("Not enough accessory stock available.");
+        }
+    }
+
+    private boolean decrement(UUID accessoryId, int amount) {
+        return leaseTransaction.execute(status -> accessoryRepository.decrementStock(accessoryId, amount, Instant.now()) == 1);
+    }
+
+    /**
+     * Units of one accessory held by this node, spread over a few counters so concurrent orders rarely CAS the
+     * same one.
+     */
+    static final class Stripes {
+
+        private final AtomicIntegerArray counts;
+
+        Stripes(int stripes) {
+            this.counts = new AtomicIntegerArray(stripes);
+        }
+
+        boolean tryTake(int quantity) {
+            int length = counts.length();
+            int start = ThreadLocalRandom.current().nextInt(length);
+            for (int i = 0; i < length; i++) {
+                int stripe = (start + i) % length;
+                int current;
+                while ((current = counts.get(stripe)) >= quantity) {
+                    if (counts.compareAndSet(stripe, current, current - quantity)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void give(int quantity) {
+            counts.addAndGet(ThreadLocalRandom.current().nextInt(counts.length()), quantity);
+        }
+
+        int drain() {
+            int drained = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                drained += counts.getAndSet(i, 0);
+            }
+            return drained;
+        }
+
+        int held() {
+            int held = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                held += counts.get(i);
+            }
+            return held;
+        }
+    }
+
+    int held(UUID accessoryId) {
+        Stripes stripes = leases.get(accessoryId);
+        return stripes != null ? stripes.held() : 0;
+    }
+}
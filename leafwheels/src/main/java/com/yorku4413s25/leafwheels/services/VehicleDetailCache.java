@@ -0,0 +1,259 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for vehicle details. A small in-process LRU answers repeated views on the same node, Redis
+ * shares entries between nodes, and invalidations are broadcast on a pub/sub channel so every node drops its
+ * local copy when a vehicle changes.
+ * <p>
+ * A load can race with an update: the loader reads the old row, the update commits and invalidates, and only
+ * then does the loader write its now stale copy. Every invalidation therefore bumps a per-vehicle generation, and
+ * a loaded vehicle is only cached if the generation it was loaded under is still current.
+ */
+@Component
+@Slf4j
+public class VehicleDetailCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "leafwheels:vehicle-detail:invalidate";
+    private static final String KEY_PREFIX = "leafwheels:vehicle-detail:";
+    private static final String GENERATION_KEY_PREFIX = "leafwheels:vehicle-detail:gen:";
+
+    /**
+     * KEYS: detail key, generation key. ARGV: generation seen before loading, vehicle JSON, TTL in milliseconds.
+     */
+    private static final RedisScript<Long> PUT_IF_CURRENT = new DefaultRedisScript<>("""
+            local generation = redis.call('GET', KEYS[2]) or '0'
+            if generation ~= ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration localTtl;
+    private final Duration redisTtl;
+    private final Map<UUID, LocalEntry> local;
+    private long localGeneration;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public VehicleDetailCache(RedisTemplate<String, Object> redisTemplate,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${vehicle.cache.local-max-size:1000}") int localMaxSize,
+                              @Value("${vehicle.cache.local-ttl:30s}") Duration localTtl,
+                              @Value("${vehicle.cache.redis-ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.localTtl = localTtl;
+        this.redisTtl = redisTtl;
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, LocalEntry> eldest) {
+                if (size() > localMaxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.localHits = Counter.builder("leafwheels.vehicle.cache.hits")
+                .description("Vehicle detail cache hits")
+                .tag("tier", "local")
+                .register(meterRegistry);
+        this.redisHits = Counter.builder("leafwheels.vehicle.cache.hits")
+                .description("Vehicle detail cache hits")
+                .tag("tier", "redis")
+                .register(meterRegistry);
+        this.misses = Counter.builder("leafwheels.vehicle.cache.misses")
+                .description("Vehicle detail cache misses that went to the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("leafwheels.vehicle.cache.evictions")
+                .description("Vehicle details evicted from the local cache because it was full")
+                .register(meterRegistry);
+        Gauge.builder("leafwheels.vehicle.cache.size", this, VehicleDetailCache::localSize)
+                .description("Vehicle details held in the local cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached vehicle, loading it with the given function inside a read-only transaction on a miss.
+     */
+    public VehicleDto get(UUID vehicleId, Function<UUID, VehicleDto> loader) {
+        VehicleDto cached = getLocal(vehicleId);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+
+        long seenLocally = currentLocalGeneration();
+        cached = getRemote(vehicleId);
+        if (cached != null) {
+            redisHits.increment();
+            putLocal(vehicleId, cached, seenLocally);
+            return cached;
+        }
+
+        misses.increment();
+        String seenRemotely = getRemoteGeneration(vehicleId);
+        VehicleDto loaded = readOnlyTransaction.execute(status -> loader.apply(vehicleId));
+        if (seenRemotely != null) {
+            putRemote(vehicleId, loaded, seenRemotely);
+        }
+        putLocal(vehicleId, loaded, seenLocally);
+        return loaded;
+    }
+
+    public void invalidate(Collection<UUID> vehicleIds) {
+        vehicleIds.forEach(this::evictLocal);
+        try {
+            for (UUID vehicleId : vehicleIds) {
+                redisTemplate.opsForValue().increment(generationKey(vehicleId));
+                redisTemplate.expire(generationKey(vehicleId), redisTtl);
+            }
+            redisTemplate.delete(vehicleIds.stream().map(VehicleDetailCache::key).toList());
+            vehicleIds.forEach(id -> redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id.toString()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to invalidate vehicle details {} in Redis: {}", vehicleIds, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehiclesChanged(VehiclesChangedEvent event) {
+        invalidate(event.vehicleIds());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evictLocal(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed vehicle cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private VehicleDto getLocal(UUID vehicleId) {
+        synchronized (local) {
+            LocalEntry entry = local.get(vehicleId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                local.remove(vehicleId);
+                return null;
+            }
+            return entry.vehicle();
+        }
+    }
+
+    /**
+     * Caches the vehicle unless something was evicted locally since {@code seenGeneration} was read. Any eviction
+     * counts, which is coarse but keeps the check to a single counter.
+     */
+    private void putLocal(UUID vehicleId, VehicleDto vehicle, long seenGeneration) {
+        synchronized (local) {
+            if (localGeneration == seenGeneration) {
+                local.put(vehicleId, new LocalEntry(vehicle, System.currentTimeMillis() + localTtl.toMillis()));
+            }
+        }
+    }
+
+    private void evictLocal(UUID vehicleId) {
+        synchronized (local) {
+            localGeneration++;
+            local.remove(vehicleId);
+        }
+    }
+
+    private long currentLocalGeneration() {
+        synchronized (local) {
+            return localGeneration;
+        }
+    }
+
+    private int localSize() {
+        synchronized (local) {
+            return local.size();
+        }
+    }
+
+    private VehicleDto getRemote(UUID vehicleId) {
+        try {
+            Object json = redisTemplate.opsForValue().get(key(vehicleId));
+            return json == null ? null : objectMapper.readValue(json.toString(), VehicleDto.class);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to read vehicle {} from Redis: {}", vehicleId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the invalidation generation of the vehicle, or null if Redis cannot be read and the loaded copy must
+     * not be shared.
+     */
+    private String getRemoteGeneration(UUID vehicleId) {
+        try {
+            Object generation = redisTemplate.opsForValue().get(generationKey(vehicleId));
+            return generation == null ? "0" : generation.toString();
+        } catch (DataAccessException e) {
+            log.warn("Failed to read cache generation of vehicle {} from Redis: {}", vehicleId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(UUID vehicleId, VehicleDto vehicle, String seenGeneration) {
+        try {
+            redisTemplate.execute(PUT_IF_CURRENT, List.of(key(vehicleId), generationKey(vehicleId)),
+                    seenGeneration, objectMapper.writeValueAsString(vehicle), String.valueOf(redisTtl.toMillis()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to write vehicle {} to Redis: {}", vehicleId, e.getMessage());
+        }
+    }
+
+    private static String key(UUID vehicleId) {
+        return KEY_PREFIX + vehicleId;
+    }
+
+    private static String generationKey(UUID vehicleId) {
+        return GENERATION_KEY_PREFIX + vehicleId;
+    }
+
+    private record LocalEntry(VehicleDto vehicle, long expiresAt) {
+    }
+}
@@ -11,6 +11,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -39,7 +40,8 @@ public class VehicleHistoryServiceImpl implements VehicleHistoryService {
         
         VehicleHistory vehicleHistory = vehicleHistoryMapper.vehicleHistoryDtoToVehicleHistory(vehicleHistoryDto);
         vehicleHistory.setVehicle(vehicle);
-        
+        touch(vehicle);
+
         return vehicleHistoryMapper.vehicleHistoryToVehicleHistoryDto(
                 vehicleHistoryRepository.save(vehicleHistory)
         );
@@ -50,11 +52,13 @@ public class VehicleHistoryServiceImpl implements VehicleHistoryService {
         VehicleHistory existing = vehicleHistoryRepository.findById(vehicleHistoryId)
                 .orElseThrow(() -> new EntityNotFoundException(vehicleHistoryId, VehicleHistory.class));
 
+        touch(existing.getVehicle());
         if (vehicleHistoryDto.getVehicleId() != null && 
             !vehicleHistoryDto.getVehicleId().equals(existing.getVehicle().getId())) {
             Vehicle vehicle = vehicleRepository.findById(vehicleHistoryDto.getVehicleId())
                     .orElseThrow(() -> new EntityNotFoundException(vehicleHistoryDto.getVehicleId(), Vehicle.class));
             existing.setVehicle(vehicle);
+            touch(vehicle);
         }
 
         vehicleHistoryMapper.vehicleHistoryDtoToVehicleHistoryUpdate(vehicleHistoryDto, existing);
@@ -65,10 +69,10 @@ public class VehicleHistoryServiceImpl implements VehicleHistoryService {
 
     @Override
     public void delete(UUID vehicleHistoryId) {
-        if (!vehicleHistoryRepository.existsById(vehicleHistoryId)) {
-            throw new EntityNotFoundException(vehicleHistoryId, VehicleHistory.class);
-        }
-        vehicleHistoryRepository.deleteById(vehicleHistoryId);
+        VehicleHistory existing = vehicleHistoryRepository.findById(vehicleHistoryId)
+                .orElseThrow(() -> new EntityNotFoundException(vehicleHistoryId, VehicleHistory.class));
+        touch(existing.getVehicle());
+        vehicleHistoryRepository.delete(existing);
     }
 
     @Override
@@ -82,4 +86,12 @@ public class VehicleHistoryServiceImpl implements VehicleHistoryService {
                 .map(vehicleHistoryMapper::vehicleHistoryToVehicleHistoryDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Vehicle responses embed the accident history, so a history change has to bump the vehicle's version and
+     * modification time. The resulting update also notifies the search index and detail cache.
+     */
+    private void touch(Vehicle vehicle) {
+        vehicle.setUpdatedAt(Instant.now());
+    }
 }
\ No newline at end of file
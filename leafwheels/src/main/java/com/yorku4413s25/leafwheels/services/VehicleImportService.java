@@ -0,0 +1,19 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.web.models.VehicleImportResultDto;
+
+import java.io.Reader;
+
+public interface VehicleImportService {
+
+    /**
+     * Imports vehicles from CSV with a header row naming {@code VehicleRequestDto} properties. Image URLs are
+     * separated by {@code |}.
+     */
+    VehicleImportResultDto importCsv(Reader csv);
+
+    /**
+     * Imports vehicles from newline-delimited JSON, one {@code VehicleRequestDto} per line.
+     */
+    VehicleImportResultDto importNdjson(Reader ndjson);
+}
@@ -0,0 +1,376 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.web.models.VehicleImportErrorDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleImportResultDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleRequestDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk vehicle import that bypasses the persistence context. Rows are parsed and validated one at a time and
+ * written with JDBC batch inserts, one transaction per batch, so a large feed never sits in memory and a bad
+ * batch only costs its own rows. Ids are generated here, which lets a whole batch go out in one round trip.
+ */
+@Service
+@Slf4j
+public class VehicleImportServiceImpl implements VehicleImportService {
+
+    private static final String INSERT_VEHICLE = """
+            INSERT INTO vehicles (id, "year", make, model, body_type, exterior_color, doors, seats, mileage,
+                                  battery_range, trim, price, discount_price, discount_percentage, discount_amount,
+                                  on_deal, vin, condition, description, status, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String INSERT_IMAGE_URL = "INSERT INTO vehicle_image_urls (vehicle_id, image_url) VALUES (?, ?)";
+    private static final String SELECT_INSERTED_IDS = "SELECT id FROM vehicles WHERE id IN (:ids)";
+    private static final String IMAGE_URL_SEPARATOR = "\\|";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatabaseMetricsService databaseMetricsService;
+    private final Counter vehicleCreationsCounter;
+    private final int batchSize;
+
+    public VehicleImportServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    DatabaseMetricsService databaseMetricsService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${vehicle.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(VehicleRequestDto.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.databaseMetricsService = databaseMetricsService;
+        this.vehicleCreationsCounter = Counter.builder("leafwheels.vehicle.creations")
+                .description("Number of vehicles created")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public VehicleImportResultDto importCsv(Reader csv) {
+        CsvRecordReader records = new CsvRecordReader(new BufferedReader(csv));
+        Import run = new Import();
+        try {
+            List<String> header = records.next();
+            if (header == null) {
+                return run.finish();
+            }
+            List<String> columns = header.stream().map(String::trim).toList();
+
+            List<String> record;
+            while ((record = records.next()) != null) {
+                long row = run.received + 1;
+                try {
+                    add(run, row, objectMapper.convertValue(toProperties(columns, record), VehicleRequestDto.class));
+                } catch (IllegalArgumentException e) {
+                    run.reject(row, null, describe(e));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    @Override
+    public VehicleImportResultDto importNdjson(Reader ndjson) {
+        BufferedReader lines = new BufferedReader(ndjson);
+        Import run = new Import();
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long row = run.received + 1;
+                try {
+                    add(run, row, requestReader.readValue(line));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    run.reject(row, null, describe(e));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    private void add(Import run, long row, VehicleRequestDto request) {
+        run.received++;
+        String problem = validate(request);
+        if (problem != null) {
+            run.rejectParsed(row, request.getVin(), problem);
+            return;
+        }
+
+        Vehicle vehicle = toVehicle(request);
+        Set<ConstraintViolation<Vehicle>> violations = validator.validate(vehicle);
+        if (!violations.isEmpty()) {
+            run.rejectParsed(row, request.getVin(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        run.pending.add(new PendingRow(row, vehicle));
+        if (run.pending.size() >= batchSize) {
+            run.flush();
+        }
+    }
+
+    private static String validate(VehicleRequestDto request) {
+        Map<String, Object> required = new LinkedHashMap<>();
+        required.put("make", request.getMake());
+        required.put("model", request.getModel());
+        required.put("bodyType", request.getBodyType());
+        required.put("price", request.getPrice());
+        required.put("vin", request.getVin());
+        required.put("condition", request.getCondition());
+        List<String> missing = required.entrySet().stream()
+                .filter(field -> field.getValue() == null
+                        || (field.getValue() instanceof String text && text.isBlank()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!missing.isEmpty()) {
+            return "Missing required fields: " + String.join(", ", missing);
+        }
+        if (request.getPrice().signum() < 0) {
+            return "Price cannot be negative";
+        }
+        return null;
+    }
+
+    private static Vehicle toVehicle(VehicleRequestDto request) {
+        Vehicle vehicle = Vehicle.builder()
+                .id(UUID.randomUUID())
+                .year(request.getYear())
+                .make(request.getMake())
+                .model(request.getModel())
+                .bodyType(request.getBodyType())
+                .exteriorColor(request.getExteriorColor())
+                .doors(request.getDoors())
+                .seats(request.getSeats())
+                .mileage(request.getMileage())
+                .batteryRange(request.getBatteryRange())
+                .trim(request.getTrim())
+                .price(request.getPrice())
+                .discountPercentage(request.getDiscountPercentage() != null ? request.getDiscountPercentage() : BigDecimal.ZERO)
+                .discountAmount(request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO)
+                .vin(request.getVin())
+                .condition(request.getCondition())
+                .description(request.getDescription())
+                .status(request.getStatus())
+                .imageUrls(request.getImageUrls() != null ? request.getImageUrls() : List.of())
+                .build();
+        vehicle.updateDiscountCalculations();
+        return vehicle;
+    }
+
+    private static Map<String, Object> toProperties(List<String> columns, List<String> record) {
+        if (record.size() > columns.size()) {
+            throw new IllegalArgumentException("Row has " + record.size() + " fields but the header has " + columns.size());
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < record.size(); i++) {
+            String value = record.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            if ("imageUrls".equals(columns.get(i))) {
+                properties.put("imageUrls", Arrays.stream(value.split(IMAGE_URL_SEPARATOR))
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .toList());
+            } else {
+                properties.put(columns.get(i), value);
+            }
+        }
+        return properties;
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof IllegalArgumentException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        return cause.getMessage();
+    }
+
+    /**
+     * Inserts the rows in one transaction and returns the ids that were actually written. Rows whose VIN already
+     * exists are skipped by the ON CONFLICT clause rather than aborting the batch; ids are fresh, so the VIN is the
+     * only key that can conflict.
+     */
+    private Set<UUID> insert(List<PendingRow> rows) {
+        var timer = databaseMetricsService.startQueryTimer();
+        databaseMetricsService.recordQuery("vehicle_bulk_insert");
+        try {
+            Set<UUID> inserted = batchTransaction.execute(status -> {
+                Instant now = Instant.now();
+                jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_VEHICLE, rows, rows.size(),
+                        (ps, row) -> bindVehicle(ps, row.vehicle(), now));
+
+                Set<UUID> written = new HashSet<>(jdbcTemplate.queryForList(SELECT_INSERTED_IDS,
+                        Map.of("ids", rows.stream().map(row -> row.vehicle().getId()).toList()), UUID.class));
+
+                List<Object[]> imageUrls = new ArrayList<>();
+                for (PendingRow row : rows) {
+                    if (written.contains(row.vehicle().getId())) {
+                        row.vehicle().getImageUrls().forEach(url -> imageUrls.add(new Object[]{row.vehicle().getId(), url}));
+                    }
+                }
+                if (!imageUrls.isEmpty()) {
+                    jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_IMAGE_URL, imageUrls);
+                }
+                if (!written.isEmpty()) {
+                    eventPublisher.publishEvent(new VehiclesChangedEvent(written));
+                }
+                return written;
+            });
+            databaseMetricsService.recordQueryTime(timer, "vehicle_bulk_insert");
+            return inserted;
+        } catch (DataAccessException e) {
+            databaseMetricsService.recordError("vehicle_bulk_insert", e);
+            throw e;
+        }
+    }
+
+    private static void bindVehicle(PreparedStatement ps, Vehicle vehicle, Instant now) throws SQLException {
+        OffsetDateTime timestamp = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+        ps.setObject(1, vehicle.getId());
+        ps.setInt(2, vehicle.getYear());
+        ps.setString(3, vehicle.getMake().name());
+        ps.setString(4, vehicle.getModel());
+        ps.setString(5, vehicle.getBodyType().name());
+        ps.setString(6, vehicle.getExteriorColor());
+        ps.setInt(7, vehicle.getDoors());
+        ps.setInt(8, vehicle.getSeats());
+        ps.setInt(9, vehicle.getMileage());
+        ps.setInt(10, vehicle.getBatteryRange());
+        ps.setString(11, vehicle.getTrim());
+        ps.setBigDecimal(12, vehicle.getPrice());
+        ps.setBigDecimal(13, vehicle.getDiscountPrice());
+        ps.setBigDecimal(14, vehicle.getDiscountPercentage());
+        ps.setBigDecimal(15, vehicle.getDiscountAmount());
+        ps.setObject(16, vehicle.getOnDeal(), Types.BOOLEAN);
+        ps.setString(17, vehicle.getVin());
+        ps.setString(18, vehicle.getCondition().name());
+        ps.setString(19, vehicle.getDescription());
+        ps.setString(20, vehicle.getStatus() != null ? vehicle.getStatus().name() : null);
+        ps.setObject(21, timestamp);
+        ps.setObject(22, timestamp);
+    }
+
+    private record PendingRow(long row, Vehicle vehicle) {
+    }
+
+    private final class Import {
+
+        private final List<PendingRow> pending = new ArrayList<>(batchSize);
+        private final List<VehicleImportErrorDto> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+
+        private void reject(long row, String vin, String message) {
+            received++;
+            rejectParsed(row, vin, message);
+        }
+
+        private void rejectParsed(long row, String vin, String message) {
+            errors.add(new VehicleImportErrorDto(row, vin, message));
+        }
+
+        /**
+         * Writes the pending rows. If the batch as a whole is refused, for example because one value exceeds a
+         * column length, the rows are retried one by one so that only the offending rows are rejected.
+         */
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                record(pending, insert(pending));
+            } catch (DataAccessException batchFailure) {
+                log.debug("Vehicle import batch failed, retrying rows individually: {}", batchFailure.getMessage());
+                for (PendingRow row : pending) {
+                    try {
+                        record(List.of(row), insert(List.of(row)));
+                    } catch (DataAccessException e) {
+                        rejectParsed(row.row(), row.vehicle().getVin(), e.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private void record(List<PendingRow> rows, Set<UUID> inserted) {
+            for (PendingRow row : rows) {
+                if (!inserted.contains(row.vehicle().getId())) {
+                    rejectParsed(row.row(), row.vehicle().getVin(), "A vehicle with this VIN already exists");
+                }
+            }
+            imported += inserted.size();
+            vehicleCreationsCounter.increment(inserted.size());
+        }
+
+        private VehicleImportResultDto finish() {
+            flush();
+            errors.sort(Comparator.comparingLong(VehicleImportErrorDto::getRow));
+            return VehicleImportResultDto.builder()
+                    .received(received)
+                    .imported(imported)
+                    .rejected(errors.size())
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
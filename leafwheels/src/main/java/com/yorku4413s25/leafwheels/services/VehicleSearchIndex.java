@@ -0,0 +1,513 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
+import com.yorku4413s25.leafwheels.web.models.PriceRangeFacetDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleFacetsDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory copy of the vehicle catalog used to answer {@code filterVehicles} without a database round trip.
+ * Every vehicle occupies a slot; equality filters are answered with one bitmap per attribute value and range
+ * filters and sorts with arrays of slots ordered by value.
+ */
+@Component
+public class VehicleSearchIndex {
+
+    public static final List<BigDecimal> PRICE_RANGE_BOUNDS = List.of(
+            new BigDecimal("30000"), new BigDecimal("50000"), new BigDecimal("75000"), new BigDecimal("100000"));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+
+    private final Map<Make, BitSet> byMake = new EnumMap<>(Make.class);
+    private final Map<BodyType, BitSet> byBodyType = new EnumMap<>(BodyType.class);
+    private final Map<Condition, BitSet> byCondition = new EnumMap<>(Condition.class);
+    private final Map<VehicleStatus, BitSet> byStatus = new EnumMap<>(VehicleStatus.class);
+    private final Map<Integer, BitSet> byDoors = new HashMap<>();
+    private final Map<Integer, BitSet> bySeats = new HashMap<>();
+    private final Map<String, BitSet> byColor = new HashMap<>();
+    private final Map<String, BitSet> byModel = new HashMap<>();
+    private final Map<Boolean, BitSet> byOnDeal = new HashMap<>();
+    private final Map<Boolean, BitSet> byAccidentHistory = new HashMap<>();
+
+    private final SortedColumn<BigDecimal> priceColumn = new SortedColumn<>(Entry::price);
+    private final SortedColumn<BigDecimal> discountPriceColumn = new SortedColumn<>(Entry::discountPrice);
+    private final SortedColumn<Integer> mileageColumn = new SortedColumn<>(Entry::mileage);
+    private final SortedColumn<Integer> batteryRangeColumn = new SortedColumn<>(Entry::batteryRange);
+    private final SortedColumn<Integer> yearColumn = new SortedColumn<>(Entry::year);
+
+    private final Map<String, SortedColumn<?>> sortColumns = Map.of(
+            "price", priceColumn,
+            "discountPrice", discountPriceColumn,
+            "mileage", mileageColumn,
+            "batteryRange", batteryRangeColumn,
+            "year", yearColumn
+    );
+
+    private volatile boolean columnsDirty;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean supports(VehicleSearchCriteria criteria, Pageable pageable) {
+        if (!ready) {
+            return false;
+        }
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1) {
+            return false;
+        }
+        Sort.Order order = orders.get(0);
+        return sortColumns.containsKey(order.getProperty())
+                && !order.isIgnoreCase()
+                && order.getNullHandling() == Sort.NullHandling.NATIVE;
+    }
+
+    /**
+     * Returns the ids of the requested page in sort order, together with the total number of matches.
+     */
+    public Page<UUID> search(VehicleSearchCriteria criteria, Pageable pageable) {
+        return page(criteria, pageable, Entry::id);
+    }
+
+    /**
+     * Returns the listing cards of the requested page straight from the index, without touching the database.
+     */
+    public Page<VehicleCardDto> searchCards(VehicleSearchCriteria criteria, Pageable pageable) {
+        return page(criteria, pageable, Entry::toCard);
+    }
+
+    /**
+     * Counts matches per make, body type, condition and price range. Each facet ignores its own filter so the
+     * sidebar can show how many vehicles another value would return.
+     */
+    public VehicleFacetsDto facets(VehicleSearchCriteria criteria) {
+        return read(() -> {
+            VehicleSearchCriteria withoutMake = copyOf(criteria);
+            withoutMake.setMake(null);
+            VehicleSearchCriteria withoutBodyType = copyOf(criteria);
+            withoutBodyType.setBodyType(null);
+            VehicleSearchCriteria withoutCondition = copyOf(criteria);
+            withoutCondition.setCondition(null);
+            VehicleSearchCriteria withoutPrice = copyOf(criteria);
+            withoutPrice.setMinPrice(null);
+            withoutPrice.setMaxPrice(null);
+
+            BitSet priceBase = match(withoutPrice);
+            List<PriceRangeFacetDto> priceRanges = new ArrayList<>();
+            for (int i = 0; i <= PRICE_RANGE_BOUNDS.size(); i++) {
+                BigDecimal min = i == 0 ? null : PRICE_RANGE_BOUNDS.get(i - 1);
+                BigDecimal max = i == PRICE_RANGE_BOUNDS.size() ? null : PRICE_RANGE_BOUNDS.get(i);
+                BitSet inRange = priceColumn.range(min, max);
+                inRange.and(priceBase);
+                priceRanges.add(new PriceRangeFacetDto(min, max, inRange.cardinality()));
+            }
+
+            return VehicleFacetsDto.builder()
+                    .total(match(criteria).cardinality())
+                    .makes(countBy(byMake, match(withoutMake), new EnumMap<>(Make.class)))
+                    .bodyTypes(countBy(byBodyType, match(withoutBodyType), new EnumMap<>(BodyType.class)))
+                    .conditions(countBy(byCondition, match(withoutCondition), new EnumMap<>(Condition.class)))
+                    .priceRanges(priceRanges)
+                    .build();
+        });
+    }
+
+    public void replaceAll(Collection<Vehicle> vehicles, Set<UUID> vehiclesWithAccidents) {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            entries.clear();
+            freeSlots.clear();
+            live.clear();
+            List.<Map<?, BitSet>>of(byMake, byBodyType, byCondition, byStatus, byDoors, bySeats, byColor, byModel,
+                            byOnDeal, byAccidentHistory)
+                    .forEach(Map::clear);
+            vehicles.forEach(vehicle -> put(Entry.of(vehicle, vehiclesWithAccidents.contains(vehicle.getId()))));
+            columnsDirty = true;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Vehicle vehicle, boolean hasAccidentHistory) {
+        Entry entry = Entry.of(vehicle, hasAccidentHistory);
+        lock.writeLock().lock();
+        try {
+            put(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID vehicleId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(vehicleId);
+            if (slot == null) {
+                return;
+            }
+            unindex(slot, entries.get(slot));
+            entries.set(slot, null);
+            live.clear(slot);
+            freeSlots.push(slot);
+            columnsDirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Entry entry) {
+        Integer existing = slotsById.get(entry.id());
+        if (existing != null) {
+            Entry previous = entries.get(existing);
+            unindex(existing, previous);
+            entries.set(existing, entry);
+            index(existing, entry);
+            if (!entry.hasSameSortKeys(previous)) {
+                columnsDirty = true;
+            }
+            return;
+        }
+
+        int slot = freeSlots.isEmpty() ? entries.size() : freeSlots.pop();
+        if (slot == entries.size()) {
+            entries.add(entry);
+        } else {
+            entries.set(slot, entry);
+        }
+        slotsById.put(entry.id(), slot);
+        live.set(slot);
+        index(slot, entry);
+        columnsDirty = true;
+    }
+
+    private void index(int slot, Entry entry) {
+        mark(byMake, entry.make(), slot);
+        mark(byBodyType, entry.bodyType(), slot);
+        mark(byCondition, entry.condition(), slot);
+        mark(byStatus, entry.status(), slot);
+        mark(byDoors, entry.doors(), slot);
+        mark(bySeats, entry.seats(), slot);
+        mark(byColor, entry.exteriorColor(), slot);
+        mark(byModel, entry.model(), slot);
+        mark(byOnDeal, entry.onDeal(), slot);
+        mark(byAccidentHistory, entry.hasAccidentHistory(), slot);
+    }
+
+    private void unindex(int slot, Entry entry) {
+        unmark(byMake, entry.make(), slot);
+        unmark(byBodyType, entry.bodyType(), slot);
+        unmark(byCondition, entry.condition(), slot);
+        unmark(byStatus, entry.status(), slot);
+        unmark(byDoors, entry.doors(), slot);
+        unmark(bySeats, entry.seats(), slot);
+        unmark(byColor, entry.exteriorColor(), slot);
+        unmark(byModel, entry.model(), slot);
+        unmark(byOnDeal, entry.onDeal(), slot);
+        unmark(byAccidentHistory, entry.hasAccidentHistory(), slot);
+    }
+
+    private <T> Page<T> page(VehicleSearchCriteria criteria, Pageable pageable, Function<Entry, T> mapper) {
+        return read(() -> {
+            BitSet matches = match(criteria);
+            IntStream ordered = orderedSlots(matches, pageable.getSort());
+            if (pageable.isPaged()) {
+                ordered = ordered.skip(pageable.getOffset()).limit(pageable.getPageSize());
+            }
+            List<T> content = ordered.mapToObj(slot -> mapper.apply(entries.get(slot))).toList();
+            return new PageImpl<>(content, pageable, matches.cardinality());
+        });
+    }
+
+    private BitSet match(VehicleSearchCriteria criteria) {
+        BitSet result = (BitSet) live.clone();
+        restrict(result, byMake, criteria.getMake());
+        restrict(result, byModel, criteria.getModel());
+        restrict(result, byBodyType, criteria.getBodyType());
+        restrict(result, byColor, criteria.getExteriorColor());
+        restrict(result, byDoors, criteria.getDoors());
+        restrict(result, bySeats, criteria.getSeats());
+        restrict(result, byOnDeal, criteria.getOnDeal());
+        restrict(result, byCondition, criteria.getCondition());
+        restrict(result, byAccidentHistory, criteria.getHasAccidentHistory());
+
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            BitSet anyStatus = new BitSet();
+            for (VehicleStatus status : criteria.getStatuses()) {
+                BitSet matching = byStatus.get(status);
+                if (matching != null) {
+                    anyStatus.or(matching);
+                }
+            }
+            result.and(anyStatus);
+        }
+
+        if (criteria.getYear() != null) {
+            result.and(yearColumn.between(criteria.getYear(), criteria.getYear()));
+        }
+        if (criteria.getMinMileage() != null || criteria.getMaxMileage() != null) {
+            result.and(mileageColumn.between(criteria.getMinMileage(), criteria.getMaxMileage()));
+        }
+        if (criteria.getMinBatteryRange() != null || criteria.getMaxBatteryRange() != null) {
+            result.and(batteryRangeColumn.between(criteria.getMinBatteryRange(), criteria.getMaxBatteryRange()));
+        }
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            result.and(priceColumn.between(criteria.getMinPrice(), criteria.getMaxPrice()));
+        }
+        return result;
+    }
+
+    private IntStream orderedSlots(BitSet matches, Sort sort) {
+        if (sort.isUnsorted()) {
+            return matches.stream();
+        }
+        Sort.Order order = sort.iterator().next();
+        return sortColumns.get(order.getProperty()).slots(order.isAscending()).filter(matches::get);
+    }
+
+    private <R> R read(Supplier<R> query) {
+        while (true) {
+            refreshColumns();
+            lock.readLock().lock();
+            try {
+                if (!columnsDirty) {
+                    return query.get();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private void refreshColumns() {
+        if (!columnsDirty) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (columnsDirty) {
+                sortColumns.values().forEach(SortedColumn::rebuild);
+                columnsDirty = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <K> void mark(Map<K, BitSet> bitmap, K key, int slot) {
+        if (key != null) {
+            bitmap.computeIfAbsent(key, k -> new BitSet()).set(slot);
+        }
+    }
+
+    private static <K> void unmark(Map<K, BitSet> bitmap, K key, int slot) {
+        if (key == null) {
+            return;
+        }
+        BitSet slots = bitmap.get(key);
+        if (slots != null) {
+            slots.clear(slot);
+            if (slots.isEmpty()) {
+                bitmap.remove(key);
+            }
+        }
+    }
+
+    private static <K> Map<K, Long> countBy(Map<K, BitSet> bitmap, BitSet base, Map<K, Long> counts) {
+        bitmap.forEach((key, slots) -> {
+            BitSet matching = (BitSet) slots.clone();
+            matching.and(base);
+            if (!matching.isEmpty()) {
+                counts.put(key, (long) matching.cardinality());
+            }
+        });
+        return counts;
+    }
+
+    private static VehicleSearchCriteria copyOf(VehicleSearchCriteria criteria) {
+        return criteria.toBuilder().build();
+    }
+
+    private static <K> void restrict(BitSet result, Map<K, BitSet> bitmap, K key) {
+        if (key == null) {
+            return;
+        }
+        BitSet matching = bitmap.get(key);
+        if (matching == null) {
+            result.clear();
+        } else {
+            result.and(matching);
+        }
+    }
+
+    /**
+     * Live slots ordered by one attribute. Slots without a value are kept aside and sorted the way Postgres
+     * does it: last when ascending, first when descending.
+     */
+    private final class SortedColumn<T extends Comparable<? super T>> {
+
+        private final Function<Entry, T> extractor;
+        private final BitSet nulls = new BitSet();
+        private int[] order = new int[0];
+        private List<T> values = List.of();
+
+        private SortedColumn(Function<Entry, T> extractor) {
+            this.extractor = extractor;
+        }
+
+        private void rebuild() {
+            List<Integer> slots = new ArrayList<>();
+            nulls.clear();
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                if (extractor.apply(entries.get(slot)) == null) {
+                    nulls.set(slot);
+                } else {
+                    slots.add(slot);
+                }
+            }
+            slots.sort(Comparator.comparing((Integer slot) -> extractor.apply(entries.get(slot))));
+
+            order = slots.stream().mapToInt(Integer::intValue).toArray();
+            List<T> sortedValues = new ArrayList<>(order.length);
+            for (int slot : order) {
+                sortedValues.add(extractor.apply(entries.get(slot)));
+            }
+            values = sortedValues;
+        }
+
+        private BitSet between(T min, T max) {
+            int from = min == null ? 0 : firstIndexAfter(min, false);
+            return slice(from, max == null ? order.length : firstIndexAfter(max, true));
+        }
+
+        private BitSet range(T min, T maxExclusive) {
+            int from = min == null ? 0 : firstIndexAfter(min, false);
+            return slice(from, maxExclusive == null ? order.length : firstIndexAfter(maxExclusive, false));
+        }
+
+        private BitSet slice(int from, int to) {
+            BitSet result = new BitSet();
+            for (int i = from; i < to; i++) {
+                result.set(order[i]);
+            }
+            return result;
+        }
+
+        private IntStream slots(boolean ascending) {
+            if (ascending) {
+                return IntStream.concat(Arrays.stream(order), nulls.stream());
+            }
+            int last = order.length - 1;
+            return IntStream.concat(nulls.stream(), IntStream.rangeClosed(0, last).map(i -> order[last - i]));
+        }
+
+        private int firstIndexAfter(T key, boolean skipEqual) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = values.get(mid).compareTo(key);
+                if (cmp < 0 || (skipEqual && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record Entry(UUID id, Integer year, Make make, String model, String trim, BodyType bodyType,
+                         String exteriorColor, Integer doors, Integer seats, Integer mileage, Integer batteryRange,
+                         BigDecimal price, BigDecimal discountPrice, Boolean onDeal, Condition condition,
+                         VehicleStatus status, String thumbnailUrl, boolean hasAccidentHistory) {
+
+        private static Entry of(Vehicle vehicle, boolean hasAccidentHistory) {
+            return new Entry(
+                    vehicle.getId(),
+                    vehicle.getYear(),
+                    vehicle.getMake(),
+                    vehicle.getModel(),
+                    vehicle.getTrim(),
+                    vehicle.getBodyType(),
+                    vehicle.getExteriorColor(),
+                    vehicle.getDoors(),
+                    vehicle.getSeats(),
+                    vehicle.getMileage(),
+                    vehicle.getBatteryRange(),
+                    vehicle.getPrice(),
+                    vehicle.getDiscountPrice(),
+                    vehicle.getOnDeal(),
+                    vehicle.getCondition(),
+                    vehicle.getStatus(),
+                    vehicle.thumbnailUrl(),
+                    hasAccidentHistory
+            );
+        }
+
+        private VehicleCardDto toCard() {
+            return new VehicleCardDto(id, year, make, model, trim, bodyType, exteriorColor, mileage, batteryRange,
+                    price, discountPrice, onDeal, condition, status, thumbnailUrl);
+        }
+
+        private boolean hasSameSortKeys(Entry other) {
+            return Objects.equals(year, other.year)
+                    && Objects.equals(mileage, other.mileage)
+                    && Objects.equals(batteryRange, other.batteryRange)
+                    && Objects.equals(price, other.price)
+                    && Objects.equals(discountPrice, other.discountPrice);
+        }
+    }
+}
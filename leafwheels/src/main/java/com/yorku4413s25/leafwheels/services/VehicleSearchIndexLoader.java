@@ -0,0 +1,73 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.VehicleHistoryRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fills the {@link VehicleSearchIndex} once the application is up and re-reads changed vehicles after every commit.
+ */
+@Component
+@Slf4j
+public class VehicleSearchIndexLoader {
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleHistoryRepository vehicleHistoryRepository;
+    private final VehicleSearchIndex vehicleSearchIndex;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public VehicleSearchIndexLoader(VehicleRepository vehicleRepository,
+                                    VehicleHistoryRepository vehicleHistoryRepository,
+                                    VehicleSearchIndex vehicleSearchIndex,
+                                    PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.vehicleHistoryRepository = vehicleHistoryRepository;
+        this.vehicleSearchIndex = vehicleSearchIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    vehicleSearchIndex.replaceAll(vehicleRepository.findAll(),
+                            vehicleHistoryRepository.findVehicleIdsWithHistory()));
+            log.info("Vehicle search index loaded with {} vehicles", vehicleSearchIndex.size());
+        } catch (Exception e) {
+            log.warn("Failed to load vehicle search index, filtering stays on the database: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehiclesChanged(VehiclesChangedEvent event) {
+        if (!vehicleSearchIndex.isReady()) {
+            return;
+        }
+        // Entries read the lazy image URLs, so they have to be built while the session is still open.
+        Set<UUID> missing = new HashSet<>(event.vehicleIds());
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Set<UUID> withAccidents = new HashSet<>(
+                    vehicleHistoryRepository.findVehicleIdsWithHistoryIn(event.vehicleIds()));
+            for (Vehicle vehicle : vehicleRepository.findAllById(event.vehicleIds())) {
+                vehicleSearchIndex.upsert(vehicle, withAccidents.contains(vehicle.getId()));
+                missing.remove(vehicle.getId());
+            }
+        });
+        missing.forEach(vehicleSearchIndex::remove);
+    }
+}
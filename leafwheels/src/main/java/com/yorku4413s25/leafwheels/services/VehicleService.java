@@ -4,17 +4,29 @@ import com.yorku4413s25.leafwheels.constants.BodyType;
 import com.yorku4413s25.leafwheels.constants.Condition;
 import com.yorku4413s25.leafwheels.constants.Make;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleFacetsDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface VehicleService {
     VehicleDto getById(UUID vehicleId);
 
+    /**
+     * Fingerprint of the vehicles with any of the given statuses, or of all vehicles when statuses is null.
+     */
+    CollectionVersion getCatalogVersion(List<VehicleStatus> statuses);
+
     VehicleDto create(VehicleDto vehicleDto);
 
     VehicleDto updateById(UUID vehicleId, VehicleDto vehicleDto);
@@ -44,11 +56,27 @@ public interface VehicleService {
             Pageable pageable
     );
 
+    /**
+     * Filters like {@link #filterVehicles} but returns only the fields a listing card shows.
+     */
+    Page<VehicleCardDto> filterVehicleCards(VehicleSearchCriteria criteria, Pageable pageable);
+
+    CursorPageDto<VehicleDto> filterVehiclesAfter(VehicleSearchCriteria criteria, String cursor, int size,
+                                                  Sort sort, boolean includeTotal);
+
+    VehicleFacetsDto getFacets(VehicleSearchCriteria criteria);
+
     List<VehicleDto> getVehiclesByStatus(List<VehicleStatus> statuses);
 
     List<VehicleDto> getVehiclesExcludingStatus(List<VehicleStatus> excludedStatuses);
 
     List<VehicleDto> getAvailableVehicles();
 
+    /**
+     * Streams vehicles with any of the given statuses, or all vehicles when statuses is null, to the sink one at a
+     * time without materializing the result.
+     */
+    void streamVehicles(List<VehicleStatus> statuses, Consumer<VehicleDto> sink);
+
     VehicleDto addImageUrls(UUID vehicleId, List<String> imageUrls);
 }
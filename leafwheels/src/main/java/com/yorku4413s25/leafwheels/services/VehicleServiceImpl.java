@@ -4,37 +4,59 @@ import com.yorku4413s25.leafwheels.constants.BodyType;
 import com.yorku4413s25.leafwheels.constants.Condition;
 import com.yorku4413s25.leafwheels.constants.Make;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
 import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleFacetGroup;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
 import com.yorku4413s25.leafwheels.domain.VehicleSpecification;
 import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
 import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
 import com.yorku4413s25.leafwheels.web.mappers.VehicleMapper;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
+import com.yorku4413s25.leafwheels.web.models.PriceRangeFacetDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleFacetsDto;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class VehicleServiceImpl implements VehicleService {
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "year", "price", "mileage", "batteryRange", "createdAt");
+
     private final VehicleRepository vehicleRepository;
     private final VehicleMapper vehicleMapper;
     private final MeterRegistry meterRegistry;
     private final DatabaseMetricsService databaseMetricsService;
+    private final VehicleSearchIndex vehicleSearchIndex;
+    private final VehicleDetailCache vehicleDetailCache;
+    private final EntityManager entityManager;
     
     private final Counter vehicleViewsCounter;
     private final Counter vehicleSearchesCounter;
@@ -43,11 +65,17 @@ public class VehicleServiceImpl implements VehicleService {
     public VehicleServiceImpl(VehicleRepository vehicleRepository, 
                              VehicleMapper vehicleMapper, 
                              MeterRegistry meterRegistry,
-                             DatabaseMetricsService databaseMetricsService) {
+                             DatabaseMetricsService databaseMetricsService,
+                             VehicleSearchIndex vehicleSearchIndex,
+                             VehicleDetailCache vehicleDetailCache,
+                             EntityManager entityManager) {
         this.vehicleRepository = vehicleRepository;
         this.vehicleMapper = vehicleMapper;
         this.meterRegistry = meterRegistry;
         this.databaseMetricsService = databaseMetricsService;
+        this.vehicleSearchIndex = vehicleSearchIndex;
+        this.vehicleDetailCache = vehicleDetailCache;
+        this.entityManager = entityManager;
         
         this.vehicleViewsCounter = Counter.builder("leafwheels.vehicle.views")
                 .description("Number of vehicle detail views")
@@ -61,22 +89,18 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public VehicleDto getById(UUID vehicleId) {
         vehicleViewsCounter.increment();
-        
-        var timer = databaseMetricsService.startQueryTimer();
-        try {
-            databaseMetricsService.recordQuery("vehicle_select");
-            VehicleDto result = vehicleMapper.vehicleToVehicleDto(
-                    vehicleRepository.findById(vehicleId)
-                            .orElseThrow(() -> new EntityNotFoundException(vehicleId, Vehicle.class))
-            );
-            databaseMetricsService.recordQueryTime(timer, "vehicle_select");
-            return result;
-        } catch (Exception e) {
-            databaseMetricsService.recordError("vehicle_select", e);
-            throw e;
-        }
+        return vehicleDetailCache.get(vehicleId, this::loadById);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getCatalogVersion(List<VehicleStatus> statuses) {
+        return statuses == null
+                ? vehicleRepository.findCollectionVersion()
+                : vehicleRepository.findCollectionVersionByStatusIn(statuses);
     }
 
     @Override
@@ -148,31 +172,95 @@ public class VehicleServiceImpl implements VehicleService {
             Pageable pageable
     ) {
         vehicleSearchesCounter.increment();
-        List<Specification<Vehicle>> specs = new ArrayList<>();
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder()
+                .year(year)
+                .make(make)
+                .model(model)
+                .bodyType(bodyType)
+                .exteriorColor(exteriorColor)
+                .doors(doors)
+                .seats(seats)
+                .minMileage(minMileage)
+                .maxMileage(maxMileage)
+                .minBatteryRange(minBatteryRange)
+                .maxBatteryRange(maxBatteryRange)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .onDeal(onDeal)
+                .condition(condition)
+                .statuses(statuses)
+                .hasAccidentHistory(hasAccidentHistory)
+                .build();
 
-        addIfNotNull(specs, year, VehicleSpecification::hasYear);
-        addIfNotNull(specs, make, VehicleSpecification::hasMake);
-        addIfNotNull(specs, model, VehicleSpecification::hasModel);
-        addIfNotNull(specs, bodyType, VehicleSpecification::hasBodyType);
-        addIfNotNull(specs, exteriorColor, VehicleSpecification::hasExteriorColor);
-        addIfNotNull(specs, doors, VehicleSpecification::hasDoors);
-        addIfNotNull(specs, seats, VehicleSpecification::hasSeats);
-        if (minMileage != null || maxMileage != null)
-            specs.add(VehicleSpecification.hasMileageBetween(minMileage, maxMileage));
-        if (minBatteryRange != null || maxBatteryRange != null)
-            specs.add(VehicleSpecification.hasBatteryRangeBetween(minBatteryRange, maxBatteryRange));
-        if (minPrice != null || maxPrice != null)
-            specs.add(VehicleSpecification.hasPriceBetween(minPrice, maxPrice));
-        addIfNotNull(specs, onDeal, VehicleSpecification::hasOnDeal);
-        addIfNotNull(specs, condition, VehicleSpecification::hasCondition);
-        addIfNotNull(specs, statuses, VehicleSpecification::hasStatusIn);
-        addIfNotNull(specs, hasAccidentHistory, VehicleSpecification::hasAccidentHistory);
-
-        Specification<Vehicle> finalSpec = Specification.allOf(specs);
-        Page<Vehicle> vehicles = vehicleRepository.findAll(finalSpec, pageable);
+        if (vehicleSearchIndex.supports(criteria, pageable)) {
+            Page<UUID> ids = vehicleSearchIndex.search(criteria, pageable);
+            return new PageImpl<>(loadInOrder(ids.getContent()), pageable, ids.getTotalElements());
+        }
+
+        Page<Vehicle> vehicles = vehicleRepository.findAll(buildSpecification(criteria), pageable);
         return vehicles.map(vehicleMapper::vehicleToVehicleDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VehicleCardDto> filterVehicleCards(VehicleSearchCriteria criteria, Pageable pageable) {
+        vehicleSearchesCounter.increment();
+        if (vehicleSearchIndex.supports(criteria, pageable)) {
+            return vehicleSearchIndex.searchCards(criteria, pageable);
+        }
+        return vehicleRepository.findCards(buildSpecification(criteria), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<VehicleDto> filterVehiclesAfter(VehicleSearchCriteria criteria, String cursor, int size,
+                                                         Sort sort, boolean includeTotal) {
+        vehicleSearchesCounter.increment();
+        Sort.Order order = keysetOrder(sort);
+        Specification<Vehicle> filter = buildSpecification(criteria);
+
+        Specification<Vehicle> remaining = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (!position.matches(order)) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            remaining = filter.and(seekAfter(position));
+        }
+
+        Sort keysetSort = Sort.by(order);
+        if (!"id".equals(order.getProperty())) {
+            keysetSort = keysetSort.and(Sort.by(order.getDirection(), "id"));
+        }
+        Sort finalSort = keysetSort;
+        List<Vehicle> rows = vehicleRepository.findBy(remaining, query -> query.sortBy(finalSort).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<Vehicle> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Vehicle last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(order.getProperty(), order.getDirection(),
+                    keysetValue(last, order.getProperty()), last.getId()).encode();
+        }
+
+        return CursorPageDto.<VehicleDto>builder()
+                .content(content.stream().map(vehicleMapper::vehicleToVehicleDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .totalElements(includeTotal ? vehicleRepository.count(filter) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VehicleFacetsDto getFacets(VehicleSearchCriteria criteria) {
+        vehicleSearchesCounter.increment();
+        if (vehicleSearchIndex.supports(criteria, Pageable.unpaged())) {
+            return vehicleSearchIndex.facets(criteria);
+        }
+        return countFacets(criteria);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<VehicleDto> getVehiclesByStatus(List<VehicleStatus> statuses) {
@@ -200,6 +288,19 @@ public class VehicleServiceImpl implements VehicleService {
         return getVehiclesByStatus(availableStatuses);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamVehicles(List<VehicleStatus> statuses, Consumer<VehicleDto> sink) {
+        try (Stream<Vehicle> vehicles = statuses == null
+                ? vehicleRepository.streamAll()
+                : vehicleRepository.streamByStatusIn(statuses)) {
+            vehicles.forEach(vehicle -> {
+                sink.accept(vehicleMapper.vehicleToVehicleDto(vehicle));
+                entityManager.detach(vehicle);
+            });
+        }
+    }
+
     @Override
     public VehicleDto addImageUrls(UUID vehicleId, List<String> imageUrls) {
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
@@ -214,6 +315,157 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
 
+    private VehicleDto loadById(UUID vehicleId) {
+        var timer = databaseMetricsService.startQueryTimer();
+        try {
+            databaseMetricsService.recordQuery("vehicle_select");
+            VehicleDto result = vehicleMapper.vehicleToVehicleDto(
+                    vehicleRepository.findById(vehicleId)
+                            .orElseThrow(() -> new EntityNotFoundException(vehicleId, Vehicle.class))
+            );
+            databaseMetricsService.recordQueryTime(timer, "vehicle_select");
+            return result;
+        } catch (Exception e) {
+            databaseMetricsService.recordError("vehicle_select", e);
+            throw e;
+        }
+    }
+
+    private List<VehicleDto> loadInOrder(List<UUID> vehicleIds) {
+        Map<UUID, Vehicle> vehiclesById = vehicleRepository.findAllById(vehicleIds).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        return vehicleIds.stream()
+                .map(vehiclesById::get)
+                .filter(Objects::nonNull)
+                .map(vehicleMapper::vehicleToVehicleDto)
+                .collect(Collectors.toList());
+    }
+
+    private Sort.Order keysetOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.asc("id");
+        }
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 || !KEYSET_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by a single property out of " + KEYSET_PROPERTIES);
+        }
+        return order;
+    }
+
+    private Specification<Vehicle> seekAfter(KeysetCursor cursor) {
+        boolean ascending = cursor.direction().isAscending();
+        return switch (cursor.property()) {
+            case "id" -> VehicleSpecification.isAfter("id", cursor.id(), cursor.id(), ascending);
+            case "price" -> VehicleSpecification.isAfter("price", decimalValue(cursor), cursor.id(), ascending);
+            case "createdAt" -> VehicleSpecification.isAfter("createdAt", cursor.instantValue(), cursor.id(), ascending);
+            case "year", "mileage", "batteryRange" ->
+                    VehicleSpecification.isAfter(cursor.property(), Integer.valueOf(cursor.value()), cursor.id(), ascending);
+            default -> throw new IllegalArgumentException("Unsupported cursor property: " + cursor.property());
+        };
+    }
+
+    private static BigDecimal decimalValue(KeysetCursor cursor) {
+        try {
+            return new BigDecimal(cursor.value());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private String keysetValue(Vehicle vehicle, String property) {
+        return switch (property) {
+            case "id" -> vehicle.getId().toString();
+            case "price" -> vehicle.getPrice().toPlainString();
+            case "createdAt" -> vehicle.getCreatedAt().toString();
+            case "year" -> String.valueOf(vehicle.getYear());
+            case "mileage" -> String.valueOf(vehicle.getMileage());
+            case "batteryRange" -> String.valueOf(vehicle.getBatteryRange());
+            default -> throw new IllegalArgumentException("Unsupported cursor property: " + property);
+        };
+    }
+
+    private VehicleFacetsDto countFacets(VehicleSearchCriteria criteria) {
+        VehicleSearchCriteria unfaceted = criteria.toBuilder()
+                .make(null)
+                .bodyType(null)
+                .condition(null)
+                .minPrice(null)
+                .maxPrice(null)
+                .build();
+
+        Map<Make, Long> makes = new EnumMap<>(Make.class);
+        Map<BodyType, Long> bodyTypes = new EnumMap<>(BodyType.class);
+        Map<Condition, Long> conditions = new EnumMap<>(Condition.class);
+        long[] priceCounts = new long[VehicleSearchIndex.PRICE_RANGE_BOUNDS.size() + 1];
+        long total = 0;
+
+        for (VehicleFacetGroup group : vehicleRepository.countFacetGroups(buildSpecification(unfaceted),
+                criteria.getMinPrice(), criteria.getMaxPrice(), VehicleSearchIndex.PRICE_RANGE_BOUNDS)) {
+            boolean makeMatches = criteria.getMake() == null || criteria.getMake() == group.make();
+            boolean bodyTypeMatches = criteria.getBodyType() == null || criteria.getBodyType() == group.bodyType();
+            boolean conditionMatches = criteria.getCondition() == null || criteria.getCondition() == group.condition();
+            boolean priceMatches = group.priceMatches();
+
+            if (bodyTypeMatches && conditionMatches && priceMatches) {
+                makes.merge(group.make(), group.count(), Long::sum);
+            }
+            if (makeMatches && conditionMatches && priceMatches) {
+                bodyTypes.merge(group.bodyType(), group.count(), Long::sum);
+            }
+            if (makeMatches && bodyTypeMatches && priceMatches) {
+                conditions.merge(group.condition(), group.count(), Long::sum);
+            }
+            if (makeMatches && bodyTypeMatches && conditionMatches) {
+                priceCounts[group.priceRange()] += group.count();
+                if (priceMatches) {
+                    total += group.count();
+                }
+            }
+        }
+
+        List<BigDecimal> bounds = VehicleSearchIndex.PRICE_RANGE_BOUNDS;
+        List<PriceRangeFacetDto> priceRanges = new ArrayList<>();
+        for (int i = 0; i < priceCounts.length; i++) {
+            priceRanges.add(new PriceRangeFacetDto(
+                    i == 0 ? null : bounds.get(i - 1),
+                    i == bounds.size() ? null : bounds.get(i),
+                    priceCounts[i]));
+        }
+
+        return VehicleFacetsDto.builder()
+                .total(total)
+                .makes(makes)
+                .bodyTypes(bodyTypes)
+                .conditions(conditions)
+                .priceRanges(priceRanges)
+                .build();
+    }
+
+    private Specification<Vehicle> buildSpecification(VehicleSearchCriteria criteria) {
+        List<Specification<Vehicle>> specs = new ArrayList<>();
+
+        addIfNotNull(specs, criteria.getYear(), VehicleSpecification::hasYear);
+        addIfNotNull(specs, criteria.getMake(), VehicleSpecification::hasMake);
+        addIfNotNull(specs, criteria.getModel(), VehicleSpecification::hasModel);
+        addIfNotNull(specs, criteria.getBodyType(), VehicleSpecification::hasBodyType);
+        addIfNotNull(specs, criteria.getExteriorColor(), VehicleSpecification::hasExteriorColor);
+        addIfNotNull(specs, criteria.getDoors(), VehicleSpecification::hasDoors);
+        addIfNotNull(specs, criteria.getSeats(), VehicleSpecification::hasSeats);
+        if (criteria.getMinMileage() != null || criteria.getMaxMileage() != null)
+            specs.add(VehicleSpecification.hasMileageBetween(criteria.getMinMileage(), criteria.getMaxMileage()));
+        if (criteria.getMinBatteryRange() != null || criteria.getMaxBatteryRange() != null)
+            specs.add(VehicleSpecification.hasBatteryRangeBetween(criteria.getMinBatteryRange(), criteria.getMaxBatteryRange()));
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null)
+            specs.add(VehicleSpecification.hasPriceBetween(criteria.getMinPrice(), criteria.getMaxPrice()));
+        addIfNotNull(specs, criteria.getOnDeal(), VehicleSpecification::hasOnDeal);
+        addIfNotNull(specs, criteria.getCondition(), VehicleSpecification::hasCondition);
+        addIfNotNull(specs, criteria.getStatuses(), VehicleSpecification::hasStatusIn);
+        addIfNotNull(specs, criteria.getHasAccidentHistory(), VehicleSpecification::hasAccidentHistory);
+
+        return Specification.allOf(specs);
+    }
+
     private <T> void addIfNotNull(List<Specification<Vehicle>> specs, T value, Function<T, Specification<Vehicle>> fn) {
         if (value != null) {
             specs.add(fn.apply(value));
@@ -1,5 +1,7 @@
 package com.yorku4413s25.leafwheels.web.controllers;
 
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.EntityVersion;
 import com.yorku4413s25.leafwheels.services.AccessoryService;
 import com.yorku4413s25.leafwheels.web.models.AccessoryDto;
 import com.yorku4413s25.leafwheels.web.models.AccessoryRequestDto;
@@ -16,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -41,8 +44,10 @@ public class AccessoryController {
             )
     })
     @GetMapping("/all")
-    public ResponseEntity<List<AccessoryDto>> getAllAccessories() {
-        return new ResponseEntity<>(accessoryService.getAllAccessories(), HttpStatus.OK);
+    public ResponseEntity<List<AccessoryDto>> getAllAccessories(WebRequest request) {
+        CollectionVersion version = accessoryService.getCatalogVersion();
+        return ConditionalResponses.okIfModified(request, version.eTag(), version.lastModified(),
+                accessoryService::getAllAccessories);
     }
 
     @Operation(
@@ -62,8 +67,10 @@ public class AccessoryController {
             )
     })
     @GetMapping("/{id}")
-    public ResponseEntity<AccessoryDto> getAccessory(@PathVariable UUID id) {
-        return new ResponseEntity<>(accessoryService.getAccessoryById(id), HttpStatus.OK);
+    public ResponseEntity<AccessoryDto> getAccessory(@PathVariable UUID id, WebRequest request) {
+        EntityVersion version = accessoryService.getAccessoryVersion(id);
+        return ConditionalResponses.okIfModified(request, version.eTag(), version.lastModified(),
+                () -> accessoryService.getAccessoryById(id));
     }
 
     @Operation(
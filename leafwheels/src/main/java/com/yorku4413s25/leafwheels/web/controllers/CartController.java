@@ -2,6 +2,7 @@ package com.yorku4413s25.leafwheels.web.controllers;
 
 import com.yorku4413s25.leafwheels.services.CartService;
 import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
 import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -39,6 +41,21 @@ public class CartController {
         return new ResponseEntity<>(cartService.getCartByUserId(userId), HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Apply cart operations",
+            description = "Apply an ordered list of add, increment, decrement and remove operations to the user's cart in one transaction. If any operation fails, none is applied."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operations applied", content = @Content(schema = @Schema(implementation = CartDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid operation or not enough stock", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Cart, item or product not found", content = @Content)
+    })
+    @PatchMapping("/{userId}")
+    @PreAuthorize("@securityService.isCurrentUser(#userId, authentication) or hasRole('ADMIN')")
+    public ResponseEntity<CartDto> applyOperations(@PathVariable UUID userId, @RequestBody List<CartOperationDto> operations) {
+        return new ResponseEntity<>(cartService.applyOperations(userId, operations), HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Add item to cart",
             description = "Add a vehicle or accessory to the user's cart."
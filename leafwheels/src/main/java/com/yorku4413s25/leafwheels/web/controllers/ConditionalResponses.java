@@ -0,0 +1,29 @@
+package com.yorku4413s25.leafwheels.web.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support: answers If-None-Match / If-Modified-Since with 304 before the body is built, so
+ * revalidation only costs the version lookup.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> okIfModified(WebRequest request, String eTag, Instant lastModified, Supplier<T> body) {
+        long lastModifiedMillis = lastModified == null ? -1 : lastModified.toEpochMilli();
+        if (request.checkNotModified(eTag, lastModifiedMillis)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body.get());
+    }
+}
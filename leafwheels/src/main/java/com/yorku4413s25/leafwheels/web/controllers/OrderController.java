@@ -1,8 +1,13 @@
 package com.yorku4413s25.leafwheels.web.controllers;
 
+import com.yorku4413s25.leafwheels.services.OrderBulkCanceller;
 import com.yorku4413s25.leafwheels.services.OrderService;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersRequestDto;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersResultDto;
 import com.yorku4413s25.leafwheels.web.models.CreateOrderRequestDto;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
 import com.yorku4413s25.leafwheels.web.models.OrderDto;
+import com.yorku4413s25.leafwheels.web.models.OrderSummaryDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -25,6 +30,7 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderBulkCanceller orderBulkCanceller;
 
     @Operation(summary = "Create a new order", description = "Create an order for a given user with items.")
     @ApiResponses(value = {
@@ -59,6 +65,24 @@ public class OrderController {
         return new ResponseEntity<>(orderService.getOrdersByUserId(userId), HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Get order history for a user with cursor pagination",
+            description = "Selected when the cursor parameter is present. Returns order summaries (id, status, total, item count, creation time), newest first, without loading the order items. Pass an empty cursor for the first page and the returned nextCursor for the following ones; size is at most 100."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order summaries found", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content)
+    })
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    @PreAuthorize("@securityService.isCurrentUser(#userId, authentication) or hasRole('ADMIN')")
+    public ResponseEntity<CursorPageDto<OrderSummaryDto>> getOrderSummariesByUser(
+            @PathVariable UUID userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.getOrderSummariesByUserId(userId, cursor, size));
+    }
+
     @Operation(summary = "Create order from cart", description = "Convert the user's current cart into an order.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created from cart", content = @Content(schema = @Schema(implementation = OrderDto.class))),
@@ -81,4 +105,15 @@ public class OrderController {
         orderService.cancelOrder(orderId);
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    @Operation(summary = "Cancel orders in bulk", description = "Cancel every PLACED order created before placedBefore, optionally only those of one user. Paid orders and orders with a payment in progress are not touched. Orders are processed in chunks, each in its own transaction; vehicles are released and accessories restocked with set-based updates. Orders locked by a concurrent transaction are skipped.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk cancellation finished", content = @Content(schema = @Schema(implementation = BulkCancelOrdersResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content)
+    })
+    @PostMapping("/bulk-cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkCancelOrdersResultDto> cancelOrders(@RequestBody BulkCancelOrdersRequestDto filter) {
+        return ResponseEntity.ok(orderBulkCanceller.cancel(filter));
+    }
 }
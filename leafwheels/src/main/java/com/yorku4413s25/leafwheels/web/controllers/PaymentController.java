@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpSession;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -79,6 +80,37 @@ public class PaymentController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @Operation(
+        summary = "Submit payment asynchronously",
+        description = "Validates the payment session, creates the order and accepts the payment for background processing. Poll the returned status location or subscribe to /topic/payments/{orderId} for the outcome."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Payment accepted and pending",
+            content = @Content(schema = @Schema(implementation = PaymentResponseDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid payment session or cart modified"),
+        @ApiResponse(responseCode = "404", description = "Cart or session not found")
+    })
+    @PostMapping("/process/async")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PaymentResponseDto> submitPayment(
+            @Parameter(description = "Payment details including card information and billing address", required = true)
+            @RequestBody PaymentRequestDto paymentRequest,
+            HttpSession httpSession) {
+
+        UUID userId = (UUID) httpSession.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PaymentResponseDto response = paymentService.submitPayment(userId, paymentRequest, httpSession);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/payment/" + response.getOrderId() + "/status"))
+                .body(response);
+    }
+
     @Operation(
         summary = "Get payment status",
         description = "Retrieves the current payment status for a specific order"
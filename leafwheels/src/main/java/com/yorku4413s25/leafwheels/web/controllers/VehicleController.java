@@ -4,9 +4,16 @@ import com.yorku4413s25.leafwheels.constants.BodyType;
 import com.yorku4413s25.leafwheels.constants.Condition;
 import com.yorku4413s25.leafwheels.constants.Make;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.EntityVersion;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
 import com.yorku4413s25.leafwheels.services.VehicleService;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleFacetsDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,14 +21,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import java.math.BigDecimal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,7 +45,11 @@ import java.util.UUID;
 @RestController
 public class VehicleController {
 
+    private static final List<VehicleStatus> AVAILABLE_STATUSES =
+            List.of(VehicleStatus.AVAILABLE, VehicleStatus.DEMO, VehicleStatus.INCOMING);
+
     private VehicleService vehicleService;
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get a vehicle by ID", description = "Retrieve details of a vehicle by its UUID.")
     @ApiResponses(value = {
@@ -39,8 +57,11 @@ public class VehicleController {
             @ApiResponse(responseCode = "404", description = "Vehicle not found", content = @Content)
     })
     @GetMapping("/{vehicleId}")
-    public ResponseEntity<VehicleDto> findVehicleById(@PathVariable UUID vehicleId) {
-        return new ResponseEntity<>(vehicleService.getById(vehicleId), HttpStatus.OK);
+    public ResponseEntity<VehicleDto> findVehicleById(@PathVariable UUID vehicleId, WebRequest request) {
+        // The detail is usually cached, so validators come from the DTO rather than a version query per request.
+        VehicleDto vehicle = vehicleService.getById(vehicleId);
+        EntityVersion version = new EntityVersion(vehicle.getVersion(), vehicle.getUpdatedAt());
+        return ConditionalResponses.okIfModified(request, version.eTag(), version.lastModified(), () -> vehicle);
     }
 
     @Operation(summary = "Create a new vehicle", description = "Add a new vehicle to the system. The discount system automatically calculates the final price and deal status based on either discount percentage or discount amount. Discount percentage represents the percentage off (e.g., 0.15 = 15% off) with discountPrice = originalPrice * (1 - discountPercentage). Discount amount represents a fixed dollar amount off (e.g., 5000.00 = $5000 off) with discountPrice = originalPrice - discountAmount. The onDeal flag is automatically set to true when either discountPercentage > 0 or discountAmount > 0. Note: discountAmount and discountPercentage cannot both be set simultaneously.")
@@ -87,8 +108,19 @@ public class VehicleController {
             @ApiResponse(responseCode = "200", description = "Vehicles found", content = @Content(schema = @Schema(implementation = VehicleDto.class)))
     })
     @GetMapping("/all")
-    public ResponseEntity<List<VehicleDto>> getAllVehicles() {
-        return new ResponseEntity<>(vehicleService.getAllVehicles(), HttpStatus.OK);
+    public ResponseEntity<List<VehicleDto>> getAllVehicles(WebRequest request) {
+        CollectionVersion version = vehicleService.getCatalogVersion(null);
+        return ConditionalResponses.okIfModified(request, version.eTag(), version.lastModified(),
+                vehicleService::getAllVehicles);
+    }
+
+    @Operation(summary = "Stream all vehicles", description = "Stream every vehicle as newline-delimited JSON, one vehicle per line, without buffering the catalog in memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehicles streamed", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = VehicleDto.class)))
+    })
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllVehicles() {
+        return streamVehicles(null);
     }
 
     @Operation(
@@ -125,15 +157,75 @@ public class VehicleController {
                 minPrice, maxPrice, onDeal, condition, statuses, hasAccidentHistory, pageable));
     }
 
+    @Operation(
+            summary = "Filter vehicles with cursor pagination",
+            description = "Selected instead of offset pagination when the cursor parameter is present. Pass an empty cursor for the first page and the returned nextCursor for the following ones; every page costs the same regardless of depth. Accepts the same filters as offset mode, size and a single sort property (id, year, price, mileage, batteryRange or createdAt). The total is only counted when includeTotal=true."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Filtered vehicles found", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort", content = @Content)
+    })
+    @GetMapping(value = "/filter", params = "cursor")
+    public ResponseEntity<CursorPageDto<VehicleDto>> filterVehiclesByCursor(
+            @ParameterObject VehicleSearchCriteria criteria,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(vehicleService.filterVehiclesAfter(
+                criteria, cursor, pageable.getPageSize(), pageable.getSort(), includeTotal));
+    }
+
+    @Operation(
+            summary = "Filter vehicle listing cards",
+            description = "Accepts the same filters, paging and sorting as /filter but returns only the fields shown on a listing card. Sorting by price, discountPrice, mileage, year or batteryRange is served from the in-memory catalog index."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Filtered vehicle cards found", content = @Content(schema = @Schema(implementation = VehicleCardDto.class)))
+    })
+    @GetMapping("/cards")
+    public ResponseEntity<Page<VehicleCardDto>> filterVehicleCards(
+            @ParameterObject VehicleSearchCriteria criteria,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(vehicleService.filterVehicleCards(criteria, pageable));
+    }
+
+    @Operation(
+            summary = "Get facet counts for the vehicle filter",
+            description = "Accepts the same filters as /filter and returns the number of matching vehicles per make, body type, condition and price range. Each facet is counted with every filter except its own applied."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts computed", content = @Content(schema = @Schema(implementation = VehicleFacetsDto.class)))
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<VehicleFacetsDto> getVehicleFacets(@ParameterObject VehicleSearchCriteria criteria) {
+        return ResponseEntity.ok(vehicleService.getFacets(criteria));
+    }
+
     @Operation(summary = "Get vehicles by status", description = "Retrieve vehicles that match any of the specified statuses.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vehicles found", content = @Content(schema = @Schema(implementation = VehicleDto.class)))
     })
     @GetMapping("/by-status")
     public ResponseEntity<List<VehicleDto>> getVehiclesByStatus(
+            @RequestParam List<VehicleStatus> statuses,
+            WebRequest request
+    ) {
+        CollectionVersion version = vehicleService.getCatalogVersion(statuses);
+        return ConditionalResponses.okIfModified(request, version.eTag(), version.lastModified(),
+                () -> vehicleService.getVehiclesByStatus(statuses));
+    }
+
+    @Operation(summary = "Stream vehicles by status", description = "Stream vehicles that match any of the specified statuses as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehicles streamed", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = VehicleDto.class)))
+    })
+    @GetMapping(value = "/by-status", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamVehiclesByStatus(
             @RequestParam List<VehicleStatus> statuses
     ) {
-        return ResponseEntity.ok(vehicleService.getVehiclesByStatus(statuses));
+        return streamVehicles(statuses);
     }
 
     @Operation(summary = "Get vehicles excluding specific statuses", description = "Retrieve vehicles that do not match any of the specified statuses.")
@@ -152,8 +244,19 @@ public class VehicleController {
             @ApiResponse(responseCode = "200", description = "Available vehicles found", content = @Content(schema = @Schema(implementation = VehicleDto.class)))
     })
     @GetMapping("/available")
-    public ResponseEntity<List<VehicleDto>> getAvailableVehicles() {
-        return ResponseEntity.ok(vehicleService.getAvailableVehicles());
+    public ResponseEntity<List<VehicleDto>> getAvailableVehicles(WebRequest request) {
+        CollectionVersion version = vehicleService.getCatalogVersion(AVAILABLE_STATUSES);
+        return ConditionalResponses.okIfModified(request, version.eTag(), version.lastModified(),
+                vehicleService::getAvailableVehicles);
+    }
+
+    @Operation(summary = "Stream available vehicles", description = "Stream vehicles that are available for purchase (AVAILABLE, DEMO, INCOMING statuses only) as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Available vehicles streamed", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = VehicleDto.class)))
+    })
+    @GetMapping(value = "/available", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailableVehicles() {
+        return streamVehicles(AVAILABLE_STATUSES);
     }
 
     @Operation(summary = "Add image URLs to a vehicle", description = "Add one or more image URLs to an existing vehicle.")
@@ -169,6 +272,20 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.addImageUrls(vehicleId, imageUrls));
     }
 
+    private ResponseEntity<StreamingResponseBody> streamVehicles(List<VehicleStatus> statuses) {
+        StreamingResponseBody body = outputStream -> vehicleService.streamVehicles(statuses, vehicle -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(vehicle));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     private VehicleDto convertToVehicleDto(VehicleRequestDto requestDto) {
         return VehicleDto.builder()
                 .id(requestDto.getId())
@@ -0,0 +1,50 @@
+package com.yorku4413s25.leafwheels.web.controllers;
+
+import com.yorku4413s25.leafwheels.services.VehicleImportService;
+import com.yorku4413s25.leafwheels.web.models.VehicleImportResultDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.Reader;
+
+@RequestMapping("/api/v1/vehicle/import")
+@AllArgsConstructor
+@Tag(name = "Vehicle API", description = "Endpoints for managing vehicles with automatic discount calculation")
+@RestController
+public class VehicleImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private VehicleImportService vehicleImportService;
+
+    @Operation(summary = "Import vehicles from CSV", description = "Bulk-create vehicles from a CSV stream whose header row names VehicleRequestDto properties. Multiple image URLs in one cell are separated by |. Rows are validated as they are read and written in batches; invalid rows and rows whose VIN already exists are reported without stopping the import.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see errors for rejected rows", content = @Content(schema = @Schema(implementation = VehicleImportResultDto.class)))
+    })
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VehicleImportResultDto> importCsv(Reader body) {
+        return ResponseEntity.ok(vehicleImportService.importCsv(body));
+    }
+
+    @Operation(summary = "Import vehicles from NDJSON", description = "Bulk-create vehicles from newline-delimited JSON, one VehicleRequestDto per line. Rows are validated as they are read and written in batches; invalid rows and rows whose VIN already exists are reported without stopping the import.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see errors for rejected rows", content = @Content(schema = @Schema(implementation = VehicleImportResultDto.class)))
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VehicleImportResultDto> importNdjson(Reader body) {
+        return ResponseEntity.ok(vehicleImportService.importNdjson(body));
+    }
+}
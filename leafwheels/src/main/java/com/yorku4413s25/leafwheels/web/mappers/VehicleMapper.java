@@ -4,11 +4,18 @@ import com.yorku4413s25.leafwheels.domain.Vehicle;
 import com.yorku4413s25.leafwheels.domain.VehicleHistory;
 import com.yorku4413s25.leafwheels.web.models.VehicleDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(uses = {DateMapper.class, VehicleHistoryMapper.class}, componentModel = "spring")
 public interface VehicleMapper {
     VehicleDto vehicleToVehicleDto(Vehicle vehicle);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Vehicle vehicleDtoToVehicle(VehicleDto vehicleDto);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     void vehicleDtoToVehicleUpdate(VehicleDto vehicleDto, @MappingTarget Vehicle existing);
 }
@@ -0,0 +1,26 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Selects the orders to cancel in bulk")
+public class BulkCancelOrdersRequestDto {
+
+    @Builder.Default
+    @Schema(description = "Status of the orders to cancel; only PLACED, the default, is accepted")
+    private OrderStatus status = OrderStatus.PLACED;
+
+    @Schema(description = "Only cancel orders created before this instant, defaults to the time of the request")
+    private Instant placedBefore;
+
+    @Schema(description = "Only cancel orders of this user")
+    private UUID userId;
+}
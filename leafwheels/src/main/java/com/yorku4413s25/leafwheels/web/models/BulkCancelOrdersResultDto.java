@@ -0,0 +1,16 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk order cancellation. Orders locked by another transaction are skipped.")
+public class BulkCancelOrdersResultDto {
+    private long canceled;
+    private long vehiclesReleased;
+    private long accessoriesRestocked;
+    private int chunks;
+}
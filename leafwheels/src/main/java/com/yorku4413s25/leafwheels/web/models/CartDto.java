@@ -22,4 +22,8 @@ public class CartDto {
 
     @Builder.Default
     private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    private int itemCount;
+
+    private long priceVersion;
 }
@@ -4,6 +4,7 @@ import com.yorku4413s25.leafwheels.constants.ItemType;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
@@ -27,4 +28,6 @@ public class CartItemDto {
 
     @NonNull
     private int quantity;
+
+    private Instant reservedUntil;
 }
@@ -0,0 +1,24 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import com.yorku4413s25.leafwheels.constants.CartOperationType;
+import lombok.*;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartOperationDto {
+
+    private CartOperationType op;
+
+    // ADD
+    private CreateCartItemDto item;
+
+    // INCREMENT and DECREMENT
+    private UUID accessoryId;
+
+    // REMOVE
+    private UUID itemId;
+}
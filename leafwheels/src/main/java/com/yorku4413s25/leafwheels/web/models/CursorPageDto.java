@@ -0,0 +1,21 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of a keyset-paginated listing")
+public class CursorPageDto<T> {
+    private List<T> content;
+
+    @Schema(description = "Token for the next page, null on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Total number of matches, only present when includeTotal=true")
+    private Long totalElements;
+}
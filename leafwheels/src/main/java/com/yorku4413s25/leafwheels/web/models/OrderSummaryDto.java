@@ -0,0 +1,23 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Order history row, without the order items")
+public class OrderSummaryDto {
+    private UUID id;
+    private OrderStatus status;
+    private BigDecimal totalPrice;
+    @Schema(description = "Number of order lines")
+    private Long itemCount;
+    private Instant createdAt;
+}
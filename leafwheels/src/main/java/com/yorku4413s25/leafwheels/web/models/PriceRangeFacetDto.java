@@ -0,0 +1,17 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Vehicle count for a price range, lower bound inclusive and upper bound exclusive")
+public class PriceRangeFacetDto {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private long count;
+}
@@ -0,0 +1,35 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Listing card fields of a vehicle, without its description, images and history")
+public class VehicleCardDto {
+    private UUID id;
+    private Integer year;
+    private Make make;
+    private String model;
+    private String trim;
+    private BodyType bodyType;
+    private String exteriorColor;
+    private Integer mileage;
+    private Integer batteryRange;
+    private BigDecimal price;
+    private BigDecimal discountPrice;
+    private Boolean onDeal;
+    private Condition condition;
+    private VehicleStatus status;
+    @Schema(description = "First image of the vehicle, if any")
+    private String thumbnailUrl;
+}
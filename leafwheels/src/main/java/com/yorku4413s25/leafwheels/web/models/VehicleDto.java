@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,6 +21,7 @@ import java.util.UUID;
 @Builder
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 @Schema(description = "Vehicle response DTO with automatically calculated discount information")
 public class VehicleDto implements Serializable {
 
@@ -81,4 +83,10 @@ public class VehicleDto implements Serializable {
     List<String> imageUrls;
 
     List<VehicleHistoryDto> vehicleHistories;
+
+    @Schema(description = "Optimistic-lock version, also sent as the ETag", accessMode = Schema.AccessMode.READ_ONLY)
+    Long version;
+
+    @Schema(description = "Time of the last change, also sent as Last-Modified", accessMode = Schema.AccessMode.READ_ONLY)
+    Instant updatedAt;
 }
@@ -0,0 +1,23 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Number of vehicles per facet value. Each facet is counted with every filter applied except its own, so the counts show what selecting another value would return.")
+public class VehicleFacetsDto {
+    private long total;
+    private Map<Make, Long> makes;
+    private Map<BodyType, Long> bodyTypes;
+    private Map<Condition, Long> conditions;
+    private List<PriceRangeFacetDto> priceRanges;
+}
@@ -0,0 +1,16 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A row of a vehicle import that was rejected")
+public class VehicleImportErrorDto {
+    @Schema(description = "1-based position of the record in the uploaded file, not counting the CSV header")
+    private long row;
+    private String vin;
+    private String message;
+}
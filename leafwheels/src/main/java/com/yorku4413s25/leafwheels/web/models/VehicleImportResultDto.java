@@ -0,0 +1,18 @@
+package com.yorku4413s25.leafwheels.web.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk vehicle import. Valid rows are imported even when other rows are rejected.")
+public class VehicleImportResultDto {
+    private long received;
+    private long imported;
+    private long rejected;
+    private List<VehicleImportErrorDto> errors;
+}
@@ -0,0 +1,151 @@
+package com.yorku4413s25.leafwheels.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the accident-history filter as a LEFT JOIN (the old {@code VehicleSpecification.hasAccidentHistory})
+ * with the correlated EXISTS subquery that replaced it, on 10k vehicles and 50k history rows.
+ * <p>
+ * Needs a running PostgreSQL; the data lives in temporary tables of the benchmark connection, so the
+ * application schema is not touched. Connection settings come from the {@code BENCHMARK_JDBC_URL},
+ * {@code BENCHMARK_JDBC_USER} and {@code BENCHMARK_JDBC_PASSWORD} environment variables, which reach the forked
+ * benchmark JVM, and default to the local development database.
+ * Run with {@code mvn test-compile exec:exec -Djmh.benchmark=AccidentHistoryFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccidentHistoryFilterBenchmark {
+
+    private static final int VEHICLES = 10_000;
+    private static final int HISTORY_ROWS = 50_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String JOIN_PAGE = """
+            SELECT v.id FROM bench_vehicles v
+            LEFT JOIN bench_vehicle_history h ON h.vehicle_id = v.id
+            WHERE h.id IS %s NULL
+            ORDER BY v.created_at DESC, v.id DESC
+            LIMIT ?""";
+
+    private static final String JOIN_COUNT = """
+            SELECT COUNT(v.id) FROM bench_vehicles v
+            LEFT JOIN bench_vehicle_history h ON h.vehicle_id = v.id
+            WHERE h.id IS %s NULL""";
+
+    private static final String EXISTS_PAGE = """
+            SELECT v.id FROM bench_vehicles v
+            WHERE %s EXISTS (SELECT 1 FROM bench_vehicle_history h WHERE h.vehicle_id = v.id)
+            ORDER BY v.created_at DESC, v.id DESC
+            LIMIT ?""";
+
+    private static final String EXISTS_COUNT = """
+            SELECT COUNT(v.id) FROM bench_vehicles v
+            WHERE %s EXISTS (SELECT 1 FROM bench_vehicle_history h WHERE h.vehicle_id = v.id)""";
+
+    /** Filter value of {@code hasAccidentHistory}. */
+    @Param({"true", "false"})
+    private boolean withAccidents;
+
+    private Connection connection;
+    private PreparedStatement joinPage;
+    private PreparedStatement joinCount;
+    private PreparedStatement existsPage;
+    private PreparedStatement existsCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/leafwheels"),
+                env("BENCHMARK_JDBC_USER", "user"),
+                env("BENCHMARK_JDBC_PASSWORD", "password"));
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TEMPORARY TABLE bench_vehicles (
+                        id uuid PRIMARY KEY,
+                        created_at timestamptz NOT NULL)""");
+            ddl.execute("""
+                    CREATE TEMPORARY TABLE bench_vehicle_history (
+                        id uuid PRIMARY KEY,
+                        vehicle_id uuid NOT NULL REFERENCES bench_vehicles (id))""");
+            ddl.execute("CREATE INDEX ON bench_vehicle_history (vehicle_id)");
+            ddl.execute("CREATE INDEX ON bench_vehicles (created_at, id)");
+            ddl.execute("""
+                    INSERT INTO bench_vehicles (id, created_at)
+                    SELECT gen_random_uuid(), now() - make_interval(mins => n)
+                    FROM generate_series(1, %d) AS n""".formatted(VEHICLES));
+            // A third of the vehicles carry all accidents, so each of them fans out to ~15 rows in the join.
+            ddl.execute("""
+                    INSERT INTO bench_vehicle_history (id, vehicle_id)
+                    SELECT gen_random_uuid(), damaged.id
+                    FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM bench_vehicles) damaged
+                    JOIN generate_series(1, %d) AS n ON damaged.rn = n %% %d + 1""".formatted(HISTORY_ROWS, VEHICLES / 3));
+            ddl.execute("ANALYZE bench_vehicles");
+            ddl.execute("ANALYZE bench_vehicle_history");
+        }
+        String negation = withAccidents ? "NOT" : "";
+        String existsNegation = withAccidents ? "" : "NOT";
+        joinPage = connection.prepareStatement(JOIN_PAGE.formatted(negation));
+        joinCount = connection.prepareStatement(JOIN_COUNT.formatted(negation));
+        existsPage = connection.prepareStatement(EXISTS_PAGE.formatted(existsNegation));
+        existsCount = connection.prepareStatement(EXISTS_COUNT.formatted(existsNegation));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void leftJoinPageAndCount(Blackhole blackhole) throws SQLException {
+        pageAndCount(joinPage, joinCount, blackhole);
+    }
+
+    @Benchmark
+    public void existsPageAndCount(Blackhole blackhole) throws SQLException {
+        pageAndCount(existsPage, existsCount, blackhole);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static void pageAndCount(PreparedStatement page, PreparedStatement count, Blackhole blackhole)
+            throws SQLException {
+        page.setInt(1, PAGE_SIZE);
+        try (ResultSet rows = page.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getObject(1));
+            }
+        }
+        try (ResultSet total = count.executeQuery()) {
+            total.next();
+            blackhole.consume(total.getLong(1));
+        }
+    }
+}
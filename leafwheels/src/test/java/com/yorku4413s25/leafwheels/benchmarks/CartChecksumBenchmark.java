@@ -0,0 +1,107 @@
+package com.yorku4413s25.leafwheels.benchmarks;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.Cart;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.services.CartChecksumService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the incrementally maintained cart checksum with the MD5-over-sorted-items checksum it replaced.
+ * Run with {@code mvn test-compile exec:exec -Djmh.benchmark=CartChecksumBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartChecksumBenchmark {
+
+    @Param({"1", "5", "25"})
+    private int items;
+
+    private final CartChecksumService checksumService = new CartChecksumService();
+    private Cart cart;
+    private CartItem changedItem;
+
+    @Setup
+    public void setUp() {
+        cart = Cart.builder().id(UUID.randomUUID()).userId(UUID.randomUUID()).items(new ArrayList<>()).build();
+        for (int i = 0; i < items; i++) {
+            CartItem.CartItemBuilder item = CartItem.builder()
+                    .id(UUID.randomUUID())
+                    .cart(cart)
+                    .unitPrice(new BigDecimal("199.99"));
+            if (i % 2 == 0) {
+                item.type(ItemType.VEHICLE).vehicle(Vehicle.builder().id(UUID.randomUUID()).build()).quantity(1);
+            } else {
+                item.type(ItemType.ACCESSORY).accessory(Accessory.builder().id(UUID.randomUUID()).build()).quantity(2);
+            }
+            cart.addItem(item.build());
+        }
+        changedItem = cart.getItems().get(0);
+    }
+
+    @Benchmark
+    public String md5OverSortedItems() {
+        return legacyChecksum(cart);
+    }
+
+    @Benchmark
+    public String incrementalChecksum() {
+        return checksumService.calculateChecksum(cart);
+    }
+
+    @Benchmark
+    public String quantityChangeThenChecksum() {
+        cart.changeQuantity(changedItem, changedItem.getQuantity() == 1 ? 2 : 1);
+        return checksumService.calculateChecksum(cart);
+    }
+
+    private static String legacyChecksum(Cart cart) {
+        try {
+            String cartData = cart.getItems().stream()
+                    .sorted(Comparator.comparing(item -> item.getId().toString()))
+                    .map(item -> String.format("%s:%s:%s:%s:%d",
+                            item.getId().toString(),
+                            item.getType().name(),
+                            item.getVehicle() != null ? item.getVehicle().getId().toString() : "null",
+                            item.getAccessory() != null ? item.getAccessory().getId().toString() : "null",
+                            item.getQuantity()))
+                    .collect(Collectors.joining("|"));
+
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] messageDigest = md.digest(cartData.getBytes());
+            String hashText = new BigInteger(1, messageDigest).toString(16);
+            while (hashText.length() < 32) {
+                hashText = "0" + hashText;
+            }
+            return hashText;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartChecksumTest {
+
+    private CartItem vehicleItem;
+    private CartItem accessoryItem;
+
+    @BeforeEach
+    void setUp() {
+        vehicleItem = CartItem.builder()
+                .type(ItemType.VEHICLE)
+                .vehicle(Vehicle.builder().id(UUID.randomUUID()).build())
+                .unitPrice(new BigDecimal("45000.00"))
+                .quantity(1)
+                .build();
+        accessoryItem = CartItem.builder()
+                .type(ItemType.ACCESSORY)
+                .accessory(Accessory.builder().id(UUID.randomUUID()).build())
+                .unitPrice(new BigDecimal("199.99"))
+                .quantity(2)
+                .build();
+    }
+
+    @Test
+    void checksumShouldNotDependOnItemOrder() {
+        Cart first = emptyCart();
+        first.addItem(vehicleItem);
+        first.addItem(accessoryItem);
+        Cart second = emptyCart();
+        second.addItem(accessoryItem);
+        second.addItem(vehicleItem);
+
+        assertEquals(first.getChecksum(), second.getChecksum());
+    }
+
+    @Test
+    void incrementalChecksumShouldMatchRecomputedChecksum() {
+        Cart cart = emptyCart();
+        cart.addItem(vehicleItem);
+        cart.addItem(accessoryItem);
+        cart.changeQuantity(accessoryItem, 3);
+
+        Cart recomputed = Cart.builder().items(new ArrayList<>(List.of(vehicleItem, accessoryItem))).build();
+
+        assertEquals(recomputed.getChecksum(), cart.getChecksum());
+    }
+
+    @Test
+    void checksumShouldChangeWithQuantityAndReturnWhenChangeIsUndone() {
+        Cart cart = emptyCart();
+        cart.addItem(accessoryItem);
+        CartChecksum before = cart.getChecksum();
+
+        cart.changeQuantity(accessoryItem, 3);
+        assertNotEquals(before, cart.getChecksum());
+
+        cart.changeQuantity(accessoryItem, 2);
+        assertEquals(before, cart.getChecksum());
+    }
+
+    @Test
+    void removingEveryItemShouldReturnToZero() {
+        Cart cart = emptyCart();
+        cart.addItem(vehicleItem);
+        cart.addItem(accessoryItem);
+
+        cart.removeItem(vehicleItem);
+        cart.removeItem(accessoryItem);
+
+        assertEquals(CartChecksum.ZERO, cart.getChecksum());
+        assertEquals(32, cart.getChecksum().toHex().length());
+    }
+
+    @Test
+    void additionShouldCarryIntoHighBits() {
+        CartChecksum sum = new CartChecksum(0L, -1L).plus(new CartChecksum(0L, 1L));
+
+        assertEquals(new CartChecksum(1L, 0L), sum);
+        assertEquals(new CartChecksum(0L, -1L), sum.minus(new CartChecksum(0L, 1L)));
+    }
+
+    private Cart emptyCart() {
+        return Cart.builder().userId(UUID.randomUUID()).items(new ArrayList<>()).build();
+    }
+}
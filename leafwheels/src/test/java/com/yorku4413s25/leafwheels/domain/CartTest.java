@@ -0,0 +1,62 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartTest {
+
+    @Test
+    void itemMethodsShouldKeepTotalsUpToDate() {
+        Cart cart = Cart.builder().userId(UUID.randomUUID()).items(new ArrayList<>()).build();
+        CartItem vehicle = item(ItemType.VEHICLE, "45000.00", 1);
+        CartItem accessory = item(ItemType.ACCESSORY, "199.99", 2);
+
+        cart.addItem(vehicle);
+        cart.addItem(accessory);
+        assertEquals(new BigDecimal("45399.98"), cart.getSubtotal());
+        assertEquals(3, cart.getItemCount());
+
+        cart.changeQuantity(accessory, 1);
+        assertEquals(new BigDecimal("45199.99"), cart.getSubtotal());
+        assertEquals(2, cart.getItemCount());
+
+        cart.removeItem(vehicle);
+        assertEquals(new BigDecimal("199.99"), cart.getSubtotal());
+        assertEquals(1, cart.getItemCount());
+
+        cart.clearItems();
+        assertEquals(BigDecimal.ZERO, cart.getSubtotal());
+        assertEquals(0, cart.getItemCount());
+    }
+
+    @Test
+    void cartsWithoutStoredTotalsShouldComputeThemFromItems() {
+        Cart cart = Cart.builder()
+                .items(new ArrayList<>(List.of(item(ItemType.VEHICLE, "30000.00", 1), item(ItemType.ACCESSORY, "50.00", 3))))
+                .build();
+
+        assertEquals(new BigDecimal("30150.00"), cart.getSubtotal());
+        assertEquals(4, cart.getItemCount());
+        assertEquals(0L, cart.getPriceVersion());
+    }
+
+    private CartItem item(ItemType type, String unitPrice, int quantity) {
+        CartItem.CartItemBuilder item = CartItem.builder()
+                .type(type)
+                .unitPrice(new BigDecimal(unitPrice))
+                .quantity(quantity);
+        if (type == ItemType.VEHICLE) {
+            item.vehicle(Vehicle.builder().id(UUID.randomUUID()).build());
+        } else {
+            item.accessory(Accessory.builder().id(UUID.randomUUID()).build());
+        }
+        return item.build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.yorku4413s25.leafwheels.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VehicleSpecificationTest {
+
+    @Mock
+    private Root<Vehicle> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    @Mock
+    private Path<BigDecimal> pricePath;
+
+    @Mock
+    private Path<UUID> idPath;
+
+    private final Predicate beyond = mock(Predicate.class);
+    private final Predicate samePrice = mock(Predicate.class);
+    private final Predicate idBeyond = mock(Predicate.class);
+    private final Predicate tieBroken = mock(Predicate.class);
+    private final Predicate seek = mock(Predicate.class);
+
+    private final BigDecimal price = new BigDecimal("45000.00");
+    private final UUID id = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(root.<BigDecimal>get("price")).thenReturn(pricePath);
+        when(root.<UUID>get("id")).thenReturn(idPath);
+        when(cb.equal(pricePath, price)).thenReturn(samePrice);
+        when(cb.and(samePrice, idBeyond)).thenReturn(tieBroken);
+        when(cb.or(beyond, tieBroken)).thenReturn(seek);
+    }
+
+    @Test
+    void ascendingSeekShouldBreakTiesOnHigherIds() {
+        when(cb.greaterThan(pricePath, price)).thenReturn(beyond);
+        when(cb.greaterThan(idPath, id)).thenReturn(idBeyond);
+
+        Predicate predicate = VehicleSpecification.isAfter("price", price, id, true).toPredicate(root, query, cb);
+
+        assertSame(seek, predicate);
+        verify(cb).greaterThan(idPath, id);
+        verify(cb, never()).lessThan(idPath, id);
+    }
+
+    @Test
+    void descendingSeekShouldBreakTiesOnLowerIds() {
+        when(cb.lessThan(pricePath, price)).thenReturn(beyond);
+        when(cb.lessThan(idPath, id)).thenReturn(idBeyond);
+
+        Predicate predicate = VehicleSpecification.isAfter("price", price, id, false).toPredicate(root, query, cb);
+
+        assertSame(seek, predicate);
+        verify(cb).lessThan(idPath, id);
+        verify(cb, never()).greaterThan(idPath, id);
+    }
+
+    @Test
+    void seekOnIdShouldNotAddATieBreaker() {
+        Predicate idAfter = mock(Predicate.class);
+        when(cb.greaterThan(idPath, id)).thenReturn(idAfter);
+
+        Predicate predicate = VehicleSpecification.isAfter("id", id, id, true).toPredicate(root, query, cb);
+
+        assertSame(idAfter, predicate);
+        verify(cb, never()).or(any(Predicate.class), any(Predicate.class));
+    }
+}
@@ -0,0 +1,158 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.Cart;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against the cart falling back to lazy loading: hydrating a cart and reading its items, products and
+ * vehicle images must not cost more statements as the cart grows.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(JpaConfig.class)
+class CartHydrationQueriesImplTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void largeCartShouldBeHydratedInTwoQueries() {
+        saveCart(40, 40);
+
+        Cart cart = cartRepository.findHydratedByUserId(userId).orElseThrow();
+
+        assertEquals(80, cart.getItems().size());
+        assertEquals(80, readEverything(cart));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cartWithoutVehiclesShouldBeHydratedInOneQuery() {
+        saveCart(0, 40);
+
+        Cart cart = cartRepository.findHydratedByUserId(userId).orElseThrow();
+
+        assertEquals(40, readEverything(cart));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void missingCartShouldCostOneQuery() {
+        statistics.clear();
+
+        assertTrue(cartRepository.findHydratedByUserId(userId).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Touches every association the cart views read, so any of them left lazy adds statements.
+     */
+    private int readEverything(Cart cart) {
+        int read = 0;
+        for (CartItem item : cart.getItems()) {
+            if (item.getType() == ItemType.VEHICLE) {
+                assertEquals(2, item.getVehicle().getImageUrls().size());
+                assertNotNull(item.getVehicle().getModel());
+            } else {
+                assertNotNull(item.getAccessory().getName());
+            }
+            read++;
+        }
+        return read;
+    }
+
+    private void saveCart(int vehicles, int accessories) {
+        Cart cart = Cart.builder().userId(userId).items(new ArrayList<>()).build();
+        for (int i = 0; i < vehicles; i++) {
+            cart.addItem(CartItem.builder()
+                    .cart(cart)
+                    .type(ItemType.VEHICLE)
+                    .vehicle(vehicleRepository.save(vehicle(i)))
+                    .unitPrice(new BigDecimal("40000.00"))
+                    .quantity(1)
+                    .build());
+        }
+        for (int i = 0; i < accessories; i++) {
+            cart.addItem(CartItem.builder()
+                    .cart(cart)
+                    .type(ItemType.ACCESSORY)
+                    .accessory(accessoryRepository.save(Accessory.builder()
+                            .name("Accessory " + i)
+                            .price(new BigDecimal("99.99"))
+                            .quantity(10)
+                            .build()))
+                    .unitPrice(new BigDecimal("99.99"))
+                    .quantity(1)
+                    .build());
+        }
+        cartRepository.save(cart);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private static Vehicle vehicle(int i) {
+        return Vehicle.builder()
+                .year(2022)
+                .make(Make.TESLA)
+                .model("Model 3")
+                .bodyType(BodyType.SEDAN)
+                .doors(4)
+                .seats(5)
+                .mileage(1000 * i)
+                .batteryRange(500)
+                .price(new BigDecimal("40000.00"))
+                .condition(Condition.USED)
+                .status(VehicleStatus.AVAILABLE)
+                .imageUrls(new ArrayList<>(List.of("https://img.example/" + i + "/front.jpg",
+                        "https://img.example/" + i + "/side.jpg")))
+                .vehicleHistories(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleHistory;
+import com.yorku4413s25.leafwheels.domain.VehicleSpecification;
+import com.yorku4413s25.leafwheels.web.mappers.DateMapper;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleHistoryMapperImpl;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleMapper;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleMapperImpl;
+import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements the vehicle listing paths issue while mapping to DTOs, so a lazy collection that falls
+ * back to one select per vehicle shows up as a failure rather than as a slow page.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({JpaConfig.class, VehicleMapperImpl.class, VehicleHistoryMapperImpl.class, DateMapper.class})
+class VehicleRepositoryQueryCountTest {
+
+    private static final int VEHICLES = 60;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleMapper vehicleMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicleRepository.save(vehicle(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void filteredPageShouldMapInConstantQueries() {
+        Page<Vehicle> page = vehicleRepository.findAll(
+                VehicleSpecification.hasStatus(VehicleStatus.AVAILABLE), PageRequest.of(0, 50, Sort.by("id")));
+        List<VehicleDto> dtos = page.map(vehicleMapper::vehicleToVehicleDto).getContent();
+
+        assertEquals(50, dtos.size());
+        assertTrue(dtos.stream().allMatch(dto -> dto.getImageUrls().size() == 2));
+        // page, count, one batch of image URLs, one batch of histories
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void statusListingShouldMapInConstantQueries() {
+        List<VehicleDto> dtos = vehicleRepository.findByStatusIn(List.of(VehicleStatus.AVAILABLE)).stream()
+                .map(vehicleMapper::vehicleToVehicleDto)
+                .toList();
+
+        assertEquals(VEHICLES, dtos.size());
+        // vehicles, then image URLs and histories in batches of 50
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    private static Vehicle vehicle(int i) {
+        Vehicle vehicle = Vehicle.builder()
+                .year(2022)
+                .make(Make.TESLA)
+                .model("Model 3")
+                .bodyType(BodyType.SEDAN)
+                .doors(4)
+                .seats(5)
+                .mileage(1000 * i)
+                .batteryRange(500)
+                .price(new BigDecimal("40000.00"))
+                .condition(Condition.USED)
+                .status(VehicleStatus.AVAILABLE)
+                .imageUrls(new ArrayList<>(List.of("https://img.example/" + i + "/front.jpg",
+                        "https://img.example/" + i + "/side.jpg")))
+                .vehicleHistories(new ArrayList<>())
+                .build();
+        vehicle.getVehicleHistories().add(VehicleHistory.builder()
+                .vehicle(vehicle)
+                .accidentDate(Instant.parse("2023-05-01T00:00:00Z"))
+                .repairCost(new BigDecimal("1500.00"))
+                .accidentDescription("Rear bumper")
+                .build());
+        return vehicle;
+    }
+}
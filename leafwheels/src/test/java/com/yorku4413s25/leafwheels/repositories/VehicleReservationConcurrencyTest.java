@@ -0,0 +1,128 @@
+package com.yorku4413s25.leafwheels.repositories;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races the conditional UPDATE behind {@link VehicleRepository#reserveIfAvailable} from several transactions at
+ * once. A caller that loses, whether it sees zero updated rows or a lock conflict, must not count as a reservation.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VehicleReservationConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private UUID vehicleId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        vehicleId = vehicleRepository.save(Vehicle.builder()
+                .year(2023)
+                .make(Make.NISSAN)
+                .model("Leaf")
+                .bodyType(BodyType.HATCHBACK)
+                .doors(4)
+                .seats(5)
+                .mileage(15000)
+                .batteryRange(240)
+                .price(new BigDecimal("28900.00"))
+                .condition(Condition.USED)
+                .status(VehicleStatus.AVAILABLE)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentReservationsShouldSucceedExactlyOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                setStatus(VehicleStatus.AVAILABLE);
+                AtomicInteger reserved = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> callers = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    callers.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            if (Boolean.TRUE.equals(transaction.execute(status ->
+                                    vehicleRepository.reserveIfAvailable(vehicleId)))) {
+                                reserved.incrementAndGet();
+                            }
+                        } catch (DataAccessException e) {
+                            // lost the race on the row lock
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> caller : callers) {
+                    caller.get(30, TimeUnit.SECONDS);
+                }
+
+                assertEquals(1, reserved.get(), "round " + round);
+                assertEquals(VehicleStatus.PENDING, vehicleRepository.findById(vehicleId).orElseThrow().getStatus());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void reserveShouldFailForVehicleThatIsNotAvailable() {
+        setStatus(VehicleStatus.SOLD);
+
+        assertFalse(transaction.execute(status -> vehicleRepository.reserveIfAvailable(vehicleId)));
+        assertFalse(transaction.execute(status -> vehicleRepository.reserveIfAvailable(UUID.randomUUID())));
+    }
+
+    private void setStatus(VehicleStatus status) {
+        transaction.executeWithoutResult(tx -> {
+            Vehicle vehicle = vehicleRepository.findById(vehicleId).orElseThrow();
+            vehicle.setStatus(status);
+        });
+    }
+}
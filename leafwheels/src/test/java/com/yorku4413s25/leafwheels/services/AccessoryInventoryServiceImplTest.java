@@ -0,0 +1,125 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({JpaConfig.class, AccessoryInventoryServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccessoryInventoryServiceImplTest {
+
+    private static final int STOCK = 50;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AccessoryInventoryServiceImpl inventory;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    private UUID accessoryId;
+
+    @BeforeEach
+    void setUp() {
+        accessoryId = accessoryRepository.save(Accessory.builder()
+                .name("Wall Charger")
+                .price(new BigDecimal("599.00"))
+                .quantity(STOCK)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessoryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentReservationsShouldSellExactlyTheStock() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> buyers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                buyers.add(pool.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < STOCK; attempt++) {
+                        try {
+                            inventory.reserve(accessoryId, 1);
+                            sold.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            assertEquals("Not enough accessory stock available.", e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> buyer : buyers) {
+                buyer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(STOCK, sold.get());
+        assertEquals(0, stock());
+    }
+
+    @Test
+    void reserveMoreThanStockShouldFailAndLeaveStockUntouched() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> inventory.reserve(accessoryId, STOCK + 1));
+
+        assertEquals("Not enough accessory stock available.", e.getMessage());
+        assertEquals(STOCK, stock());
+    }
+
+    @Test
+    void reserveAndReleaseShouldMoveTheStock() {
+        inventory.reserve(accessoryId, 3);
+        assertEquals(STOCK - 3, stock());
+
+        inventory.release(accessoryId, 3);
+        assertEquals(STOCK, stock());
+    }
+
+    @Test
+    void reserveMissingAccessoryShouldThrowNotFound() {
+        assertThrows(EntityNotFoundException.class, () -> inventory.reserve(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    void nonPositiveQuantityShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> inventory.reserve(accessoryId, 0));
+        assertThrows(IllegalArgumentException.class, () -> inventory.release(accessoryId, -1));
+        assertEquals(STOCK, stock());
+    }
+
+    private int stock() {
+        return accessoryRepository.findById(accessoryId).orElseThrow().getQuantity();
+    }
+}
@@ -0,0 +1,124 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.events.PaymentSubmittedEvent;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import com.yorku4413s25.leafwheels.repositories.PaymentRepository;
+import com.yorku4413s25.leafwheels.web.models.PaymentResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AsyncCheckoutProcessorTest {
+
+    @Mock
+    private PaymentOutcomeWriter paymentOutcomes;
+
+    @Mock
+    private PaymentGatewayClient paymentGatewayClient;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private AsyncCheckoutProcessor processor;
+    private Payment payment;
+    private PaymentResponseDto response;
+
+    @BeforeEach
+    void setUp() {
+        processor = new AsyncCheckoutProcessor(paymentOutcomes, paymentGatewayClient, paymentRepository,
+                messagingTemplate, new SyncTaskExecutor(), Duration.ofMinutes(5), 100);
+        payment = Payment.builder()
+                .id(UUID.randomUUID())
+                .order(Order.builder().id(UUID.randomUUID()).build())
+                .status(PaymentStatus.PENDING)
+                .transactionId(UUID.randomUUID().toString())
+                .amount(new BigDecimal("45000.00"))
+                .paymentMethod("card")
+                .build();
+        response = PaymentResponseDto.builder().id(payment.getId()).orderId(payment.getOrder().getId()).build();
+        when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+        when(paymentOutcomes.complete(eq(payment.getId()), any())).thenReturn(response);
+        when(paymentOutcomes.fail(eq(payment.getId()), any())).thenReturn(response);
+    }
+
+    @Test
+    void submittedPaymentShouldBeAuthorizedAndPublished() {
+        when(paymentGatewayClient.authorize(payment.getTransactionId(), payment.getAmount(),
+                payment.getPaymentMethod())).thenReturn(PaymentAuthorization.approve());
+
+        processor.onPaymentSubmitted(new PaymentSubmittedEvent(payment.getId()));
+
+        verify(paymentOutcomes).complete(payment.getId(), PaymentAuthorization.approve());
+        verify(messagingTemplate).convertAndSend("/topic/payments/" + payment.getOrder().getId(), response);
+    }
+
+    @Test
+    void unavailableGatewayShouldFailThePayment() {
+        when(paymentGatewayClient.authorize(payment.getTransactionId(), payment.getAmount(),
+                payment.getPaymentMethod())).thenThrow(new PaymentGatewayException("gateway down"));
+
+        processor.onPaymentSubmitted(new PaymentSubmittedEvent(payment.getId()));
+
+        verify(paymentOutcomes, never()).complete(any(), any());
+        verify(paymentOutcomes).fail(payment.getId(), "Payment gateway unavailable");
+        verify(messagingTemplate).convertAndSend("/topic/payments/" + payment.getOrder().getId(), response);
+    }
+
+    @Test
+    void stalePendingPaymentShouldBeRedriven() {
+        when(paymentRepository.findIdsByStatusUpdatedBefore(eq(PaymentStatus.PENDING), any(), any()))
+                .thenReturn(List.of(payment.getId()));
+        when(paymentGatewayClient.authorize(payment.getTransactionId(), payment.getAmount(),
+                payment.getPaymentMethod())).thenReturn(PaymentAuthorization.approve());
+
+        processor.redriveStalePayments();
+
+        verify(paymentOutcomes).complete(payment.getId(), PaymentAuthorization.approve());
+        verify(messagingTemplate).convertAndSend("/topic/payments/" + payment.getOrder().getId(), response);
+    }
+
+    @Test
+    void redriveShouldSkipPaymentStillQueuedHere() {
+        List<Runnable> queued = new ArrayList<>();
+        processor = new AsyncCheckoutProcessor(paymentOutcomes, paymentGatewayClient, paymentRepository,
+                messagingTemplate, queued::add, Duration.ofMinutes(5), 100);
+        when(paymentRepository.findIdsByStatusUpdatedBefore(eq(PaymentStatus.PENDING), any(), any()))
+                .thenReturn(List.of(payment.getId()));
+
+        processor.onPaymentSubmitted(new PaymentSubmittedEvent(payment.getId()));
+        processor.redriveStalePayments();
+
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        processor.redriveStalePayments();
+
+        assertEquals(2, queued.size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Cart;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.OrderItem;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.repositories.CartItemRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checking out turns the cart into a PLACED order while the vehicle stays PENDING in the cart until the payment
+ * completes. The sweeper must not hand that vehicle to someone else when the cart reservation lapses meanwhile.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartReservationExpiryTest {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CartReservationSweeper sweeper;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new CartReservationSweeper(cartItemRepository, cartRepository, vehicleRepository, eventPublisher,
+                transactionManager, new SimpleMeterRegistry(), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cartRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void lapsedReservationShouldBeReleased() {
+        Vehicle vehicle = reservedInExpiredCart();
+
+        sweeper.sweep();
+
+        assertEquals(VehicleStatus.AVAILABLE, vehicleRepository.findById(vehicle.getId()).orElseThrow().getStatus());
+        assertEquals(0, cartItemRepository.count());
+    }
+
+    @Test
+    void vehicleOnPlacedOrderShouldSurviveTheSweep() {
+        Vehicle vehicle = reservedInExpiredCart();
+        placeOrder(vehicle, OrderStatus.PLACED);
+
+        sweeper.sweep();
+
+        assertEquals(VehicleStatus.PENDING, vehicleRepository.findById(vehicle.getId()).orElseThrow().getStatus());
+        assertEquals(1, cartItemRepository.count());
+        assertFalse(new TransactionTemplate(transactionManager)
+                .execute(status -> vehicleRepository.reserveIfAvailable(vehicle.getId())));
+    }
+
+    @Test
+    void vehicleShouldBeReleasedOnceItsOrderIsCancelled() {
+        Vehicle vehicle = reservedInExpiredCart();
+        placeOrder(vehicle, OrderStatus.CANCELED);
+
+        sweeper.sweep();
+
+        assertEquals(VehicleStatus.AVAILABLE, vehicleRepository.findById(vehicle.getId()).orElseThrow().getStatus());
+        assertEquals(0, cartItemRepository.count());
+    }
+
+    private Vehicle reservedInExpiredCart() {
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .year(2023)
+                .make(Make.TESLA)
+                .model("Model Y")
+                .bodyType(BodyType.SUV)
+                .doors(4)
+                .seats(5)
+                .mileage(0)
+                .batteryRange(500)
+                .price(new BigDecimal("55000.00"))
+                .condition(Condition.NEW)
+                .status(VehicleStatus.PENDING)
+                .imageUrls(new ArrayList<>())
+                .vehicleHistories(new ArrayList<>())
+                .build());
+        Cart cart = Cart.builder().userId(userId).items(new ArrayList<>()).build();
+        cart.addItem(CartItem.builder()
+                .cart(cart)
+                .type(ItemType.VEHICLE)
+                .vehicle(vehicle)
+                .unitPrice(vehicle.getPrice())
+                .quantity(1)
+                .reservedUntil(Instant.now().minus(Duration.ofMinutes(5)))
+                .build());
+        cartRepository.save(cart);
+        return vehicle;
+    }
+
+    private void placeOrder(Vehicle vehicle, OrderStatus status) {
+        Order order = Order.builder()
+                .userId(userId)
+                .status(status)
+                .totalPrice(vehicle.getPrice())
+                .items(new ArrayList<>())
+                .build();
+        order.getItems().add(OrderItem.builder()
+                .order(order)
+                .type(ItemType.VEHICLE)
+                .vehicle(vehicle)
+                .unitPrice(vehicle.getPrice())
+                .quantity(1)
+                .build());
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,90 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.ExpiredReservation;
+import com.yorku4413s25.leafwheels.events.CartReservationsExpiringEvent;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.CartItemRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartReservationSweeperTest {
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CartReservationSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new CartReservationSweeper(cartItemRepository, cartRepository, vehicleRepository, eventPublisher,
+                transactionManager, new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void sweepShouldReleaseExpiredReservationsInBatches() {
+        UUID cartId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        ExpiredReservation first = new ExpiredReservation(UUID.randomUUID(), cartId, userId, UUID.randomUUID());
+        ExpiredReservation second = new ExpiredReservation(UUID.randomUUID(), cartId, userId, UUID.randomUUID());
+        ExpiredReservation third = new ExpiredReservation(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(cartItemRepository.findExpiredReservations(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second), List.of(third));
+
+        sweeper.sweep();
+
+        verify(cartItemRepository, times(2)).findExpiredReservations(any(Instant.class), any(Pageable.class));
+        verify(vehicleRepository).releaseReservations(eq(Set.of(first.vehicleId(), second.vehicleId())), any(Instant.class),
+                eq(VehicleStatus.PENDING), eq(VehicleStatus.AVAILABLE));
+        verify(cartRepository).refreshTotals(Set.of(cartId));
+        verify(cartItemRepository).deleteExpiredByIdIn(eq(List.of(third.itemId())), any(Instant.class));
+        verify(eventPublisher).publishEvent(new CartReservationsExpiringEvent(
+                Map.of(userId, List.of(first.itemId(), second.itemId()))));
+        verify(eventPublisher).publishEvent(new VehiclesChangedEvent(Set.of(third.vehicleId())));
+    }
+
+    @Test
+    void sweepShouldDoNothingWhenNoReservationExpired() {
+        when(cartItemRepository.findExpiredReservations(any(Instant.class), any(Pageable.class))).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verify(cartItemRepository, never()).deleteExpiredByIdIn(anyCollection(), any());
+        verify(vehicleRepository, never()).releaseReservations(anyCollection(), any(), any(), any());
+        verifyNoInteractions(eventPublisher, transactionManager);
+    }
+}
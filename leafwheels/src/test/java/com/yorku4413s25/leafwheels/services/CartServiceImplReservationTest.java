@@ -0,0 +1,106 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.CartItemMapper;
+import com.yorku4413s25.leafwheels.web.mappers.CartMapper;
+import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Reserves a vehicle that is already in the persistence context, as it is when the cart or an earlier operation
+ * loaded it, and checks that the cart line sees the state the conditional UPDATE wrote rather than the stale copy.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(JpaConfig.class)
+class CartServiceImplReservationTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CartServiceImpl cartService;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cartService = new CartServiceImpl(cartRepository, vehicleRepository, accessoryRepository,
+                mock(CartMapper.class), mock(CartItemMapper.class), eventPublisher, entityManager);
+        ReflectionTestUtils.setField(cartService, "reservationTtl", Duration.ofMinutes(30));
+    }
+
+    @Test
+    void reservedVehicleShouldNotBeStaleInThePersistenceContext() {
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .year(2023)
+                .make(Make.NISSAN)
+                .model("Leaf")
+                .bodyType(BodyType.HATCHBACK)
+                .doors(4)
+                .seats(5)
+                .mileage(15000)
+                .batteryRange(240)
+                .price(new BigDecimal("28900.00"))
+                .condition(Condition.USED)
+                .status(VehicleStatus.AVAILABLE)
+                .imageUrls(new ArrayList<>())
+                .vehicleHistories(new ArrayList<>())
+                .build());
+        entityManager.flush();
+        long version = vehicle.getVersion();
+
+        cartService.addItemToCart(userId, CreateCartItemDto.builder()
+                .type(ItemType.VEHICLE)
+                .vehicleId(vehicle.getId())
+                .quantity(1)
+                .build());
+
+        CartItem line = cartRepository.findHydratedByUserId(userId).orElseThrow().getItems().get(0);
+        assertSame(vehicle, line.getVehicle());
+        assertEquals(VehicleStatus.PENDING, vehicle.getStatus());
+        assertEquals(version + 1, vehicle.getVersion());
+
+        // a stale version would make this write fail its optimistic lock check
+        vehicle.setMileage(15100);
+        entityManager.flush();
+        entityManager.clear();
+        Vehicle stored = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        assertEquals(VehicleStatus.PENDING, stored.getStatus());
+        assertEquals(15100, stored.getMileage());
+    }
+}
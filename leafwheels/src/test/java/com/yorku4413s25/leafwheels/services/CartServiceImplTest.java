@@ -0,0 +1,145 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.CartOperationType;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.Cart;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.CartItemMapper;
+import com.yorku4413s25.leafwheels.web.mappers.CartMapper;
+import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
+import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartServiceImplTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
+    @Mock
+    private CartMapper cartMapper;
+
+    @Mock
+    private CartItemMapper cartItemMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CartServiceImpl cartService;
+    private final UUID userId = UUID.randomUUID();
+    private Cart cart;
+    private Accessory accessory;
+
+    @BeforeEach
+    void setUp() {
+        cartService = new CartServiceImpl(cartRepository, vehicleRepository, accessoryRepository, cartMapper,
+                cartItemMapper, eventPublisher, entityManager);
+        ReflectionTestUtils.setField(cartService, "reservationTtl", Duration.ofMinutes(30));
+
+        accessory = Accessory.builder().id(UUID.randomUUID()).price(new BigDecimal("50.00")).quantity(10).build();
+        cart = Cart.builder().userId(userId).items(new ArrayList<>()).build();
+        when(cartRepository.findHydratedByUserId(userId)).thenReturn(Optional.of(cart));
+        when(accessoryRepository.findById(accessory.getId())).thenReturn(Optional.of(accessory));
+        when(cartMapper.cartToCartDto(cart)).thenReturn(CartDto.builder().userId(userId).build());
+    }
+
+    @Test
+    void applyOperationsShouldLoadAndSaveTheCartOnce() {
+        CreateCartItemDto add = CreateCartItemDto.builder()
+                .type(ItemType.ACCESSORY)
+                .accessoryId(accessory.getId())
+                .quantity(2)
+                .build();
+
+        cartService.applyOperations(userId, List.of(
+                CartOperationDto.builder().op(CartOperationType.ADD).item(add).build(),
+                CartOperationDto.builder().op(CartOperationType.INCREMENT).accessoryId(accessory.getId()).build(),
+                CartOperationDto.builder().op(CartOperationType.INCREMENT).accessoryId(accessory.getId()).build(),
+                CartOperationDto.builder().op(CartOperationType.DECREMENT).accessoryId(accessory.getId()).build()));
+
+        assertEquals(1, cart.getItems().size());
+        assertEquals(3, cart.getItems().get(0).getQuantity());
+        assertEquals(new BigDecimal("150.00"), cart.getSubtotal());
+        verify(cartRepository, times(1)).findHydratedByUserId(userId);
+        verify(cartRepository, times(1)).save(cart);
+        verify(cartMapper, times(1)).cartToCartDto(cart);
+    }
+
+    @Test
+    void applyOperationsShouldFailWithoutSavingWhenAnOperationFails() {
+        CartItem item = CartItem.builder()
+                .id(UUID.randomUUID())
+                .type(ItemType.ACCESSORY)
+                .accessory(accessory)
+                .unitPrice(accessory.getPrice())
+                .quantity(1)
+                .build();
+        cart.addItem(item);
+
+        assertThrows(EntityNotFoundException.class, () -> cartService.applyOperations(userId, List.of(
+                CartOperationDto.builder().op(CartOperationType.REMOVE).itemId(item.getId()).build(),
+                CartOperationDto.builder().op(CartOperationType.REMOVE).itemId(UUID.randomUUID()).build())));
+
+        verify(cartRepository, never()).save(any());
+    }
+
+    @Test
+    void removeAfterAddInSameBatchShouldThrowNotFoundForUnknownItem() {
+        CreateCartItemDto add = CreateCartItemDto.builder()
+                .type(ItemType.ACCESSORY)
+                .accessoryId(accessory.getId())
+                .quantity(1)
+                .build();
+
+        assertThrows(EntityNotFoundException.class, () -> cartService.applyOperations(userId, List.of(
+                CartOperationDto.builder().op(CartOperationType.ADD).item(add).build(),
+                CartOperationDto.builder().op(CartOperationType.REMOVE).itemId(UUID.randomUUID()).build())));
+
+        verify(cartRepository, never()).save(any());
+    }
+
+    @Test
+    void applyOperationsShouldRejectIncompleteOperationsBeforeLoadingTheCart() {
+        List<CartOperationDto> operations = List.of(CartOperationDto.builder().op(CartOperationType.INCREMENT).build());
+
+        assertThrows(IllegalArgumentException.class, () -> cartService.applyOperations(userId, operations));
+        assertThrows(IllegalArgumentException.class, () -> cartService.applyOperations(userId, List.of()));
+        verifyNoInteractions(cartRepository);
+    }
+}
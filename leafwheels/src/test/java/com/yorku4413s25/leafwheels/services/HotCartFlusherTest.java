@@ -0,0 +1,103 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.web.models.CartDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HotCartFlusherTest {
+
+    @Mock
+    private HotCartStore hotCartStore;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HotCartFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        flusher = new HotCartFlusher(hotCartStore, jdbcTemplate, transactionManager, meterRegistry, 2);
+    }
+
+    @Test
+    void failedBatchShouldBeRequeuedAfterPassWithoutStoppingIt() {
+        UUID first = hotCart();
+        UUID second = hotCart();
+        UUID third = hotCart();
+        when(hotCartStore.popDirty(2)).thenReturn(Set.of(first, second), Set.of(third), Set.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0]);
+
+        flusher.flushDirty();
+
+        verify(hotCartStore, times(3)).popDirty(2);
+        verify(hotCartStore).markFlushed(third);
+        verify(hotCartStore, never()).markFlushed(first);
+        verify(hotCartStore).markDirty(Set.of(first, second));
+        assertEquals(2, meterRegistry.get("leafwheels.cart.hot.flush.failures").counter().count());
+    }
+
+    @Test
+    void dirtyCartWithoutHashShouldStayDirty() {
+        UUID missing = UUID.randomUUID();
+        when(hotCartStore.find(missing)).thenReturn(Optional.empty());
+        when(hotCartStore.popDirty(2)).thenReturn(Set.of(missing), Set.of());
+
+        flusher.flushDirty();
+
+        verify(hotCartStore).markDirty(Set.of(missing));
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(1, meterRegistry.get("leafwheels.cart.hot.flush.missing").counter().count());
+    }
+
+    @Test
+    void flushShouldRequeueAndRethrowWhenWriteFails() {
+        UUID userId = hotCart();
+        when(hotCartStore.popDirty(userId)).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> flusher.flush(userId));
+
+        verify(hotCartStore).markDirty(Set.of(userId));
+        verify(hotCartStore, never()).markFlushed(any());
+    }
+
+    private UUID hotCart() {
+        UUID userId = UUID.randomUUID();
+        when(hotCartStore.find(userId)).thenReturn(Optional.of(CartDto.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .items(new ArrayList<>())
+                .totalPrice(BigDecimal.ZERO)
+                .itemCount(0)
+                .build()));
+        return userId;
+    }
+}
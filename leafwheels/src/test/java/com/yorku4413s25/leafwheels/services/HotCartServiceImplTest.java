@@ -0,0 +1,213 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.CartOperationType;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.AccessoryMapper;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleMapper;
+import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartItemDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
+import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HotCartServiceImplTest {
+
+    @Mock
+    private CartServiceImpl databaseCarts;
+
+    @Mock
+    private HotCartStore hotCartStore;
+
+    @Mock
+    private HotCartFlusher hotCartFlusher;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
+    @Mock
+    private VehicleMapper vehicleMapper;
+
+    @Mock
+    private AccessoryMapper accessoryMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private HotCartServiceImpl cartService;
+    private UUID userId;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        cartService = new HotCartServiceImpl(databaseCarts, hotCartStore, hotCartFlusher, vehicleRepository,
+                accessoryRepository, vehicleMapper, accessoryMapper, eventPublisher, entityManager);
+        ReflectionTestUtils.setField(cartService, "reservationTtl", Duration.ofMinutes(30));
+        userId = UUID.randomUUID();
+        vehicle = Vehicle.builder()
+                .id(UUID.randomUUID())
+                .price(new BigDecimal("45000.00"))
+                .status(VehicleStatus.AVAILABLE)
+                .build();
+        when(vehicleRepository.findById(vehicle.getId())).thenReturn(Optional.of(vehicle));
+        when(vehicleMapper.vehicleToVehicleDto(vehicle)).thenReturn(VehicleDto.builder().id(vehicle.getId()).build());
+        when(hotCartStore.get(eq(userId), any()))
+                .thenReturn(CartDto.builder().userId(userId).items(new ArrayList<>()).build());
+    }
+
+    @Test
+    void addVehicleShouldReserveVehicleBeforeAddingItToHotCart() {
+        CartDto cart = CartDto.builder().userId(userId).items(new ArrayList<>()).build();
+        when(vehicleRepository.reserveIfAvailable(vehicle.getId())).thenReturn(true);
+        when(hotCartStore.adjust(eq(userId), eq(ItemType.VEHICLE), eq(vehicle.getId()), any(), eq(1), eq(1), any()))
+                .thenReturn(new HotCartStore.Mutation(cart, null));
+
+        CartDto result = cartService.addItemToCart(userId, vehicleItem());
+
+        assertSame(cart, result);
+        verify(vehicleRepository).reserveIfAvailable(vehicle.getId());
+        verify(entityManager).refresh(vehicle);
+        verify(eventPublisher).publishEvent(VehiclesChangedEvent.of(vehicle.getId()));
+        verify(vehicleRepository, never()).save(any());
+        verifyNoInteractions(databaseCarts);
+    }
+
+    @Test
+    void addVehicleReservedElsewhereShouldNotTouchHotCart() {
+        when(vehicleRepository.reserveIfAvailable(vehicle.getId())).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> cartService.addItemToCart(userId, vehicleItem()));
+
+        assertEquals("Vehicle is not available.", exception.getMessage());
+        verify(hotCartStore, never()).adjust(any(), any(), any(), any(), anyInt(), anyInt(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void addVehicleAlreadyInCartShouldFailWithoutReserving() {
+        CartItemDto item = CartItemDto.builder()
+                .id(UUID.randomUUID())
+                .type(ItemType.VEHICLE)
+                .vehicle(VehicleDto.builder().id(vehicle.getId()).build())
+                .quantity(1)
+                .build();
+        when(hotCartStore.get(eq(userId), any()))
+                .thenReturn(CartDto.builder().userId(userId).items(List.of(item)).build());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> cartService.addItemToCart(userId, vehicleItem()));
+
+        assertEquals("This vehicle is already in your cart.", exception.getMessage());
+        verify(vehicleRepository, never()).reserveIfAvailable(any());
+        verify(hotCartStore, never()).adjust(any(), any(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void removeVehicleShouldReleaseIt() {
+        vehicle.setStatus(VehicleStatus.PENDING);
+        UUID itemId = UUID.randomUUID();
+        CartItemDto removed = CartItemDto.builder()
+                .id(itemId)
+                .type(ItemType.VEHICLE)
+                .vehicle(VehicleDto.builder().id(vehicle.getId()).build())
+                .quantity(1)
+                .build();
+        when(hotCartStore.remove(eq(userId), eq(itemId), any()))
+                .thenReturn(new HotCartStore.Mutation(CartDto.builder().userId(userId).items(List.of()).build(), removed));
+
+        cartService.removeItemFromCart(userId, itemId);
+
+        verify(vehicleRepository).releaseReservations(eq(List.of(vehicle.getId())), any(),
+                eq(VehicleStatus.PENDING), eq(VehicleStatus.AVAILABLE));
+        verify(vehicleRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(VehiclesChangedEvent.of(vehicle.getId()));
+    }
+
+    @Test
+    void decrementMissingAccessoryShouldThrowNotFound() {
+        UUID accessoryId = UUID.randomUUID();
+        when(hotCartStore.adjust(eq(userId), eq(ItemType.ACCESSORY), eq(accessoryId), isNull(), eq(-1), anyInt(), any()))
+                .thenThrow(new NoSuchElementException());
+
+        assertThrows(EntityNotFoundException.class, () -> cartService.decrementAccessoryInCart(userId, accessoryId));
+    }
+
+    @Test
+    void applyOperationsShouldRepeatWriteBackUntilHotCartIsClean() {
+        List<CartOperationDto> operations = List.of(
+                CartOperationDto.builder().op(CartOperationType.REMOVE).itemId(UUID.randomUUID()).build());
+        when(hotCartStore.evict(userId)).thenReturn(false, true);
+
+        cartService.applyOperations(userId, operations);
+
+        InOrder inOrder = inOrder(hotCartFlusher, hotCartStore, databaseCarts);
+        inOrder.verify(hotCartFlusher).flush(userId);
+        inOrder.verify(hotCartStore).evict(userId);
+        inOrder.verify(hotCartFlusher).flush(userId);
+        inOrder.verify(hotCartStore).evict(userId);
+        inOrder.verify(databaseCarts).applyOperations(userId, operations);
+    }
+
+    @Test
+    void applyOperationsShouldFailWhenHotCartKeepsChanging() {
+        List<CartOperationDto> operations = List.of(
+                CartOperationDto.builder().op(CartOperationType.REMOVE).itemId(UUID.randomUUID()).build());
+        when(hotCartStore.evict(userId)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> cartService.applyOperations(userId, operations));
+
+        verify(hotCartFlusher, times(3)).flush(userId);
+        verify(databaseCarts, never()).applyOperations(any(), any());
+    }
+
+    @Test
+    void flushCartShouldWriteBackSynchronously() {
+        cartService.flushCart(userId);
+
+        verify(hotCartFlusher).flush(userId);
+    }
+
+    private CreateCartItemDto vehicleItem() {
+        CreateCartItemDto dto = new CreateCartItemDto();
+        dto.setType(ItemType.VEHICLE);
+        dto.setVehicleId(vehicle.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,145 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersRequestDto;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderBulkCancellerTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
+    @Mock
+    private OrderStatistics orderStatistics;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderBulkCanceller canceller;
+
+    @BeforeEach
+    void setUp() {
+        canceller = new OrderBulkCanceller(orderRepository, vehicleRepository, accessoryRepository, orderStatistics,
+                outboxWriter, eventPublisher, transactionManager, new SimpleMeterRegistry(), 3);
+        when(vehicleRepository.updateStatusByIdIn(anyCollection(), any(Instant.class), eq(VehicleStatus.AVAILABLE)))
+                .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).size());
+        when(accessoryRepository.restockFromOrders(anyCollection(), any(Instant.class))).thenReturn(2);
+    }
+
+    @Test
+    void cancelShouldProcessMatchingOrdersInChunksWithSetBasedUpdates() {
+        UUID userId = UUID.randomUUID();
+        Instant placedBefore = Instant.parse("2026-09-01T00:00:00Z");
+        List<UUID> firstChunk = ids(3);
+        List<UUID> secondChunk = ids(1);
+        when(orderRepository.lockIdsForUpdate(OrderStatus.PLACED, placedBefore, userId, 3))
+                .thenReturn(firstChunk, secondChunk, List.of());
+        when(orderRepository.findVehicleIdsByOrderIdIn(firstChunk)).thenReturn(ids(2));
+        when(orderRepository.findVehicleIdsByOrderIdIn(secondChunk)).thenReturn(List.of());
+
+        BulkCancelOrdersResultDto result = canceller.cancel(BulkCancelOrdersRequestDto.builder()
+                .placedBefore(placedBefore)
+                .userId(userId)
+                .build());
+
+        assertEquals(4, result.getCanceled());
+        assertEquals(2, result.getVehiclesReleased());
+        assertEquals(4, result.getAccessoriesRestocked());
+        assertEquals(2, result.getChunks());
+
+        verify(vehicleRepository, times(1)).updateStatusByIdIn(anyCollection(), any(Instant.class), eq(VehicleStatus.AVAILABLE));
+        verify(accessoryRepository).restockFromOrders(eq(firstChunk), any(Instant.class));
+        verify(accessoryRepository).restockFromOrders(eq(secondChunk), any(Instant.class));
+        verify(orderRepository).updateStatusByIdIn(eq(firstChunk), any(Instant.class), eq(OrderStatus.CANCELED));
+        verify(orderRepository).updateStatusByIdIn(eq(secondChunk), any(Instant.class), eq(OrderStatus.CANCELED));
+        verify(orderStatistics).recordTransition(OrderStatus.PLACED, OrderStatus.CANCELED, 3);
+        verify(orderStatistics).recordTransition(OrderStatus.PLACED, OrderStatus.CANCELED, 1);
+        verify(outboxWriter, times(2)).ordersChanged(anyList(), eq(OutboxEventType.ORDER_CANCELED));
+        verify(eventPublisher, times(1)).publishEvent(any(VehiclesChangedEvent.class));
+        verify(vehicleRepository, never()).save(any());
+        verify(accessoryRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelShouldStopWhenNoOrdersMatch() {
+        when(orderRepository.lockIdsForUpdate(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        BulkCancelOrdersResultDto result = canceller.cancel(new BulkCancelOrdersRequestDto());
+
+        assertEquals(0, result.getCanceled());
+        assertEquals(0, result.getChunks());
+        verify(orderRepository, times(1)).lockIdsForUpdate(eq(OrderStatus.PLACED), any(Instant.class), isNull(), eq(3));
+        verify(orderRepository, never()).updateStatusByIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    void shortChunkShouldNotEndTheRunWhileOrdersRemain() {
+        List<UUID> skippedLocks = ids(1);
+        List<UUID> rest = ids(3);
+        when(orderRepository.lockIdsForUpdate(any(), any(), any(), anyInt())).thenReturn(skippedLocks, rest, List.of());
+
+        BulkCancelOrdersResultDto result = canceller.cancel(new BulkCancelOrdersRequestDto());
+
+        assertEquals(4, result.getCanceled());
+        assertEquals(2, result.getChunks());
+        verify(orderRepository, times(3)).lockIdsForUpdate(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void cancelShouldRejectStatusesOtherThanPlaced() {
+        for (OrderStatus status : List.of(OrderStatus.CANCELED, OrderStatus.PAID)) {
+            BulkCancelOrdersRequestDto filter = BulkCancelOrdersRequestDto.builder().status(status).build();
+
+            assertThrows(IllegalArgumentException.class, () -> canceller.cancel(filter));
+        }
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,206 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.AccessoryMapperImpl;
+import com.yorku4413s25.leafwheels.web.mappers.DateMapper;
+import com.yorku4413s25.leafwheels.web.mappers.OrderItemMapper;
+import com.yorku4413s25.leafwheels.web.mappers.OrderItemMapperImpl;
+import com.yorku4413s25.leafwheels.web.mappers.OrderMapper;
+import com.yorku4413s25.leafwheels.web.mappers.OrderMapperImpl;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleHistoryMapperImpl;
+import com.yorku4413s25.leafwheels.web.mappers.VehicleMapperImpl;
+import com.yorku4413s25.leafwheels.web.models.CreateOrderItemDto;
+import com.yorku4413s25.leafwheels.web.models.CreateOrderRequestDto;
+import com.yorku4413s25.leafwheels.web.models.OrderDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Counts the statements behind placing an order, so resolving products line by line or inserting order items one
+ * round trip at a time shows up as a failure rather than as a slow checkout. Order items are written in JDBC
+ * batches of {@code hibernate.jdbc.batch_size} (50), so lines beyond the first batch may only cost one statement
+ * per further batch.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+@Import({JpaConfig.class, AccessoryInventoryServiceImpl.class, OutboxWriter.class, OrderMapperImpl.class,
+        OrderItemMapperImpl.class, VehicleMapperImpl.class, VehicleHistoryMapperImpl.class, AccessoryMapperImpl.class,
+        DateMapper.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderServiceImplQueryCountTest {
+
+    private static final int PRODUCTS = 20;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private AccessoryInventoryServiceImpl accessoryInventory;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderItemMapper orderItemMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private OrderServiceImpl orderService;
+    private Statistics statistics;
+    private final List<UUID> vehicleIds = new ArrayList<>();
+    private final List<UUID> accessoryIds = new ArrayList<>();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderServiceImpl(orderRepository, vehicleRepository, accessoryRepository, orderMapper,
+                orderItemMapper, cartRepository, mock(CartService.class), accessoryInventory,
+                new OrderStatistics(orderRepository, meterRegistry), outboxWriter, meterRegistry);
+        for (int i = 0; i < PRODUCTS; i++) {
+            vehicleIds.add(vehicleRepository.save(vehicle(i)).getId());
+            accessoryIds.add(accessoryRepository.save(Accessory.builder()
+                    .name("Accessory " + i)
+                    .price(new BigDecimal("25.00"))
+                    .quantity(10_000)
+                    .imageUrls(new ArrayList<>(List.of("https://img.example/accessory/" + i + ".jpg")))
+                    .build()).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void largeOrderShouldCostAConstantNumberOfStatements() {
+        long small = statementsToPlace(PRODUCTS);
+        long large = statementsToPlace(200 - PRODUCTS);
+
+        assertEquals(200 + 2, statistics.getEntityInsertCount(), "the order, its 200 items and one outbox event");
+        // 200 items take 4 batches where 40 take 1; every other statement is the same for both orders
+        assertEquals(small + batches(200) - batches(2 * PRODUCTS), large);
+        assertTrue(large < 40, "expected a constant number of statements, got " + large);
+    }
+
+    @Test
+    void largeOrderShouldBeWrittenCompletely() {
+        statementsToPlace(200 - PRODUCTS);
+
+        OrderDto order = orderService.getOrdersByUserId(userId).get(0);
+        assertEquals(200, order.getItems().size());
+        assertEquals(0, new BigDecimal("804500.00").compareTo(order.getTotalPrice()));
+        assertEquals(10_000 - 9, accessoryRepository.findById(accessoryIds.get(0)).orElseThrow().getQuantity());
+    }
+
+    /**
+     * Places an order for every vehicle plus the given number of accessory lines spread over all accessories, and
+     * returns the statements it took, including the flush of the order and its items.
+     */
+    private long statementsToPlace(int accessoryLines) {
+        List<CreateOrderItemDto> items = new ArrayList<>();
+        for (UUID vehicleId : vehicleIds) {
+            items.add(vehicleLine(vehicleId));
+        }
+        for (int i = 0; i < accessoryLines; i++) {
+            items.add(accessoryLine(accessoryIds.get(i % PRODUCTS)));
+        }
+        statistics.clear();
+
+        orderService.createOrder(userId, CreateOrderRequestDto.builder().userId(userId).items(items).build());
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private static int batches(int rows) {
+        return (rows + BATCH_SIZE - 1) / BATCH_SIZE;
+    }
+
+    private static CreateOrderItemDto vehicleLine(UUID vehicleId) {
+        return CreateOrderItemDto.builder()
+                .type(ItemType.VEHICLE)
+                .vehicleId(vehicleId)
+                .unitPrice(BigDecimal.ZERO)
+                .quantity(1)
+                .build();
+    }
+
+    private static CreateOrderItemDto accessoryLine(UUID accessoryId) {
+        return CreateOrderItemDto.builder()
+                .type(ItemType.ACCESSORY)
+                .accessoryId(accessoryId)
+                .unitPrice(BigDecimal.ZERO)
+                .quantity(1)
+                .build();
+    }
+
+    private static Vehicle vehicle(int i) {
+        return Vehicle.builder()
+                .year(2022)
+                .make(Make.TESLA)
+                .model("Model 3")
+                .bodyType(BodyType.SEDAN)
+                .doors(4)
+                .seats(5)
+                .mileage(1000 * i)
+                .batteryRange(500)
+                .price(new BigDecimal("40000.00"))
+                .condition(Condition.USED)
+                .status(VehicleStatus.AVAILABLE)
+                .imageUrls(new ArrayList<>(List.of("https://img.example/" + i + "/front.jpg",
+                        "https://img.example/" + i + "/side.jpg")))
+                .vehicleHistories(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.OrderItemMapper;
+import com.yorku4413s25.leafwheels.web.mappers.OrderMapper;
+import com.yorku4413s25.leafwheels.web.models.CreateOrderItemDto;
+import com.yorku4413s25.leafwheels.web.models.CreateOrderRequestDto;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
+import com.yorku4413s25.leafwheels.web.models.OrderSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private AccessoryInventoryService accessoryInventory;
+
+    @Mock
+    private OrderStatistics orderStatistics;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    private OrderServiceImpl orderService;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, vehicleRepository, accessoryRepository, orderMapper,
+                orderItemMapper, cartRepository, cartService, accessoryInventory, orderStatistics, outboxWriter,
+                new SimpleMeterRegistry());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(vehicleRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Vehicle> vehicles = new ArrayList<>();
+            for (UUID id : invocation.<Iterable<UUID>>getArgument(0)) {
+                vehicles.add(Vehicle.builder().id(id).price(new BigDecimal("40000.00")).build());
+            }
+            return vehicles;
+        });
+        when(accessoryRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Accessory> accessories = new ArrayList<>();
+            for (UUID id : invocation.<Iterable<UUID>>getArgument(0)) {
+                accessories.add(Accessory.builder().id(id).price(new BigDecimal("25.00")).quantity(100).build());
+            }
+            return accessories;
+        });
+    }
+
+    @Test
+    void unknownProductShouldFailBeforeReservingStock() {
+        UUID missing = UUID.randomUUID();
+        when(vehicleRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        List<CreateOrderItemDto> items = List.of(accessoryLine(UUID.randomUUID(), 2), vehicleLine(missing));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> orderService.createOrder(userId, CreateOrderRequestDto.builder().userId(userId).items(items).build()));
+        assertTrue(exception.getMessage().contains(missing.toString()));
+        verifyNoInteractions(accessoryInventory);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void orderSummariesShouldSeekPastTheLastRowOfThePreviousPage() {
+        Instant now = Instant.parse("2026-10-01T12:00:00Z");
+        List<OrderSummaryDto> firstRows = List.of(summary(now), summary(now.minusSeconds(60)), summary(now.minusSeconds(120)));
+        when(orderRepository.findSummariesByUserId(eq(userId), any(Pageable.class))).thenReturn(firstRows);
+
+        CursorPageDto<OrderSummaryDto> first = orderService.getOrderSummariesByUserId(userId, "", 2);
+
+        assertEquals(2, first.getContent().size());
+        assertNull(first.getTotalElements());
+        verify(orderRepository).findSummariesByUserId(eq(userId), argThat((Pageable page) -> page.getPageSize() == 3));
+
+        OrderSummaryDto last = first.getContent().get(1);
+        KeysetCursor cursor = KeysetCursor.decode(first.getNextCursor());
+        assertEquals(last.getId(), cursor.id());
+        assertEquals(Sort.Direction.DESC, cursor.direction());
+
+        when(orderRepository.findSummariesByUserIdBefore(eq(userId), eq(last.getCreatedAt()), eq(last.getId()), any(Pageable.class)))
+                .thenReturn(List.of(firstRows.get(2)));
+
+        CursorPageDto<OrderSummaryDto> second = orderService.getOrderSummariesByUserId(userId, first.getNextCursor(), 2);
+
+        assertEquals(List.of(firstRows.get(2)), second.getContent());
+        assertNull(second.getNextCursor());
+        verify(orderRepository, never()).findAllByUserId(any());
+    }
+
+    @Test
+    void orderSummariesShouldRejectForeignCursorsAndOversizedPages() {
+        String vehicleCursor = new KeysetCursor("price", Sort.Direction.ASC, "100", UUID.randomUUID()).encode();
+
+        String malformedCursor = new KeysetCursor("createdAt", Sort.Direction.DESC, "yesterday", UUID.randomUUID()).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderSummariesByUserId(userId, vehicleCursor, 10));
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderSummariesByUserId(userId, malformedCursor, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrderSummariesByUserId(userId, "", OrderServiceImpl.MAX_SUMMARY_PAGE_SIZE + 1));
+    }
+
+    private static OrderSummaryDto summary(Instant createdAt) {
+        return OrderSummaryDto.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.PLACED)
+                .totalPrice(new BigDecimal("100.00"))
+                .itemCount(1L)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static CreateOrderItemDto vehicleLine(UUID vehicleId) {
+        return CreateOrderItemDto.builder()
+                .type(ItemType.VEHICLE)
+                .vehicleId(vehicleId)
+                .unitPrice(BigDecimal.ZERO)
+                .quantity(1)
+                .build();
+    }
+
+    private static CreateOrderItemDto accessoryLine(UUID accessoryId, int quantity) {
+        return CreateOrderItemDto.builder()
+                .type(ItemType.ACCESSORY)
+                .accessoryId(accessoryId)
+                .unitPrice(BigDecimal.ZERO)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.domain.OrderStatusCount;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderStatisticsTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderStatistics orderStatistics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderStatistics = new OrderStatistics(orderRepository, meterRegistry);
+        when(orderRepository.countByStatus()).thenReturn(List.of(
+                new OrderStatusCount(OrderStatus.PLACED, 5L),
+                new OrderStatusCount(OrderStatus.PAID, 3L)));
+        orderStatistics.seed();
+    }
+
+    @Test
+    void scrapesShouldReadMaintainedCountsWithoutQuerying() {
+        orderStatistics.recordCreated(OrderStatus.PLACED);
+        orderStatistics.recordTransition(OrderStatus.PLACED, OrderStatus.PAID);
+        orderStatistics.recordTransition(OrderStatus.PAID, OrderStatus.CANCELED);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(9.0, meterRegistry.get("leafwheels.orders.total").gauge().value());
+        }
+        assertEquals(5.0, meterRegistry.get("leafwheels.orders.by_status").tag("status", "PLACED").gauge().value());
+        assertEquals(3.0, meterRegistry.get("leafwheels.orders.by_status").tag("status", "PAID").gauge().value());
+        assertEquals(1.0, meterRegistry.get("leafwheels.orders.by_status").tag("status", "CANCELED").gauge().value());
+        verify(orderRepository, times(1)).countByStatus();
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void rolledBackChangesShouldNotBeCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderStatistics.recordCreated(OrderStatus.PLACED);
+            orderStatistics.recordTransition(OrderStatus.PLACED, OrderStatus.CANCELED);
+
+            assertEquals(5, orderStatistics.count(OrderStatus.PLACED));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(5, orderStatistics.count(OrderStatus.PLACED));
+        assertEquals(0, orderStatistics.count(OrderStatus.CANCELED));
+    }
+
+    @Test
+    void reconcileShouldReplaceDriftedCounts() {
+        orderStatistics.recordCreated(OrderStatus.PLACED);
+        when(orderRepository.countByStatus()).thenReturn(List.of(
+                new OrderStatusCount(OrderStatus.PLACED, 4L),
+                new OrderStatusCount(OrderStatus.CANCELED, 2L)));
+
+        orderStatistics.reconcile();
+
+        assertEquals(4, orderStatistics.count(OrderStatus.PLACED));
+        assertEquals(0, orderStatistics.count(OrderStatus.PAID));
+        assertEquals(2, orderStatistics.count(OrderStatus.CANCELED));
+        assertEquals(6, orderStatistics.total());
+    }
+}
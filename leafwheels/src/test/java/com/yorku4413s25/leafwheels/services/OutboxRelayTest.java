@@ -0,0 +1,104 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import com.yorku4413s25.leafwheels.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, outboxPublisher, transactionManager, new SimpleMeterRegistry(),
+                2, Duration.ofDays(7));
+        when(outboxEventRepository.tryRelayLock()).thenReturn(true);
+    }
+
+    @Test
+    void relayShouldPublishBatchesInIdOrderAndMarkThemPublished() {
+        UUID orderId = UUID.randomUUID();
+        List<OutboxEvent> first = List.of(event(1, orderId, OutboxEventType.ORDER_PLACED), event(2, orderId, OutboxEventType.ORDER_PAID));
+        List<OutboxEvent> second = List.of(event(3, orderId, OutboxEventType.ORDER_CANCELED));
+        when(outboxEventRepository.findUnpublished(any(Pageable.class))).thenReturn(first, second);
+
+        relay.relay();
+
+        InOrder inOrder = inOrder(outboxPublisher, outboxEventRepository);
+        inOrder.verify(outboxPublisher).publish(first);
+        inOrder.verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        inOrder.verify(outboxPublisher).publish(second);
+        inOrder.verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(Instant.class));
+    }
+
+    @Test
+    void failedBatchShouldStayUnpublishedAndBeOfferedAgain() {
+        List<OutboxEvent> batch = List.of(event(1, UUID.randomUUID(), OutboxEventType.PAYMENT_APPROVED));
+        when(outboxEventRepository.findUnpublished(any(Pageable.class))).thenReturn(batch);
+        List<List<OutboxEvent>> published = new ArrayList<>();
+        doThrow(new RedisConnectionFailureException("down"))
+                .doAnswer(invocation -> published.add(invocation.getArgument(0)))
+                .when(outboxPublisher).publish(anyList());
+
+        relay.relay();
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+
+        relay.relay();
+        assertEquals(List.of(batch), published);
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(Instant.class));
+    }
+
+    @Test
+    void relayShouldSkipTheRoundWhenAnotherNodeHoldsTheLock() {
+        when(outboxEventRepository.tryRelayLock()).thenReturn(false);
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).findUnpublished(any());
+        verifyNoInteractions(outboxPublisher);
+    }
+
+    private static OutboxEvent event(long id, UUID aggregateId, OutboxEventType type) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(OutboxWriter.ORDER_AGGREGATE)
+                .aggregateId(aggregateId)
+                .type(type)
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import com.yorku4413s25.leafwheels.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({JpaConfig.class, OutboxWriter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxWriterTest {
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Order order = Order.builder()
+            .id(UUID.randomUUID())
+            .userId(UUID.randomUUID())
+            .status(OrderStatus.PAID)
+            .totalPrice(new BigDecimal("599.00"))
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void writingOutsideATransactionShouldBeRejected() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxWriter.orderChanged(order, OutboxEventType.ORDER_PAID));
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void eventShouldBeStoredWhenTheTransactionCommits() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> outboxWriter.orderChanged(order, OutboxEventType.ORDER_PAID));
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(OutboxWriter.ORDER_AGGREGATE, events.get(0).getAggregateType());
+        assertEquals(order.getId(), events.get(0).getAggregateId());
+        assertEquals(OutboxEventType.ORDER_PAID, events.get(0).getType());
+        assertTrue(events.get(0).getPayload().contains(order.getId().toString()));
+    }
+
+    @Test
+    void eventShouldBeDroppedWhenTheTransactionRollsBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxWriter.orderChanged(order, OutboxEventType.ORDER_PAID);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+}
@@ -0,0 +1,147 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentGatewayClientTest {
+
+    private static final String TRANSACTION_ID = "tx-1";
+    private static final BigDecimal AMOUNT = new BigDecimal("199.99");
+
+    @Mock
+    private PaymentGateway gateway;
+
+    private PaymentGatewayClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(), Duration.ofMillis(200), 3,
+                Duration.ofMillis(1), 1, Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void transientErrorShouldBeRetriedWithTheSameTransactionId() {
+        when(gateway.authorize(TRANSACTION_ID, AMOUNT, "VISA"))
+                .thenThrow(new PaymentGatewayException("503"))
+                .thenReturn(PaymentAuthorization.approve());
+
+        assertTrue(client.authorize(TRANSACTION_ID, AMOUNT, "VISA").approved());
+        verify(gateway, times(2)).authorize(TRANSACTION_ID, AMOUNT, "VISA");
+    }
+
+    @Test
+    void declineShouldNotBeRetried() {
+        when(gateway.authorize(anyString(), any(), anyString())).thenReturn(PaymentAuthorization.decline("Declined"));
+
+        assertFalse(client.authorize(TRANSACTION_ID, AMOUNT, "VISA").approved());
+        verify(gateway, times(1)).authorize(anyString(), any(), anyString());
+    }
+
+    @Test
+    void hangingGatewayShouldTimeOutOnEveryAttemptAndGiveUp() {
+        when(gateway.authorize(anyString(), any(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return PaymentAuthorization.approve();
+        });
+
+        long started = System.nanoTime();
+        assertThrows(PaymentGatewayException.class, () -> client.authorize(TRANSACTION_ID, AMOUNT, "VISA"));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 2_000);
+        verify(gateway, times(3)).authorize(anyString(), any(), anyString());
+    }
+
+    @Test
+    void saturatedClientShouldRejectInsteadOfQueueing() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(gateway.authorize(eq("slow"), any(), anyString())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            release.await();
+            return PaymentAuthorization.approve();
+        });
+        PaymentGatewayClient patient = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), 1, Duration.ofMillis(1), 1, Duration.ofMillis(50));
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<PaymentAuthorization> slow = caller.submit(() -> patient.authorize("slow", AMOUNT, "VISA"));
+            assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+            PaymentGatewayException exception = assertThrows(PaymentGatewayException.class,
+                    () -> patient.authorize(TRANSACTION_ID, AMOUNT, "VISA"));
+            assertEquals("Too many gateway calls in flight", exception.getMessage());
+
+            release.countDown();
+            assertTrue(slow.get(5, TimeUnit.SECONDS).approved());
+        } finally {
+            caller.shutdownNow();
+            patient.shutdown();
+        }
+    }
+
+    @Test
+    void hungCallShouldKeepItsSlotUntilTheGatewayReturns() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(gateway.authorize(eq("hung"), any(), anyString())).thenAnswer(invocation -> {
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    // a hung client library does not honour interrupts
+                }
+            }
+            return PaymentAuthorization.approve();
+        });
+        when(gateway.authorize(eq(TRANSACTION_ID), any(), anyString())).thenReturn(PaymentAuthorization.approve());
+        PaymentGatewayClient single = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(),
+                Duration.ofMillis(100), 1, Duration.ofMillis(1), 1, Duration.ofMillis(50));
+        try {
+            assertThrows(PaymentGatewayException.class, () -> single.authorize("hung", AMOUNT, "VISA"));
+
+            PaymentGatewayException exception = assertThrows(PaymentGatewayException.class,
+                    () -> single.authorize(TRANSACTION_ID, AMOUNT, "VISA"));
+            assertEquals("Too many gateway calls in flight", exception.getMessage());
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (true) {
+                try {
+                    assertTrue(single.authorize(TRANSACTION_ID, AMOUNT, "VISA").approved());
+                    break;
+                } catch (PaymentGatewayException e) {
+                    assertTrue(System.nanoTime() < deadline, "slot was not handed back");
+                }
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+}
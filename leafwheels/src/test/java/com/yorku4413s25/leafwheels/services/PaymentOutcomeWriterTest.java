@@ -0,0 +1,99 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.PaymentRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.PaymentMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentOutcomeWriterTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private AccessoryInventoryService accessoryInventory;
+
+    @Mock
+    private OrderStatistics orderStatistics;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentOutcomeWriter paymentOutcomes;
+
+    @BeforeEach
+    void setUp() {
+        paymentOutcomes = new PaymentOutcomeWriter(paymentRepository, orderRepository, vehicleRepository,
+                paymentMapper, cartService, accessoryInventory, orderStatistics, outboxWriter,
+                new SimpleMeterRegistry(), transactionManager);
+    }
+
+    @Test
+    void outcomeShouldNotBeAppliedToCompletedPayment() {
+        Payment payment = Payment.builder()
+                .id(UUID.randomUUID())
+                .order(Order.builder().id(UUID.randomUUID()).status(OrderStatus.PAID).build())
+                .status(PaymentStatus.APPROVED)
+                .build();
+        when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+
+        paymentOutcomes.fail(payment.getId(), "late");
+
+        assertEquals(PaymentStatus.APPROVED, payment.getStatus());
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void approvalForCancelledOrderShouldFailThePaymentAndLeaveTheOrder() {
+        Order order = Order.builder().id(UUID.randomUUID()).status(OrderStatus.CANCELED).items(new ArrayList<>()).build();
+        Payment payment = Payment.builder().id(UUID.randomUUID()).order(order).status(PaymentStatus.PENDING).build();
+        when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+
+        paymentOutcomes.complete(payment.getId(), PaymentAuthorization.approve());
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(OrderStatus.CANCELED, order.getStatus());
+        verify(orderRepository, never()).save(any());
+        verify(cartService, never()).clearCart(any());
+        verifyNoInteractions(accessoryInventory, vehicleRepository);
+    }
+}
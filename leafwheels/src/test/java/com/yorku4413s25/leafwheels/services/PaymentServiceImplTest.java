@@ -0,0 +1,185 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.ItemType;
+import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.constants.PaymentStatus;
+import com.yorku4413s25.leafwheels.domain.Accessory;
+import com.yorku4413s25.leafwheels.domain.Cart;
+import com.yorku4413s25.leafwheels.domain.CartItem;
+import com.yorku4413s25.leafwheels.domain.Order;
+import com.yorku4413s25.leafwheels.domain.Payment;
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import com.yorku4413s25.leafwheels.repositories.CartRepository;
+import com.yorku4413s25.leafwheels.repositories.OrderRepository;
+import com.yorku4413s25.leafwheels.repositories.PaymentRepository;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.mappers.PaymentMapper;
+import com.yorku4413s25.leafwheels.web.models.OrderDto;
+import com.yorku4413s25.leafwheels.web.models.PaymentRequestDto;
+import com.yorku4413s25.leafwheels.web.models.PaymentResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentServiceImplTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private CartChecksumService cartChecksumService;
+
+    @Mock
+    private AccessoryInventoryService accessoryInventory;
+
+    @Mock
+    private OrderStatistics orderStatistics;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private PaymentGatewayClient paymentGatewayClient;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentServiceImpl paymentService;
+    private final UUID userId = UUID.randomUUID();
+    private MockHttpSession session;
+    private Cart cart;
+    private Payment savedPayment;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PaymentOutcomeWriter paymentOutcomes = new PaymentOutcomeWriter(paymentRepository, orderRepository,
+                vehicleRepository, paymentMapper, cartService, accessoryInventory, orderStatistics, outboxWriter,
+                meterRegistry, transactionManager);
+        paymentService = new PaymentServiceImpl(paymentRepository, orderRepository, cartRepository, vehicleRepository,
+                paymentMapper, orderService, cartService, cartChecksumService, accessoryInventory, orderStatistics,
+                outboxWriter, paymentGatewayClient, paymentOutcomes, eventPublisher, meterRegistry, transactionManager);
+        cart = Cart.builder().id(UUID.randomUUID()).userId(userId).items(new ArrayList<>()).build();
+        session = new MockHttpSession();
+        session.setAttribute("cartId", cart.getId());
+        session.setAttribute("cartChecksum", "checksum");
+        when(cartRepository.lockByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartRepository.findHydratedByUserId(userId)).thenReturn(Optional.of(cart));
+    }
+
+    @Test
+    void checkoutShouldBeRejectedWhileAnotherPaymentIsPending() {
+        when(paymentRepository.existsByUserIdAndStatus(userId, PaymentStatus.PENDING)).thenReturn(true);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> paymentService.submitPayment(userId, new PaymentRequestDto(), session));
+
+        assertEquals("A payment for this cart is still being processed", e.getMessage());
+        verify(orderService, never()).createOrderFromCart(any());
+        verify(paymentRepository, never()).save(any());
+        assertNotNull(session.getAttribute("cartId"));
+    }
+
+    @Test
+    void pendingPaymentShouldBeCommittedBeforeTheGatewayIsCalled() {
+        readyToCheckout();
+        when(paymentGatewayClient.authorize(any(), any(), any())).thenReturn(PaymentAuthorization.approve());
+
+        paymentService.processPayment(userId, new PaymentRequestDto(), session);
+
+        Payment payment = savedPayment;
+        InOrder inOrder = inOrder(transactionManager, paymentGatewayClient);
+        inOrder.verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(paymentGatewayClient).authorize(eq(payment.getTransactionId()), any(), any());
+        inOrder.verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        assertEquals(PaymentStatus.APPROVED, payment.getStatus());
+        assertEquals(OrderStatus.PAID, payment.getOrder().getStatus());
+    }
+
+    @Test
+    void unavailableGatewayShouldFailTheCommittedPayment() {
+        readyToCheckout();
+        when(paymentGatewayClient.authorize(any(), any(), any())).thenThrow(new PaymentGatewayException("gateway down"));
+
+        paymentService.processPayment(userId, new PaymentRequestDto(), session);
+
+        assertEquals(PaymentStatus.FAILED, savedPayment.getStatus());
+        assertEquals(OrderStatus.CANCELED, savedPayment.getOrder().getStatus());
+    }
+
+    private void readyToCheckout() {
+        cart.addItem(CartItem.builder()
+                .cart(cart)
+                .type(ItemType.ACCESSORY)
+                .accessory(Accessory.builder().id(UUID.randomUUID()).build())
+                .unitPrice(new BigDecimal("50.00"))
+                .quantity(1)
+                .build());
+        when(cartChecksumService.calculateChecksum(cart)).thenReturn("checksum");
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(OrderStatus.PLACED)
+                .totalPrice(new BigDecimal("50.00"))
+                .items(new ArrayList<>())
+                .build();
+        when(orderService.createOrderFromCart(userId)).thenReturn(OrderDto.builder().id(order.getId()).build());
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(UUID.randomUUID());
+            }
+            savedPayment = payment;
+            return payment;
+        });
+        when(paymentRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(savedPayment));
+        when(paymentMapper.toDto(any())).thenReturn(new PaymentResponseDto());
+    }
+}
@@ -0,0 +1,137 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.OutboxEventType;
+import com.yorku4413s25.leafwheels.domain.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroups;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisStreamOutboxPublisherTest {
+
+    private static final String STREAM = "leafwheels:outbox:order";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private XInfoGroups groups;
+
+    private RedisStreamOutboxPublisher publisher;
+    private final List<String> command = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        publisher = new RedisStreamOutboxPublisher(redisTemplate, "leafwheels:outbox:", 100);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.groups(STREAM)).thenReturn(groups);
+        RedisConnection connection = mock(RedisConnection.class, invocation -> {
+            for (Object argument : invocation.getArguments()) {
+                command.add(argument instanceof byte[] bytes
+                        ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(argument));
+            }
+            return null;
+        });
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+    }
+
+    @Test
+    void fieldsShouldCarryTheEventAndItsOutboxId() {
+        OutboxEvent event = event();
+
+        Map<String, String> fields = RedisStreamOutboxPublisher.fields(event);
+
+        assertEquals(List.of("id", "aggregateType", "aggregateId", "type", "payload", "createdAt"),
+                List.copyOf(fields.keySet()));
+        assertEquals("42", fields.get("id"));
+        assertEquals(OutboxWriter.ORDER_AGGREGATE, fields.get("aggregateType"));
+        assertEquals(event.getAggregateId().toString(), fields.get("aggregateId"));
+        assertEquals("ORDER_PAID", fields.get("type"));
+        assertEquals("{\"status\":\"PAID\"}", fields.get("payload"));
+        assertEquals("2025-07-01T12:00:00Z", fields.get("createdAt"));
+    }
+
+    @Test
+    void trimShouldKeepEntriesTheSlowestGroupStillNeeds() {
+        XInfoGroup upToDate = group("search", "1700000000300-0", 0);
+        XInfoGroup lagging = group("mailer", "1700000000200-0", 3);
+        PendingMessagesSummary pending = mock(PendingMessagesSummary.class);
+        when(pending.minMessageId()).thenReturn("1700000000100-2");
+        when(streamOperations.pending(STREAM, "mailer")).thenReturn(pending);
+        when(groups.isEmpty()).thenReturn(false);
+        when(groups.stream()).thenReturn(Stream.of(upToDate, lagging));
+
+        publisher.publish(List.of(event()));
+
+        assertEquals(List.of("XTRIM", STREAM, "MINID", "~", "1700000000100-2"), command);
+        verify(streamOperations, never()).trim(anyString(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    void groupThatHasReadNothingShouldKeepTheWholeStream() {
+        XInfoGroup fresh = group("search", "0-0", 0);
+        when(groups.isEmpty()).thenReturn(false);
+        when(groups.stream()).thenReturn(Stream.of(fresh));
+
+        publisher.publish(List.of(event()));
+
+        assertEquals(List.of("XTRIM", STREAM, "MINID", "~", "0-0"), command);
+    }
+
+    @Test
+    void streamWithoutGroupsShouldBeTrimmedToMaxLength() {
+        when(groups.isEmpty()).thenReturn(true);
+
+        publisher.publish(List.of(event()));
+
+        verify(streamOperations).trim(STREAM, 100, true);
+        assertTrue(command.isEmpty());
+    }
+
+    private static XInfoGroup group(String name, String lastDeliveredId, long pendingCount) {
+        XInfoGroup group = mock(XInfoGroup.class);
+        when(group.groupName()).thenReturn(name);
+        when(group.lastDeliveredId()).thenReturn(lastDeliveredId);
+        when(group.pendingCount()).thenReturn(pendingCount);
+        return group;
+    }
+
+    private static OutboxEvent event() {
+        return OutboxEvent.builder()
+                .id(42L)
+                .aggregateType(OutboxWriter.ORDER_AGGREGATE)
+                .aggregateId(UUID.randomUUID())
+                .type(OutboxEventType.ORDER_PAID)
+                .payload("{\"status\":\"PAID\"}")
+                .createdAt(Instant.parse("2025-07-01T12:00:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.domain.PaymentAuthorization;
+import com.yorku4413s25.leafwheels.exception.PaymentGatewayException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedPaymentGatewayTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("45000.00");
+
+    @Test
+    void approvalRatioShouldBeRespected() {
+        SimulatedPaymentGateway gateway = gateway(Duration.ZERO, Duration.ZERO, 0.7, 0.0);
+
+        int approved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (gateway.authorize(UUID.randomUUID().toString(), AMOUNT, "VISA").approved()) {
+                approved++;
+            }
+        }
+
+        assertEquals(0.7, approved / 10_000.0, 0.03);
+    }
+
+    @Test
+    void declineShouldCarryAReason() {
+        PaymentAuthorization authorization = gateway(Duration.ZERO, Duration.ZERO, 0.0, 0.0)
+                .authorize(UUID.randomUUID().toString(), AMOUNT, "VISA");
+
+        assertFalse(authorization.approved());
+        assertEquals("Credit Card Authorization Failed", authorization.declineReason());
+    }
+
+    @Test
+    void errorModeShouldThrowGatewayException() {
+        SimulatedPaymentGateway gateway = gateway(Duration.ZERO, Duration.ZERO, 1.0, 1.0);
+
+        assertThrows(PaymentGatewayException.class,
+                () -> gateway.authorize(UUID.randomUUID().toString(), AMOUNT, "VISA"));
+    }
+
+    @Test
+    void latencyShouldFollowConfiguredMedianAndTail() {
+        SimulatedPaymentGateway gateway = gateway(Duration.ofMillis(100), Duration.ofMillis(500), 1.0, 0.0);
+
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = gateway.sampleLatencyMillis(ThreadLocalRandom.current());
+        }
+        Arrays.sort(samples);
+
+        assertEquals(100, samples[samples.length / 2], 10);
+        assertEquals(500, samples[(int) (samples.length * 0.99)], 75);
+    }
+
+    private static SimulatedPaymentGateway gateway(Duration median, Duration p99, double approvalRatio, double errorRatio) {
+        return new SimulatedPaymentGateway(median, p99, approvalRatio, errorRatio, 0.0, Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,149 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.exception.EntityNotFoundException;
+import com.yorku4413s25.leafwheels.repositories.AccessoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Flash sale on one accessory, with the stock row held in an {@link AtomicInteger}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StripedAccessoryInventoryServiceImplTest {
+
+    private static final int THREADS = 32;
+    private static final int INITIAL_STOCK = 1_000;
+
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StripedAccessoryInventoryServiceImpl inventory;
+    private final UUID accessoryId = UUID.randomUUID();
+    private final AtomicInteger stock = new AtomicInteger(INITIAL_STOCK);
+
+    @BeforeEach
+    void setUp() {
+        inventory = new StripedAccessoryInventoryServiceImpl(accessoryRepository, transactionManager, 8, 20);
+        when(accessoryRepository.decrementStock(eq(accessoryId), anyInt(), any(Instant.class))).thenAnswer(invocation -> {
+            int amount = invocation.getArgument(1);
+            int current;
+            while ((current = stock.get()) >= amount) {
+                if (stock.compareAndSet(current, current - amount)) {
+                    return 1;
+                }
+            }
+            return 0;
+        });
+        when(accessoryRepository.incrementStock(eq(accessoryId), anyInt(), any(Instant.class))).thenAnswer(invocation ->
+                stock.addAndGet(invocation.<Integer>getArgument(1)) > 0 ? 1 : 0);
+    }
+
+    @Test
+    void flashSaleShouldSellExactlyTheStockAndNeverMore() throws Exception {
+        int sold = runSale(() -> 1);
+
+        assertEquals(INITIAL_STOCK, sold);
+        assertEquals(0, stock.get());
+        assertEquals(0, inventory.held(accessoryId));
+    }
+
+    @Test
+    void mixedQuantitiesShouldNeverOversellAndLeasesShouldReturnToTheRow() throws Exception {
+        int sold = runSale(() -> ThreadLocalRandom.current().nextInt(1, 4));
+
+        assertTrue(sold <= INITIAL_STOCK, "sold " + sold + " of " + INITIAL_STOCK);
+        assertEquals(INITIAL_STOCK, sold + stock.get() + inventory.held(accessoryId));
+
+        inventory.returnLeases();
+
+        assertEquals(0, inventory.held(accessoryId));
+        assertEquals(INITIAL_STOCK, sold + stock.get());
+    }
+
+    @Test
+    void rolledBackReservationShouldGoBackToTheLocalLease() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventory.reserve(accessoryId, 3);
+            assertEquals(INITIAL_STOCK - 20, stock.get());
+            assertEquals(17, inventory.held(accessoryId));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(20, inventory.held(accessoryId));
+    }
+
+    @Test
+    void reserveMissingAccessoryShouldThrowNotFound() {
+        UUID missing = UUID.randomUUID();
+        when(accessoryRepository.decrementStock(eq(missing), anyInt(), any(Instant.class))).thenReturn(0);
+        when(accessoryRepository.findById(missing)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> inventory.reserve(missing, 1));
+    }
+
+    private int runSale(IntSupplier quantities) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> buyers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                buyers.add(pool.submit(() -> {
+                    start.await();
+                    while (true) {
+                        int quantity = quantities.getAsInt();
+                        try {
+                            inventory.reserve(accessoryId, quantity);
+                            sold.addAndGet(quantity);
+                        } catch (IllegalStateException e) {
+                            assertEquals("Not enough accessory stock available.", e.getMessage());
+                            return null;
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> buyer : buyers) {
+                buyer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return sold.get();
+    }
+}
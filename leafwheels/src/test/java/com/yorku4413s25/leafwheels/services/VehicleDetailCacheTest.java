@@ -0,0 +1,190 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VehicleDetailCacheTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private VehicleDetailCache cache;
+    private UUID vehicleId;
+    private AtomicInteger loads;
+    private Function<UUID, VehicleDto> loader;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new VehicleDetailCache(redisTemplate, objectMapper, transactionManager, meterRegistry,
+                2, Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+        vehicleId = UUID.randomUUID();
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return createVehicle(id);
+        };
+    }
+
+    @Test
+    void getShouldLoadOnceAndServeRepeatedReadsLocally() throws Exception {
+        VehicleDto first = cache.get(vehicleId, loader);
+        VehicleDto second = cache.get(vehicleId, loader);
+
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("leafwheels:vehicle-detail:" + vehicleId, "leafwheels:vehicle-detail:gen:" + vehicleId)),
+                eq("0"), eq(objectMapper.writeValueAsString(first)), eq("600000"));
+        assertEquals(1, meterRegistry.get("leafwheels.vehicle.cache.hits").tag("tier", "local").counter().count());
+        assertEquals(1, meterRegistry.get("leafwheels.vehicle.cache.misses").counter().count());
+    }
+
+    @Test
+    void getShouldUseRedisCopyWithoutLoading() throws Exception {
+        VehicleDto shared = createVehicle(vehicleId);
+        when(valueOperations.get("leafwheels:vehicle-detail:" + vehicleId))
+                .thenReturn(objectMapper.writeValueAsString(shared));
+
+        VehicleDto result = cache.get(vehicleId, loader);
+
+        assertEquals(shared, result);
+        assertEquals(0, loads.get());
+        assertEquals(1, meterRegistry.get("leafwheels.vehicle.cache.hits").tag("tier", "redis").counter().count());
+    }
+
+    @Test
+    void getShouldFallBackToLoaderWhenRedisIsDown() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNotNull(cache.get(vehicleId, loader));
+        assertEquals(1, loads.get());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void getShouldGuardRedisWriteWithGenerationSeenBeforeLoading() {
+        when(valueOperations.get("leafwheels:vehicle-detail:gen:" + vehicleId)).thenReturn("3");
+
+        cache.get(vehicleId, id -> {
+            when(valueOperations.get("leafwheels:vehicle-detail:gen:" + vehicleId)).thenReturn("4");
+            return loader.apply(id);
+        });
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq("3"), anyString(), anyString());
+    }
+
+    @Test
+    void invalidationDuringLoadShouldKeepLoadedCopyOutOfLocalCache() {
+        cache.get(vehicleId, id -> {
+            cache.onVehiclesChanged(VehiclesChangedEvent.of(id));
+            return loader.apply(id);
+        });
+        cache.get(vehicleId, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateShouldBumpGeneration() {
+        cache.invalidate(List.of(vehicleId));
+
+        verify(valueOperations).increment("leafwheels:vehicle-detail:gen:" + vehicleId);
+        verify(redisTemplate).expire("leafwheels:vehicle-detail:gen:" + vehicleId, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void vehiclesChangedEventShouldEvictAndBroadcast() {
+        cache.get(vehicleId, loader);
+
+        cache.onVehiclesChanged(VehiclesChangedEvent.of(vehicleId));
+        cache.get(vehicleId, loader);
+
+        assertEquals(2, loads.get());
+        verify(redisTemplate).convertAndSend(VehicleDetailCache.INVALIDATION_CHANNEL, vehicleId.toString());
+    }
+
+    @Test
+    void invalidationMessageFromAnotherNodeShouldEvictLocalCopy() {
+        cache.get(vehicleId, loader);
+
+        cache.onMessage(new DefaultMessage(VehicleDetailCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                vehicleId.toString().getBytes(StandardCharsets.UTF_8)), null);
+        cache.get(vehicleId, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void localTierShouldEvictLeastRecentlyUsedEntryWhenFull() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.get(vehicleId, loader);
+        cache.get(second, loader);
+        cache.get(vehicleId, loader);
+        cache.get(third, loader);
+
+        cache.get(vehicleId, loader);
+        cache.get(second, loader);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, meterRegistry.get("leafwheels.vehicle.cache.evictions").counter().count());
+    }
+
+    private VehicleDto createVehicle(UUID id) {
+        return VehicleDto.builder()
+                .id(id)
+                .make(Make.TESLA)
+                .model("Model 3")
+                .year(2023)
+                .bodyType(BodyType.SEDAN)
+                .price(new BigDecimal("50000"))
+                .condition(Condition.NEW)
+                .vin("TEST123456789")
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.models.VehicleImportResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports through the real JDBC statements into the schema Hibernate generates, then reads the vehicles back
+ * through JPA, so the importer cannot drift from the entity mapping. H2 runs in PostgreSQL mode for ON CONFLICT.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vehicle-import;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VehicleImportRoundTripTest {
+
+    private static final String CSV_HEADER = "year,make,model,bodyType,doors,seats,mileage,batteryRange,price,vin,condition,imageUrls\n";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private VehicleImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        importService = new VehicleImportServiceImpl(jdbcTemplate, transactionManager, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher,
+                new DatabaseMetricsService(meterRegistry, dataSource), meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void importedImagesShouldLoadThroughJpa() {
+        String csv = CSV_HEADER
+                + "2023,TESLA,Model 3,SEDAN,4,5,100,500,45000.00,VIN00000000000001,NEW,"
+                + "https://cdn.example.com/m3/side.jpg|https://cdn.example.com/m3/front.jpg|https://cdn.example.com/m3/rear.jpg\n"
+                + "2022,NISSAN,Leaf,HATCHBACK,4,5,12000,240,28900.00,VIN00000000000002,USED,\n"
+                + "2021,FORD,Mustang Mach-E,SUV,4,5,30000,400,41000.00,VIN00000000000003,USED,"
+                + "https://cdn.example.com/mach-e/front.jpg\n";
+
+        VehicleImportResultDto result = importService.importCsv(new StringReader(csv));
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Vehicle model3 = byVin("VIN00000000000001");
+            assertEquals(3, model3.getImageUrls().size());
+            assertTrue(model3.getImageUrls().containsAll(List.of("https://cdn.example.com/m3/side.jpg",
+                    "https://cdn.example.com/m3/front.jpg", "https://cdn.example.com/m3/rear.jpg")));
+            assertEquals("https://cdn.example.com/m3/front.jpg", model3.thumbnailUrl());
+            assertTrue(byVin("VIN00000000000002").getImageUrls().isEmpty());
+            assertEquals(List.of("https://cdn.example.com/mach-e/front.jpg"),
+                    byVin("VIN00000000000003").getImageUrls());
+        });
+    }
+
+    @Test
+    void duplicateVinShouldBeRejectedWithoutWritingItsImages() {
+        importService.importCsv(new StringReader(CSV_HEADER
+                + "2023,TESLA,Model 3,SEDAN,4,5,100,500,45000.00,VIN00000000000001,NEW,https://cdn.example.com/a.jpg\n"));
+
+        VehicleImportResultDto result = importService.importCsv(new StringReader(CSV_HEADER
+                + "2024,TESLA,Model 3,SEDAN,4,5,0,520,47000.00,VIN00000000000001,NEW,https://cdn.example.com/b.jpg\n"));
+
+        assertEquals(0, result.getImported());
+        assertEquals("A vehicle with this VIN already exists", result.getErrors().get(0).getMessage());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertEquals(List.of("https://cdn.example.com/a.jpg"), byVin("VIN00000000000001").getImageUrls()));
+    }
+
+    private Vehicle byVin(String vin) {
+        return vehicleRepository.findAll().stream()
+                .filter(vehicle -> vin.equals(vehicle.getVin()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,134 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.web.models.VehicleImportErrorDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleImportResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VehicleImportServiceImplTest {
+
+    private static final String CSV_HEADER = "year,make,model,bodyType,doors,seats,mileage,batteryRange,price,vin,condition,imageUrls\n";
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DatabaseMetricsService databaseMetricsService;
+
+    private VehicleImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(UUID.class))).thenAnswer(invocation -> {
+            Map<String, ?> params = invocation.getArgument(1);
+            return List.copyOf((Collection<?>) params.get("ids"));
+        });
+        importService = new VehicleImportServiceImpl(jdbcTemplate, transactionManager, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, databaseMetricsService,
+                new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void importCsvShouldWriteValidRowsInBatches() {
+        String csv = CSV_HEADER
+                + "2023,TESLA,Model 3,SEDAN,4,5,100,500,45000.00,VIN00000000000001,NEW,https://cdn.example.com/a.jpg|https://cdn.example.com/b.jpg\n"
+                + "2022,NISSAN,\"Leaf, SV\",HATCHBACK,4,5,12000,240,28900.00,VIN00000000000002,USED,\n"
+                + "2021,FORD,Mustang Mach-E,SUV,4,5,30000,400,41000.00,VIN00000000000003,USED,\n";
+
+        VehicleImportResultDto result = importService.importCsv(new StringReader(csv));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        verify(jdbcOperations, times(2)).batchUpdate(contains("INSERT INTO vehicles"), anyList(), anyInt(), any());
+        verify(jdbcOperations).batchUpdate(contains("vehicle_image_urls"), argThat((List<Object[]> rows) -> rows.size() == 2));
+        verify(eventPublisher, times(2)).publishEvent(any(VehiclesChangedEvent.class));
+    }
+
+    @Test
+    void importCsvShouldReportInvalidRowsAndKeepGoing() {
+        String csv = CSV_HEADER
+                + "2023,TESLA,Model 3,SEDAN,4,5,100,500,45000.00,VIN00000000000001,NEW,\n"
+                + "2023,TESLA,,SEDAN,4,5,100,500,45000.00,VIN00000000000002,NEW,\n"
+                + "2023,NOT_A_MAKE,Model S,SEDAN,4,5,100,500,85000.00,VIN00000000000003,NEW,\n";
+
+        VehicleImportResultDto result = importService.importCsv(new StringReader(csv));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(2L, 3L), result.getErrors().stream().map(VehicleImportErrorDto::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessage().contains("model"));
+        assertEquals("VIN00000000000002", result.getErrors().get(0).getVin());
+    }
+
+    @Test
+    void importNdjsonShouldRejectDuplicateVinsSkippedByTheDatabase() {
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(UUID.class))).thenAnswer(invocation -> {
+            Map<String, ?> params = invocation.getArgument(1);
+            return List.of(((List<?>) params.get("ids")).get(0));
+        });
+        String ndjson = """
+                {"year":2023,"make":"TESLA","model":"Model Y","bodyType":"SUV","price":52000,"vin":"VIN00000000000010","condition":"NEW"}
+
+                {"year":2023,"make":"TESLA","model":"Model Y","bodyType":"SUV","price":52000,"vin":"VIN00000000000011","condition":"NEW"}
+                {not json}
+                """;
+
+        VehicleImportResultDto result = importService.importNdjson(new StringReader(ndjson));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals("VIN00000000000011", result.getErrors().get(0).getVin());
+        assertEquals("A vehicle with this VIN already exists", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getRow());
+    }
+
+    @Test
+    void importNdjsonShouldRejectBothDiscountTypes() {
+        String ndjson = """
+                {"year":2023,"make":"TESLA","model":"Model Y","bodyType":"SUV","price":52000,"discountPercentage":0.1,"discountAmount":1000,"vin":"VIN00000000000020","condition":"NEW"}
+                """;
+
+        VehicleImportResultDto result = importService.importNdjson(new StringReader(ndjson));
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getRejected());
+        verifyNoInteractions(jdbcOperations);
+    }
+}
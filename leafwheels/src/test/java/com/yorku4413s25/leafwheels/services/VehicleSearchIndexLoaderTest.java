@@ -0,0 +1,111 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.config.JpaConfig;
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
+import com.yorku4413s25.leafwheels.events.VehiclesChangedEvent;
+import com.yorku4413s25.leafwheels.repositories.VehicleRepository;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a real persistence context so the vehicles handed to the index carry lazy collections, as they do
+ * after a commit in production. Tests run outside a transaction, like the after-commit listener.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({JpaConfig.class, VehicleSearchIndex.class, VehicleSearchIndexLoader.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VehicleSearchIndexLoaderTest {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleSearchIndex vehicleSearchIndex;
+
+    @Autowired
+    private VehicleSearchIndexLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void vehiclesChangedShouldIndexVehicleWithLazyImages() {
+        loader.loadIndex();
+        Vehicle vehicle = vehicleRepository.save(vehicle(List.of("https://img.example/front.jpg",
+                "https://img.example/side.jpg", "https://img.example/rear.jpg")));
+
+        loader.onVehiclesChanged(VehiclesChangedEvent.of(vehicle.getId()));
+
+        List<VehicleCardDto> cards = cards();
+        assertEquals(1, cards.size());
+        assertEquals(vehicle.getId(), cards.get(0).getId());
+        assertEquals("https://img.example/front.jpg", cards.get(0).getThumbnailUrl());
+    }
+
+    @Test
+    void thumbnailShouldNotDependOnImageOrder() {
+        Vehicle vehicle = vehicleRepository.save(vehicle(List.of("https://img.example/b.jpg",
+                "https://img.example/a.jpg")));
+        loader.loadIndex();
+        assertEquals("https://img.example/a.jpg", cards().get(0).getThumbnailUrl());
+
+        vehicle = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        vehicle.setImageUrls(new ArrayList<>(List.of("https://img.example/c.jpg", "https://img.example/b.jpg")));
+        vehicleRepository.save(vehicle);
+        loader.onVehiclesChanged(VehiclesChangedEvent.of(vehicle.getId()));
+
+        assertEquals("https://img.example/b.jpg", cards().get(0).getThumbnailUrl());
+    }
+
+    @Test
+    void vehiclesChangedShouldRemoveDeletedVehicle() {
+        Vehicle vehicle = vehicleRepository.save(vehicle(List.of()));
+        loader.loadIndex();
+
+        vehicleRepository.deleteById(vehicle.getId());
+        loader.onVehiclesChanged(VehiclesChangedEvent.of(vehicle.getId()));
+
+        assertTrue(cards().isEmpty());
+    }
+
+    private List<VehicleCardDto> cards() {
+        return vehicleSearchIndex.searchCards(VehicleSearchCriteria.builder().build(), Pageable.unpaged()).getContent();
+    }
+
+    private static Vehicle vehicle(List<String> imageUrls) {
+        return Vehicle.builder()
+                .year(2023)
+                .make(Make.TESLA)
+                .model("Model Y")
+                .bodyType(BodyType.SUV)
+                .doors(4)
+                .seats(5)
+                .mileage(8000)
+                .batteryRange(500)
+                .price(new BigDecimal("74990.00"))
+                .condition(Condition.USED)
+                .status(VehicleStatus.AVAILABLE)
+                .imageUrls(new ArrayList<>(imageUrls))
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.yorku4413s25.leafwheels.services;
+
+import com.yorku4413s25.leafwheels.constants.BodyType;
+import com.yorku4413s25.leafwheels.constants.Condition;
+import com.yorku4413s25.leafwheels.constants.Make;
+import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.Vehicle;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
+import com.yorku4413s25.leafwheels.web.models.PriceRangeFacetDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleFacetsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleSearchIndexTest {
+
+    private VehicleSearchIndex index;
+    private Vehicle modelY;
+    private Vehicle leaf;
+    private Vehicle machE;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleSearchIndex();
+        modelY = createVehicle(Make.TESLA, "Model Y", BodyType.SUV, 2022, 8000, "74990.00", VehicleStatus.AVAILABLE);
+        leaf = createVehicle(Make.NISSAN, "Leaf", BodyType.HATCHBACK, 2021, 15000, "28900.00", VehicleStatus.AVAILABLE);
+        machE = createVehicle(Make.FORD, "Mustang Mach-E", BodyType.SUV, 2023, 3000, "67900.00", VehicleStatus.SOLD);
+        index.replaceAll(List.of(modelY, leaf, machE), Set.of(leaf.getId()));
+    }
+
+    @Test
+    void searchShouldIntersectEqualityFilters() {
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder()
+                .bodyType(BodyType.SUV)
+                .statuses(List.of(VehicleStatus.AVAILABLE))
+                .build();
+
+        Page<UUID> result = index.search(criteria, Pageable.unpaged());
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(List.of(modelY.getId()), result.getContent());
+    }
+
+    @Test
+    void searchShouldApplyRangesAndSortByPrice() {
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder()
+                .minPrice(new BigDecimal("30000"))
+                .build();
+
+        Page<UUID> result = index.search(criteria, PageRequest.of(0, 10, Sort.by("price").descending()));
+
+        assertEquals(List.of(modelY.getId(), machE.getId()), result.getContent());
+    }
+
+    @Test
+    void searchShouldPageSortedResults() {
+        Page<UUID> result = index.search(new VehicleSearchCriteria(), PageRequest.of(1, 1, Sort.by("mileage")));
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of(modelY.getId()), result.getContent());
+    }
+
+    @Test
+    void searchCardsShouldReturnListingFieldsInSortOrder() {
+        modelY.setImageUrls(List.of("https://cdn.example.com/model-y-front.jpg", "https://cdn.example.com/model-y-rear.jpg"));
+        index.upsert(modelY, false);
+
+        Page<VehicleCardDto> result = index.searchCards(
+                VehicleSearchCriteria.builder().bodyType(BodyType.SUV).build(),
+                PageRequest.of(0, 10, Sort.by("year").descending()));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(machE.getId(), modelY.getId()),
+                result.getContent().stream().map(VehicleCardDto::getId).toList());
+        VehicleCardDto card = result.getContent().get(1);
+        assertEquals("Model Y", card.getModel());
+        assertEquals(0, new BigDecimal("74990.00").compareTo(card.getPrice()));
+        assertEquals("https://cdn.example.com/model-y-front.jpg", card.getThumbnailUrl());
+        assertNull(result.getContent().get(0).getThumbnailUrl());
+    }
+
+    @Test
+    void upsertShouldMoveVehicleBetweenBitmaps() {
+        modelY.setStatus(VehicleStatus.PENDING);
+        index.upsert(modelY, false);
+
+        VehicleSearchCriteria available = VehicleSearchCriteria.builder()
+                .statuses(List.of(VehicleStatus.AVAILABLE))
+                .build();
+
+        assertEquals(List.of(leaf.getId()), index.search(available, Pageable.unpaged()).getContent());
+    }
+
+    @Test
+    void upsertShouldReorderSortedColumns() {
+        leaf.setPrice(new BigDecimal("99000.00"));
+        index.upsert(leaf, true);
+
+        Page<UUID> result = index.search(new VehicleSearchCriteria(), PageRequest.of(0, 1, Sort.by("price").descending()));
+
+        assertEquals(List.of(leaf.getId()), result.getContent());
+    }
+
+    @Test
+    void removeShouldDropVehicleFromResults() {
+        index.remove(modelY.getId());
+
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder().make(Make.TESLA).build();
+
+        assertEquals(0, index.search(criteria, Pageable.unpaged()).getTotalElements());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void searchShouldFilterOnAccidentHistory() {
+        VehicleSearchCriteria withAccidents = VehicleSearchCriteria.builder().hasAccidentHistory(true).build();
+        VehicleSearchCriteria withoutAccidents = VehicleSearchCriteria.builder().hasAccidentHistory(false).build();
+
+        assertEquals(List.of(leaf.getId()), index.search(withAccidents, Pageable.unpaged()).getContent());
+        assertEquals(2, index.search(withoutAccidents, Pageable.unpaged()).getTotalElements());
+
+        index.upsert(modelY, true);
+
+        assertEquals(2, index.search(withAccidents, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void facetsShouldCountEachFacetWithoutItsOwnFilter() {
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder().bodyType(BodyType.SUV).build();
+
+        VehicleFacetsDto facets = index.facets(criteria);
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(Map.of(Make.TESLA, 1L, Make.FORD, 1L), facets.getMakes());
+        assertEquals(Map.of(BodyType.SUV, 2L, BodyType.HATCHBACK, 1L), facets.getBodyTypes());
+        assertEquals(Map.of(Condition.NEW, 2L), facets.getConditions());
+        assertEquals(List.of(0L, 0L, 2L, 0L, 0L),
+                facets.getPriceRanges().stream().map(PriceRangeFacetDto::getCount).toList());
+    }
+
+    @Test
+    void supportsShouldRejectUnindexedSorts() {
+        VehicleSearchCriteria criteria = new VehicleSearchCriteria();
+
+        assertTrue(index.supports(criteria, PageRequest.of(0, 10, Sort.by("year"))));
+        assertFalse(index.supports(criteria, PageRequest.of(0, 10, Sort.by("model"))));
+        assertFalse(index.supports(criteria, PageRequest.of(0, 10, Sort.by("price", "year"))));
+    }
+
+    private Vehicle createVehicle(Make make, String model, BodyType bodyType, int year, int mileage,
+                                  String price, VehicleStatus status) {
+        Vehicle vehicle = Vehicle.builder()
+                .id(UUID.randomUUID())
+                .make(make)
+                .model(model)
+                .bodyType(bodyType)
+                .year(year)
+                .doors(4)
+                .seats(5)
+                .mileage(mileage)
+                .batteryRange(400)
+                .condition(Condition.NEW)
+                .status(status)
+                .build();
+        vehicle.setPrice(new BigDecimal(price));
+        return vehicle;
+    }
+}
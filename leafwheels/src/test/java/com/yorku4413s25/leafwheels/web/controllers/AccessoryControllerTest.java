@@ -1,6 +1,8 @@
 package com.yorku4413s25.leafwheels.web.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.EntityVersion;
 import com.yorku4413s25.leafwheels.exception.ApplicationExceptionHandler;
 import com.yorku4413s25.leafwheels.services.AccessoryService;
 import com.yorku4413s25.leafwheels.web.models.AccessoryDto;
@@ -14,6 +16,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -42,6 +47,8 @@ class AccessoryControllerTest {
                 .setControllerAdvice(new ApplicationExceptionHandler())
                 .build();
         objectMapper = new ObjectMapper();
+        when(accessoryService.getAccessoryVersion(any())).thenReturn(new EntityVersion(1L, Instant.now()));
+        when(accessoryService.getCatalogVersion()).thenReturn(new CollectionVersion(0L, null, 0L));
     }
 
     @Test
@@ -74,6 +81,31 @@ class AccessoryControllerTest {
         verify(accessoryService).getAccessoryById(accessoryId);
     }
 
+    @Test
+    void getAccessoryShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        UUID accessoryId = UUID.randomUUID();
+        when(accessoryService.getAccessoryVersion(accessoryId)).thenReturn(new EntityVersion(2L, Instant.now()));
+
+        mockMvc.perform(get("/api/v1/accessories/{id}", accessoryId)
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+
+        verify(accessoryService, never()).getAccessoryById(any());
+    }
+
+    @Test
+    void getAllAccessoriesShouldReturnNotModifiedWhenNotModifiedSince() throws Exception {
+        Instant lastModified = Instant.parse("2025-06-01T12:00:00Z");
+        when(accessoryService.getCatalogVersion()).thenReturn(new CollectionVersion(2L, lastModified, 5L));
+
+        mockMvc.perform(get("/api/v1/accessories/all")
+                        .header("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME
+                                .format(lastModified.atZone(ZoneOffset.UTC))))
+                .andExpect(status().isNotModified());
+
+        verify(accessoryService, never()).getAllAccessories();
+    }
+
     @Test
     void createAccessoryShouldReturnCreatedAccessoryWhenValidInput() throws Exception {
         AccessoryRequestDto inputDto = createSampleAccessoryRequestDto();
@@ -1,9 +1,11 @@
 package com.yorku4413s25.leafwheels.web.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku4413s25.leafwheels.constants.CartOperationType;
 import com.yorku4413s25.leafwheels.constants.ItemType;
 import com.yorku4413s25.leafwheels.services.CartService;
 import com.yorku4413s25.leafwheels.web.models.CartDto;
+import com.yorku4413s25.leafwheels.web.models.CartOperationDto;
 import com.yorku4413s25.leafwheels.web.models.CreateCartItemDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +16,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -107,6 +111,27 @@ class CartControllerTest {
         verify(cartService).clearCart(userId);
     }
 
+    @Test
+    void applyOperationsShouldReturnCartAfterAllOperations() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID accessoryId = UUID.randomUUID();
+        List<CartOperationDto> operations = List.of(
+                CartOperationDto.builder().op(CartOperationType.ADD).item(createSampleCreateCartItemDto()).build(),
+                CartOperationDto.builder().op(CartOperationType.INCREMENT).accessoryId(accessoryId).build(),
+                CartOperationDto.builder().op(CartOperationType.REMOVE).itemId(UUID.randomUUID()).build());
+        CartDto updatedCart = createSampleCartDto(userId);
+
+        when(cartService.applyOperations(eq(userId), anyList())).thenReturn(updatedCart);
+
+        mockMvc.perform(patch("/api/v1/carts/{userId}", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId.toString()));
+
+        verify(cartService).applyOperations(userId, operations);
+    }
+
     private CartDto createSampleCartDto(UUID userId) {
         return CartDto.builder()
                 .id(UUID.randomUUID())
@@ -2,9 +2,14 @@ package com.yorku4413s25.leafwheels.web.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yorku4413s25.leafwheels.constants.OrderStatus;
+import com.yorku4413s25.leafwheels.services.OrderBulkCanceller;
 import com.yorku4413s25.leafwheels.services.OrderService;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersRequestDto;
+import com.yorku4413s25.leafwheels.web.models.BulkCancelOrdersResultDto;
 import com.yorku4413s25.leafwheels.web.models.CreateOrderRequestDto;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
 import com.yorku4413s25.leafwheels.web.models.OrderDto;
+import com.yorku4413s25.leafwheels.web.models.OrderSummaryDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -32,13 +37,16 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderBulkCanceller orderBulkCanceller;
+
     private OrderController orderController;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        orderController = new OrderController(orderService);
+        orderController = new OrderController(orderService, orderBulkCanceller);
         mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
         objectMapper = new ObjectMapper();
     }
@@ -91,6 +99,33 @@ class OrderControllerTest {
         verify(orderService).getOrdersByUserId(userId);
     }
 
+    @Test
+    void getOrdersByUserWithCursorShouldReturnSummaryPage() throws Exception {
+        UUID userId = UUID.randomUUID();
+        OrderSummaryDto summary = OrderSummaryDto.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.PLACED)
+                .totalPrice(new BigDecimal("50000"))
+                .itemCount(2L)
+                .build();
+        CursorPageDto<OrderSummaryDto> page = CursorPageDto.<OrderSummaryDto>builder()
+                .content(List.of(summary))
+                .nextCursor("next")
+                .build();
+
+        when(orderService.getOrderSummariesByUserId(userId, "", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/orders/user/{userId}", userId)
+                .param("cursor", "")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(summary.getId().toString()))
+                .andExpect(jsonPath("$.content[0].itemCount").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(orderService, never()).getOrdersByUserId(any());
+    }
+
     @Test
     void createOrderFromCartShouldReturnCreatedOrderWhenCartExists() throws Exception {
         UUID userId = UUID.randomUUID();
@@ -118,6 +153,33 @@ class OrderControllerTest {
         verify(orderService).cancelOrder(orderId);
     }
 
+    @Test
+    void cancelOrdersShouldReturnBulkCancellationResult() throws Exception {
+        UUID userId = UUID.randomUUID();
+        BulkCancelOrdersRequestDto filter = BulkCancelOrdersRequestDto.builder()
+                .status(OrderStatus.PLACED)
+                .userId(userId)
+                .build();
+        BulkCancelOrdersResultDto result = BulkCancelOrdersResultDto.builder()
+                .canceled(1200)
+                .vehiclesReleased(40)
+                .accessoriesRestocked(15)
+                .chunks(3)
+                .build();
+
+        when(orderBulkCanceller.cancel(filter)).thenReturn(result);
+
+        mockMvc.perform(post("/api/v1/orders/bulk-cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(filter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.canceled").value(1200))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        verify(orderBulkCanceller).cancel(filter);
+        verify(orderService, never()).cancelOrder(any());
+    }
+
     private OrderDto createSampleOrderDto(UUID userId) {
         return OrderDto.builder()
                 .id(UUID.randomUUID())
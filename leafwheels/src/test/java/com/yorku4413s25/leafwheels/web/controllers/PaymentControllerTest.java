@@ -96,6 +96,31 @@ class PaymentControllerTest {
         verify(paymentService, never()).processPayment(any(), any(), any());
     }
 
+    @Test
+    void submitPaymentShouldReturnAcceptedWithStatusLocation() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        mockSession.setAttribute("userId", userId);
+
+        PaymentRequestDto paymentRequest = createSamplePaymentRequest();
+        PaymentResponseDto paymentResponse = createSamplePaymentResponse(userId);
+        paymentResponse.setOrderId(orderId);
+        paymentResponse.setStatus(PaymentStatus.PENDING);
+
+        when(paymentService.submitPayment(eq(userId), eq(paymentRequest), any()))
+                .thenReturn(paymentResponse);
+
+        mockMvc.perform(post("/api/v1/payment/process/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentRequest))
+                .session(mockSession))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/payment/" + orderId + "/status"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(paymentService, never()).processPayment(any(), any(), any());
+    }
+
     @Test
     void getPaymentStatusShouldReturnPaymentWhenOrderExists() throws Exception {
         UUID orderId = UUID.randomUUID();
@@ -6,9 +6,14 @@ import com.yorku4413s25.leafwheels.constants.BodyType;
 import com.yorku4413s25.leafwheels.constants.Condition;
 import com.yorku4413s25.leafwheels.constants.Make;
 import com.yorku4413s25.leafwheels.constants.VehicleStatus;
+import com.yorku4413s25.leafwheels.domain.CollectionVersion;
+import com.yorku4413s25.leafwheels.domain.VehicleSearchCriteria;
 import com.yorku4413s25.leafwheels.exception.ApplicationExceptionHandler;
 import com.yorku4413s25.leafwheels.services.VehicleService;
+import com.yorku4413s25.leafwheels.web.models.CursorPageDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleCardDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleDto;
+import com.yorku4413s25.leafwheels.web.models.VehicleFacetsDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleRequestDto;
 import com.yorku4413s25.leafwheels.web.models.VehicleHistoryDto;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,18 +24,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,12 +61,14 @@ class VehicleControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        vehicleController = new VehicleController(vehicleService);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        vehicleController = new VehicleController(vehicleService, objectMapper);
         mockMvc = MockMvcBuilders.standaloneSetup(vehicleController)
                 .setControllerAdvice(new ApplicationExceptionHandler())
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
-        objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
+        when(vehicleService.getCatalogVersion(any())).thenReturn(new CollectionVersion(0L, null, 0L));
     }
 
     @Test
@@ -74,6 +89,48 @@ class VehicleControllerTest {
         verify(vehicleService).getById(vehicleId);
     }
 
+    @Test
+    void findVehicleByIdShouldSetValidatorHeaders() throws Exception {
+        UUID vehicleId = UUID.randomUUID();
+        Instant updatedAt = Instant.parse("2025-06-01T12:00:00Z");
+        VehicleDto vehicle = createSampleVehicleDto();
+        vehicle.setVersion(3L);
+        vehicle.setUpdatedAt(updatedAt);
+        when(vehicleService.getById(vehicleId)).thenReturn(vehicle);
+
+        mockMvc.perform(get("/api/v1/vehicle/{vehicleId}", vehicleId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().dateValue("Last-Modified", updatedAt.toEpochMilli()));
+    }
+
+    @Test
+    void findVehicleByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        UUID vehicleId = UUID.randomUUID();
+        VehicleDto vehicle = createSampleVehicleDto();
+        vehicle.setVersion(3L);
+        vehicle.setUpdatedAt(Instant.now());
+        when(vehicleService.getById(vehicleId)).thenReturn(vehicle);
+
+        mockMvc.perform(get("/api/v1/vehicle/{vehicleId}", vehicleId)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAvailableVehiclesShouldReturnNotModifiedWhenCatalogUnchanged() throws Exception {
+        CollectionVersion version = new CollectionVersion(4L, Instant.parse("2025-06-01T12:00:00Z"), 9L);
+        when(vehicleService.getCatalogVersion(List.of(VehicleStatus.AVAILABLE, VehicleStatus.DEMO,
+                VehicleStatus.INCOMING))).thenReturn(version);
+
+        mockMvc.perform(get("/api/v1/vehicle/available")
+                        .header("If-None-Match", "\"" + version.eTag() + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(vehicleService, never()).getAvailableVehicles();
+    }
+
     @Test
     void createVehicleShouldReturnCreatedVehicleWhenValidInput() throws Exception {
         VehicleRequestDto inputDto = createSampleVehicleRequestDto();
@@ -150,6 +207,41 @@ class VehicleControllerTest {
         verify(vehicleService).getAllVehicles();
     }
 
+    @Test
+    void getAllVehiclesAsNdjsonShouldStreamOneVehiclePerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<VehicleDto> sink = invocation.getArgument(1);
+            sink.accept(createSampleVehicleDto());
+            sink.accept(createSampleVehicleDto());
+            return null;
+        }).when(vehicleService).streamVehicles(isNull(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/vehicle/all").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Model 3", objectMapper.readTree(lines[0]).get("model").asText());
+        verify(vehicleService, never()).getAllVehicles();
+    }
+
+    @Test
+    void getAvailableVehiclesAsNdjsonShouldStreamAvailableStatuses() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/vehicle/available").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        verify(vehicleService).streamVehicles(
+                eq(List.of(VehicleStatus.AVAILABLE, VehicleStatus.DEMO, VehicleStatus.INCOMING)), any());
+    }
+
     @Test
     void addImageUrlsShouldReturnUpdatedVehicleWhenValidInput() throws Exception {
         UUID vehicleId = UUID.randomUUID();
@@ -342,6 +434,81 @@ class VehicleControllerTest {
         verify(vehicleService).updateById(eq(vehicleId), any(VehicleDto.class));
     }
 
+    @Test
+    void getVehicleFacetsShouldBindFilterParameters() throws Exception {
+        VehicleFacetsDto facets = VehicleFacetsDto.builder()
+                .total(3)
+                .makes(Map.of(Make.TESLA, 3L))
+                .bodyTypes(Map.of(BodyType.SUV, 2L, BodyType.SEDAN, 1L))
+                .conditions(Map.of(Condition.NEW, 3L))
+                .priceRanges(List.of())
+                .build();
+
+        when(vehicleService.getFacets(any(VehicleSearchCriteria.class))).thenReturn(facets);
+
+        mockMvc.perform(get("/api/v1/vehicle/facets")
+                .param("make", "TESLA")
+                .param("statuses", "AVAILABLE", "DEMO")
+                .param("maxPrice", "60000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.makes.TESLA").value(3))
+                .andExpect(jsonPath("$.bodyTypes.SUV").value(2));
+
+        verify(vehicleService).getFacets(argThat(criteria ->
+                criteria.getMake() == Make.TESLA
+                        && criteria.getStatuses().equals(List.of(VehicleStatus.AVAILABLE, VehicleStatus.DEMO))
+                        && criteria.getMaxPrice().compareTo(new BigDecimal("60000")) == 0));
+    }
+
+    @Test
+    void filterVehicleCardsShouldBindFiltersAndPaging() throws Exception {
+        VehicleCardDto card = VehicleCardDto.builder()
+                .id(UUID.randomUUID())
+                .make(Make.TESLA)
+                .model("Model 3")
+                .price(new BigDecimal("45000.00"))
+                .thumbnailUrl("https://cdn.example.com/model-3.jpg")
+                .build();
+        when(vehicleService.filterVehicleCards(any(VehicleSearchCriteria.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(card), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/v1/vehicle/cards")
+                        .param("make", "TESLA")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].model").value("Model 3"))
+                .andExpect(jsonPath("$.content[0].thumbnailUrl").value("https://cdn.example.com/model-3.jpg"))
+                .andExpect(jsonPath("$.content[0].vehicleHistories").doesNotExist());
+
+        verify(vehicleService).filterVehicleCards(argThat(criteria -> criteria.getMake() == Make.TESLA),
+                argThat(pageable -> pageable.getSort().equals(Sort.by("price").ascending())));
+    }
+
+    @Test
+    void filterVehiclesWithCursorShouldUseKeysetPagination() throws Exception {
+        CursorPageDto<VehicleDto> page = CursorPageDto.<VehicleDto>builder()
+                .content(List.of(createSampleVehicleDto()))
+                .nextCursor("next-token")
+                .build();
+
+        when(vehicleService.filterVehiclesAfter(any(VehicleSearchCriteria.class), eq("token"), eq(10),
+                eq(Sort.by(Sort.Direction.DESC, "price")), eq(false))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/vehicle/filter")
+                .param("make", "TESLA")
+                .param("cursor", "token")
+                .param("size", "10")
+                .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(vehicleService, never()).filterVehicles(any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
     private VehicleDto createSampleVehicleDto() {
         return VehicleDto.builder()
                 .make(Make.TESLA)